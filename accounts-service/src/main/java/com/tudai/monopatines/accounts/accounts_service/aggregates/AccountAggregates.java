@@ -0,0 +1,247 @@
+package com.tudai.monopatines.accounts.accounts_service.aggregates;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados de cuentas mantenidos en memoria: saldo total, cantidad de cuentas activas y anuladas,
+ * y distribución de cuentas por rango de saldo.
+ * 
+ * Los contadores son LongAdder (acumuladores con celdas por hilo), por lo que las actualizaciones
+ * concurrentes no compiten por una misma variable. El saldo se acumula en centavos para no
+ * arrastrar errores de redondeo de double en sumas sucesivas.
+ * 
+ * AccountService los actualiza luego de cada commit (alta, carga y descuento de saldo,
+ * anulación y baja). Incluyen las cuentas archivadas (ver AccountArchiver). Como red de seguridad, se recalculan contra la base de datos al iniciar
+ * la aplicación y cada accounts.aggregates.reconcile-interval-ms: la diferencia encontrada
+ * se registra en el log y se aplica sobre los contadores.
+ * 
+ * Los rangos de saldo se definen con accounts.aggregates.bucket-bounds: una cuenta pertenece
+ * al primer rango cuyo límite superior (inclusive) es mayor o igual a su saldo; las cuentas
+ * que superan el último límite van a un rango adicional sin límite superior.
+ * 
+ */
+@Component
+public class AccountAggregates {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAggregates.class);
+
+    /**
+     * Cuentas vigentes y archivadas: mover una cuenta al archivo no cambia los agregados.
+     */
+    private static final String ALL_ACCOUNTS_SQL =
+            "(SELECT active, current_balance FROM accounts UNION ALL SELECT active, current_balance FROM accounts_archive) a";
+
+    private static final String COUNT_BY_STATUS_SQL =
+            "SELECT active, COUNT(*), COALESCE(SUM(ROUND(current_balance * 100)), 0) FROM " + ALL_ACCOUNTS_SQL + " GROUP BY active";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long[] bucketBoundsInCents;
+    private final String countByBucketSql;
+
+    private final LongAdder totalBalanceInCents = new LongAdder();
+    private final LongAdder activeAccounts = new LongAdder();
+    private final LongAdder cancelledAccounts = new LongAdder();
+    private final LongAdder[] bucketCounts;
+    private volatile LocalDateTime lastReconciledAt;
+
+    /**
+     * Constructor de los agregados.
+     * 
+     * @param jdbcTemplate JdbcTemplate para la reconciliación contra las tablas accounts y accounts_archive
+     * @param bucketBounds Límites superiores (inclusive) de los rangos de saldo, en orden creciente
+     */
+    public AccountAggregates(JdbcTemplate jdbcTemplate,
+                             @Value("${accounts.aggregates.bucket-bounds:0,1000,5000,10000,50000}") double[] bucketBounds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bucketBoundsInCents = new long[bucketBounds.length];
+        for (int i = 0; i < bucketBounds.length; i++) {
+            bucketBoundsInCents[i] = toCents(bucketBounds[i]);
+            if (i > 0 && bucketBoundsInCents[i] <= bucketBoundsInCents[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly increasing: " + Arrays.toString(bucketBounds));
+            }
+        }
+        this.bucketCounts = new LongAdder[bucketBounds.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+        this.countByBucketSql = buildCountByBucketSql(bucketBoundsInCents);
+    }
+
+    /**
+     * Registra una cuenta nueva (alta individual o importación).
+     * 
+     * @param active Estado de la cuenta
+     * @param balance Saldo inicial de la cuenta
+     */
+    public void accountCreated(boolean active, double balance) {
+        long cents = toCents(balance);
+        (active ? activeAccounts : cancelledAccounts).increment();
+        totalBalanceInCents.add(cents);
+        bucketCounts[bucketOf(cents)].increment();
+    }
+
+    /**
+     * Registra la baja de una cuenta.
+     * 
+     * @param active Estado que tenía la cuenta
+     * @param balance Saldo que tenía la cuenta
+     */
+    public void accountDeleted(boolean active, double balance) {
+        long cents = toCents(balance);
+        (active ? activeAccounts : cancelledAccounts).decrement();
+        totalBalanceInCents.add(-cents);
+        bucketCounts[bucketOf(cents)].decrement();
+    }
+
+    /**
+     * Registra la anulación de una cuenta activa.
+     */
+    public void accountCancelled() {
+        activeAccounts.decrement();
+        cancelledAccounts.increment();
+    }
+
+    /**
+     * Registra un cambio de saldo (carga, descuento o actualización).
+     * 
+     * @param oldBalance Saldo anterior
+     * @param newBalance Saldo nuevo
+     */
+    public void balanceChanged(double oldBalance, double newBalance) {
+        long oldCents = toCents(oldBalance);
+        long newCents = toCents(newBalance);
+        totalBalanceInCents.add(newCents - oldCents);
+        int oldBucket = bucketOf(oldCents);
+        int newBucket = bucketOf(newCents);
+        if (oldBucket != newBucket) {
+            bucketCounts[oldBucket].decrement();
+            bucketCounts[newBucket].increment();
+        }
+    }
+
+    /**
+     * Recalcula los agregados contra las tablas accounts y accounts_archive.
+     * 
+     * Se ejecuta al iniciar la aplicación y luego periódicamente. En lugar de reemplazar
+     * los contadores, se les suma la diferencia con la base de datos, para no perder
+     * las actualizaciones que se apliquen mientras corre la reconciliación. Una actualización
+     * confirmada durante la lectura puede quedar contada dos veces o ninguna; esa diferencia
+     * se corrige en la siguiente reconciliación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${accounts.aggregates.reconcile-interval-ms:300000}",
+            fixedDelayString = "${accounts.aggregates.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long[] byStatus = new long[3];
+        jdbcTemplate.query(COUNT_BY_STATUS_SQL, rs -> {
+            if (rs.getBoolean(1)) {
+                byStatus[0] += rs.getLong(2);
+            } else {
+                byStatus[1] += rs.getLong(2);
+            }
+            byStatus[2] += rs.getLong(3);
+        });
+        long[] byBucket = new long[bucketCounts.length];
+        jdbcTemplate.query(countByBucketSql, rs -> {
+            byBucket[rs.getInt(1)] = rs.getLong(2);
+        });
+
+        long drift = adjust(activeAccounts, byStatus[0])
+                + adjust(cancelledAccounts, byStatus[1])
+                + adjust(totalBalanceInCents, byStatus[2]);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            drift += adjust(bucketCounts[i], byBucket[i]);
+        }
+        if (drift != 0 && lastReconciledAt != null) {
+            log.warn("Account aggregates drifted from the database and were corrected (total drift: {})", drift);
+        }
+        lastReconciledAt = LocalDateTime.now();
+        log.debug("Account aggregates reconciled: {} active, {} cancelled", byStatus[0], byStatus[1]);
+    }
+
+    /**
+     * Obtiene una foto de los agregados. No accede a la base de datos.
+     * 
+     * @return AccountAggregatesResponse con los valores actuales de los contadores
+     */
+    public AccountAggregatesResponse getSnapshot() {
+        long active = activeAccounts.sum();
+        long cancelled = cancelledAccounts.sum();
+
+        List<AccountAggregatesResponse.BalanceBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            Double from = i == 0 ? null : bucketBoundsInCents[i - 1] / 100.0;
+            Double to = i < bucketBoundsInCents.length ? bucketBoundsInCents[i] / 100.0 : null;
+            buckets.add(new AccountAggregatesResponse.BalanceBucket(from, to, bucketCounts[i].sum()));
+        }
+
+        AccountAggregatesResponse response = new AccountAggregatesResponse();
+        response.setTotalBalance(totalBalanceInCents.sum() / 100.0);
+        response.setActiveAccounts(active);
+        response.setCancelledAccounts(cancelled);
+        response.setTotalAccounts(active + cancelled);
+        response.setBalanceBuckets(buckets);
+        response.setLastReconciledAt(lastReconciledAt);
+        return response;
+    }
+
+    /**
+     * Obtiene el rango al que pertenece un saldo.
+     * 
+     * @param cents Saldo en centavos
+     * @return Índice del rango
+     */
+    private int bucketOf(long cents) {
+        int index = Arrays.binarySearch(bucketBoundsInCents, cents);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Suma a un contador la diferencia con el valor esperado.
+     * 
+     * @param counter Contador a ajustar
+     * @param expected Valor calculado en la base de datos
+     * @return Diferencia absoluta aplicada
+     */
+    private static long adjust(LongAdder counter, long expected) {
+        long diff = expected - counter.sum();
+        counter.add(diff);
+        return Math.abs(diff);
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Arma la consulta que cuenta las cuentas por rango de saldo, con un CASE por límite.
+     * 
+     * @param boundsInCents Límites de los rangos en centavos
+     * @return Consulta SQL que retorna (índice del rango, cantidad de cuentas)
+     */
+    private static String buildCountByBucketSql(long[] boundsInCents) {
+        if (boundsInCents.length == 0) {
+            return "SELECT 0, COUNT(*) FROM " + ALL_ACCOUNTS_SQL;
+        }
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < boundsInCents.length; i++) {
+            bucket.append(" WHEN ROUND(current_balance * 100) <= ").append(boundsInCents[i]).append(" THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(boundsInCents.length).append(" END");
+        return "SELECT b.bucket, COUNT(*) FROM (SELECT " + bucket + " AS bucket FROM " + ALL_ACCOUNTS_SQL + ") b GROUP BY b.bucket";
+    }
+}
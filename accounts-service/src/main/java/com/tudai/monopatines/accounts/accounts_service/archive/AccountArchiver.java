@@ -0,0 +1,188 @@
+package com.tudai.monopatines.accounts.accounts_service.archive;
+
+import com.tudai.monopatines.accounts.accounts_service.index.AccountMembershipIndex;
+import com.tudai.monopatines.accounts.accounts_service.readmodel.OffHeapAccountReadModel;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Job que mueve las cuentas anuladas hace más de accounts.archive.retention-days, junto con
+ * sus asociaciones, de las tablas accounts y account_user a accounts_archive y account_user_archive.
+ * 
+ * Así las tablas principales (y sus índices) solo contienen las cuentas vigentes y las anuladas
+ * recientemente. Las cuentas archivadas conservan su ID y AccountService las sigue resolviendo
+ * en las lecturas por ID.
+ * 
+ * Para acotar el impacto sobre el tráfico:
+ * - se procesa en chunks de accounts.archive.chunk-size cuentas, cada uno en su propia
+ *   transacción (los locks se mantienen solo durante un chunk),
+ * - entre chunks se hace una pausa de al menos accounts.archive.pause-ms y nunca menor que
+ *   la duración del chunk anterior, de modo que si la base está cargada el job se frena solo,
+ * - cada ejecución procesa como máximo accounts.archive.max-chunks-per-run chunks; el resto
+ *   queda para la ejecución siguiente.
+ * 
+ */
+@Component
+public class AccountArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountArchiver.class);
+
+    private static final String SELECT_CANDIDATES_SQL =
+            "SELECT id, version FROM accounts WHERE active = false AND cancelled_at < ? ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String SELECT_ASSOCIATIONS_SQL =
+            "SELECT account_id, user_id FROM account_user WHERE account_id IN (:ids)";
+
+    private static final String ARCHIVE_ACCOUNTS_SQL =
+            "INSERT INTO accounts_archive (id, identification_number, mercado_pago_account_id, current_balance, "
+                    + "active, created_at, cancelled_at, version, archived_at) "
+                    + "SELECT id, identification_number, mercado_pago_account_id, current_balance, "
+                    + "active, created_at, cancelled_at, version, :archivedAt FROM accounts WHERE id IN (:ids)";
+
+    private static final String ARCHIVE_ASSOCIATIONS_SQL =
+            "INSERT INTO account_user_archive (id, account_id, user_id, associated_at, archived_at) "
+                    + "SELECT id, account_id, user_id, associated_at, :archivedAt FROM account_user WHERE account_id IN (:ids)";
+
+    private static final String DELETE_ASSOCIATIONS_SQL = "DELETE FROM account_user WHERE account_id IN (:ids)";
+
+    private static final String DELETE_ACCOUNTS_SQL = "DELETE FROM accounts WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountMembershipIndex membershipIndex;
+    private final OffHeapAccountReadModel readModel;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+
+    /**
+     * Constructor del job.
+     * 
+     * @param jdbcTemplate Template JDBC para mover las filas
+     * @param transactionManager Administrador de transacciones (una transacción por chunk)
+     * @param membershipIndex Índice de asociaciones, del que se quitan las asociaciones archivadas
+     * @param readModel Modelo de lectura de cuentas, del que se quitan las cuentas archivadas
+     * @param enabled Indica si la ejecución programada está habilitada
+     * @param retentionDays Días que una cuenta anulada permanece en la tabla principal
+     * @param chunkSize Cantidad de cuentas por chunk
+     * @param pauseMs Pausa mínima entre chunks, en milisegundos
+     * @param maxChunksPerRun Cantidad máxima de chunks por ejecución
+     */
+    public AccountArchiver(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           AccountMembershipIndex membershipIndex,
+                           OffHeapAccountReadModel readModel,
+                           @Value("${accounts.archive.enabled:true}") boolean enabled,
+                           @Value("${accounts.archive.retention-days:365}") int retentionDays,
+                           @Value("${accounts.archive.chunk-size:500}") int chunkSize,
+                           @Value("${accounts.archive.pause-ms:200}") long pauseMs,
+                           @Value("${accounts.archive.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.membershipIndex = membershipIndex;
+        this.readModel = readModel;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    /**
+     * Ejecución programada cada accounts.archive.interval-ms.
+     */
+    @Scheduled(initialDelayString = "${accounts.archive.interval-ms:3600000}",
+            fixedDelayString = "${accounts.archive.interval-ms:3600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveCancelledBefore(LocalDateTime.now().minusDays(retentionDays));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Archiva las cuentas anuladas antes de la fecha indicada, chunk por chunk.
+     * 
+     * @param cutoff Fecha límite de anulación (se archivan las cuentas anuladas antes de esta fecha)
+     * @return Cantidad de cuentas archivadas
+     * @throws InterruptedException si el hilo se interrumpe durante una pausa entre chunks
+     */
+    public int archiveCancelledBefore(LocalDateTime cutoff) throws InterruptedException {
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long start = System.nanoTime();
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Thread.sleep(Math.max(pauseMs, elapsedMs));
+        }
+        if (archived > 0) {
+            log.info("Archived {} accounts cancelled before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Mueve un chunk de cuentas al archivo dentro de la transacción actual.
+     * 
+     * Las cuentas se bloquean con SELECT ... FOR UPDATE para que no se modifiquen entre
+     * la copia y el borrado. Las asociaciones y las cuentas se quitan de las estructuras en memoria
+     * luego del commit (en el modelo de lectura quedan como lápida con la versión leída).
+     * 
+     * @param cutoff Fecha límite de anulación
+     * @return Cantidad de cuentas movidas
+     */
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<long[]> candidates = jdbcTemplate.query(SELECT_CANDIDATES_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, Timestamp.valueOf(cutoff), chunkSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = candidates.stream().map(candidate -> candidate[0]).toList();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        List<long[]> associations = namedParameterJdbcTemplate.query(SELECT_ASSOCIATIONS_SQL, params,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+
+        namedParameterJdbcTemplate.update(ARCHIVE_ACCOUNTS_SQL, params);
+        namedParameterJdbcTemplate.update(ARCHIVE_ASSOCIATIONS_SQL, params);
+        namedParameterJdbcTemplate.update(DELETE_ASSOCIATIONS_SQL, params);
+        namedParameterJdbcTemplate.update(DELETE_ACCOUNTS_SQL, params);
+
+        TransactionUtil.afterCommit(() -> {
+            for (long[] association : associations) {
+                membershipIndex.remove(association[0], association[1]);
+            }
+            for (long[] candidate : candidates) {
+                readModel.remove(candidate[0], candidate[1]);
+            }
+        });
+        return ids.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+/**
+ * Tipos de evento registrados en el journal de auditoría.
+ * 
+ * El código se guarda en cada registro del journal: los valores existentes no deben
+ * cambiar ni reutilizarse (0 indica una posición libre del segmento).
+ * 
+ */
+public enum AuditEventType {
+
+    BALANCE_LOADED(1),
+    BALANCE_DEDUCTED(2),
+    ACCOUNT_CANCELLED(3),
+    ROLE_ASSIGNED(4),
+    ROLE_REMOVED(5);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[6];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Obtiene el tipo correspondiente a un código del journal.
+     * 
+     * @param code Código guardado en el registro
+     * @return Tipo de evento, o null si el código no corresponde a ningún tipo
+     */
+    public static AuditEventType fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
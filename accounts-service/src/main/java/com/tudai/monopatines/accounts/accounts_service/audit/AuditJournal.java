@@ -0,0 +1,248 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Journal de auditoría de las operaciones de saldo, anulaciones de cuentas y cambios de roles.
+ * 
+ * Registrar un evento no hace I/O ni toma locks: completa un registro preasignado de un
+ * ring buffer sin locks (AuditRingBuffer) y lo publica. Un único hilo consumidor escribe
+ * los registros en segmentos mapeados en memoria (AuditSegmentWriter) y los fuerza a disco
+ * cada accounts.audit.flush-interval-ms. Los segmentos se leen con AuditJournalReader.
+ * 
+ * Cada registro guarda quién realizó la operación: el ID del header X-User-Id que agrega
+ * el gateway, o 0 si la operación no llegó por HTTP (por ejemplo, por gRPC).
+ * 
+ * Los servicios registran los eventos luego del commit, por lo que el journal solo contiene
+ * operaciones confirmadas.
+ * 
+ */
+@Component
+public class AuditJournal implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    static final String USER_ID_HEADER = "X-User-Id";
+
+    private static final int DRAIN_BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final AuditRingBuffer ringBuffer;
+    private final Consumer<AuditRecord> writeHandler = this::write;
+
+    private AuditSegmentWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+    private boolean dirty;
+    private long failedRecords;
+
+    /**
+     * Constructor del journal.
+     * 
+     * @param enabled Indica si el journal está habilitado
+     * @param directory Directorio de los segmentos
+     * @param segmentSize Tamaño de cada segmento en bytes
+     * @param ringBufferSize Cantidad de eventos que pueden esperar a ser escritos (potencia de 2)
+     * @param flushIntervalMs Intervalo máximo entre escrituras forzadas a disco, en milisegundos
+     */
+    public AuditJournal(@Value("${accounts.audit.enabled:false}") boolean enabled,
+                        @Value("${accounts.audit.directory:audit-journal}") String directory,
+                        @Value("${accounts.audit.segment-size:67108864}") int segmentSize,
+                        @Value("${accounts.audit.ring-buffer-size:65536}") int ringBufferSize,
+                        @Value("${accounts.audit.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushIntervalMs * 1_000_000;
+        this.ringBuffer = enabled ? new AuditRingBuffer(ringBufferSize) : null;
+    }
+
+    /**
+     * Registra una carga de saldo.
+     * 
+     * @param accountId ID de la cuenta
+     * @param amount Monto cargado
+     * @param balance Saldo resultante
+     */
+    public void balanceLoaded(long accountId, double amount, double balance) {
+        append(AuditEventType.BALANCE_LOADED, accountId, toCents(amount), toCents(balance), null);
+    }
+
+    /**
+     * Registra un descuento de saldo.
+     * 
+     * @param accountId ID de la cuenta
+     * @param amount Monto descontado
+     * @param balance Saldo resultante
+     */
+    public void balanceDeducted(long accountId, double amount, double balance) {
+        append(AuditEventType.BALANCE_DEDUCTED, accountId, toCents(amount), toCents(balance), null);
+    }
+
+    /**
+     * Registra la anulación de una cuenta.
+     * 
+     * @param accountId ID de la cuenta
+     */
+    public void accountCancelled(long accountId) {
+        append(AuditEventType.ACCOUNT_CANCELLED, accountId, 0L, 0L, null);
+    }
+
+    /**
+     * Registra la asignación de un rol a un usuario.
+     * 
+     * @param userId ID del usuario
+     * @param roleName Nombre del rol
+     */
+    public void roleAssigned(long userId, String roleName) {
+        append(AuditEventType.ROLE_ASSIGNED, userId, 0L, 0L, roleName);
+    }
+
+    /**
+     * Registra la eliminación de un rol de un usuario.
+     * 
+     * @param userId ID del usuario
+     * @param roleName Nombre del rol
+     */
+    public void roleRemoved(long userId, String roleName) {
+        append(AuditEventType.ROLE_REMOVED, userId, 0L, 0L, roleName);
+    }
+
+    /**
+     * Abre el último segmento del directorio e inicia el hilo que escribe los registros.
+     */
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            writer = new AuditSegmentWriter(directory, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit journal at " + directory.toAbsolutePath(), e);
+        }
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-journal-writer");
+        writerThread.start();
+        log.info("Audit journal opened at {} (next sequence: {})", directory.toAbsolutePath(), writer.getNextSequence());
+    }
+
+    /**
+     * Deja de aceptar eventos, escribe los pendientes y cierra el segmento actual.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fase menor que la del servidor web: el journal se abre antes de aceptar requests
+     * y se cierra después de que terminen las requests en curso.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void append(AuditEventType type, long subjectId, long amountInCents, long balanceInCents, String roleName) {
+        if (!running) {
+            return;
+        }
+        long actorId = currentActorId();
+        long sequence = ringBuffer.claim();
+        ringBuffer.get(sequence).set(System.currentTimeMillis(), type, actorId, subjectId,
+                amountInCents, balanceInCents, roleName);
+        ringBuffer.publish(sequence);
+    }
+
+    /**
+     * Bucle del hilo escritor: escribe los registros publicados y fuerza el segmento a disco
+     * cuando no hay registros pendientes y pasó el intervalo de flush.
+     */
+    private void writeLoop() {
+        long lastFlush = System.nanoTime();
+        while (running || ringBuffer.hasPending()) {
+            int written = ringBuffer.drain(writeHandler, DRAIN_BATCH_SIZE);
+            if (written == 0) {
+                if (dirty && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                    writer.flush();
+                    dirty = false;
+                    lastFlush = System.nanoTime();
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("Could not close audit journal", e);
+        }
+        log.info("Audit journal closed (next sequence: {})", writer.getNextSequence());
+    }
+
+    private void write(AuditRecord record) {
+        try {
+            writer.append(record);
+            dirty = true;
+        } catch (IOException e) {
+            // Se descarta el registro para no bloquear a los productores
+            failedRecords++;
+            log.error("Could not write audit record ({} records lost so far)", failedRecords, e);
+        }
+    }
+
+    /**
+     * Obtiene el ID del usuario de la request HTTP actual (header X-User-Id), o 0 si no hay.
+     */
+    private static long currentActorId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return 0L;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
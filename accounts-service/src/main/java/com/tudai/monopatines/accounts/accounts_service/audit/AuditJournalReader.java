@@ -0,0 +1,79 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lector del journal de auditoría.
+ * 
+ * Recorre los segmentos de un directorio en orden de secuencia. Puede usarse desde código
+ * (por ejemplo, para reprocesar eventos) o como herramienta de línea de comandos:
+ * 
+ * java -cp accounts-service.jar -Dloader.main=com.tudai.monopatines.accounts.accounts_service.audit.AuditJournalReader
+ *   org.springframework.boot.loader.launch.PropertiesLauncher {directorio} [secuencia desde]
+ * 
+ * Imprime un registro por línea. Puede ejecutarse mientras el servicio escribe el journal:
+ * los registros se dan por completos recién cuando su tipo está escrito.
+ * 
+ */
+public final class AuditJournalReader {
+
+    private AuditJournalReader() {
+    }
+
+    /**
+     * Lee los registros del journal a partir de una secuencia.
+     * 
+     * La instancia de AuditRecord que recibe el consumidor se reutiliza entre registros.
+     * 
+     * @param directory Directorio de los segmentos
+     * @param fromSequence Primera secuencia a leer (1 para leer todo el journal)
+     * @param consumer Acción a ejecutar con cada registro
+     * @return Cantidad de registros leídos
+     * @throws IOException si no se puede leer un segmento
+     */
+    public static long read(Path directory, long fromSequence, Consumer<AuditRecord> consumer) throws IOException {
+        List<Path> segments = AuditSegmentWriter.listSegments(directory);
+        AuditRecord record = new AuditRecord();
+        long count = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            // Se saltean los segmentos que terminan antes de la secuencia pedida
+            if (i + 1 < segments.size() && AuditSegmentWriter.firstSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (int offset = 0; offset + AuditRecord.SIZE <= buffer.capacity(); offset += AuditRecord.SIZE) {
+                    if (!record.readFrom(buffer, offset)) {
+                        break;
+                    }
+                    if (record.getSequence() >= fromSequence) {
+                        consumer.accept(record);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Imprime el journal por salida estándar.
+     * 
+     * @param args Directorio de los segmentos y, opcionalmente, la primera secuencia a imprimir
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: AuditJournalReader <directory> [fromSequence]");
+            System.exit(1);
+        }
+        long fromSequence = args.length == 2 ? Long.parseLong(args[1]) : 1L;
+        long count = read(Path.of(args[0]), fromSequence, System.out::println);
+        System.err.println(count + " records");
+    }
+}
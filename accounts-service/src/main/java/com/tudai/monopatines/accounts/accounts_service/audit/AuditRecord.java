@@ -0,0 +1,171 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Registro del journal de auditoría.
+ * 
+ * Es mutable para que el ring buffer reutilice sus instancias: registrar un evento solo
+ * completa los campos de una instancia preasignada, sin crear objetos.
+ * 
+ * En el journal ocupa {@link #SIZE} bytes con el siguiente formato (big-endian):
+ * - 0: secuencia (long), 8: fecha en milisegundos desde epoch (long),
+ * - 16: ID del usuario que realizó la operación, 0 si no se conoce (long),
+ * - 24: ID de la cuenta o usuario afectado (long),
+ * - 32: monto en centavos (long), 40: saldo resultante en centavos (long),
+ * - 48: código del tipo de evento (byte), 49: longitud del nombre de rol (byte),
+ * - 56: nombre de rol en ASCII, hasta {@link #MAX_ROLE_NAME_LENGTH} bytes.
+ * 
+ */
+public class AuditRecord {
+
+    /**
+     * Tamaño de un registro en el journal, en bytes.
+     */
+    public static final int SIZE = 96;
+
+    static final int MAX_ROLE_NAME_LENGTH = 40;
+
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int ACTOR_OFFSET = 16;
+    private static final int SUBJECT_OFFSET = 24;
+    private static final int AMOUNT_OFFSET = 32;
+    private static final int BALANCE_OFFSET = 40;
+    private static final int TYPE_OFFSET = 48;
+    private static final int ROLE_LENGTH_OFFSET = 49;
+    private static final int ROLE_OFFSET = 56;
+
+    private long sequence;
+    private long timestamp;
+    private AuditEventType type;
+    private long actorId;
+    private long subjectId;
+    private long amountInCents;
+    private long balanceInCents;
+    private String roleName;
+
+    /**
+     * Completa el registro con los datos de un evento.
+     */
+    void set(long timestamp, AuditEventType type, long actorId, long subjectId,
+             long amountInCents, long balanceInCents, String roleName) {
+        this.timestamp = timestamp;
+        this.type = type;
+        this.actorId = actorId;
+        this.subjectId = subjectId;
+        this.amountInCents = amountInCents;
+        this.balanceInCents = balanceInCents;
+        this.roleName = roleName;
+    }
+
+    /**
+     * Escribe el registro en la posición indicada del buffer.
+     * 
+     * @param buffer Buffer del segmento
+     * @param offset Posición del registro
+     */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putLong(offset + ACTOR_OFFSET, actorId);
+        buffer.putLong(offset + SUBJECT_OFFSET, subjectId);
+        buffer.putLong(offset + AMOUNT_OFFSET, amountInCents);
+        buffer.putLong(offset + BALANCE_OFFSET, balanceInCents);
+        int roleLength = roleName != null ? Math.min(roleName.length(), MAX_ROLE_NAME_LENGTH) : 0;
+        for (int i = 0; i < roleLength; i++) {
+            char c = roleName.charAt(i);
+            buffer.put(offset + ROLE_OFFSET + i, c < 128 ? (byte) c : (byte) '?');
+        }
+        buffer.put(offset + ROLE_LENGTH_OFFSET, (byte) roleLength);
+        // El tipo se escribe al final: un registro con tipo distinto de 0 está completo
+        buffer.put(offset + TYPE_OFFSET, type.getCode());
+    }
+
+    /**
+     * Lee un registro desde la posición indicada del buffer.
+     * 
+     * @param buffer Buffer del segmento
+     * @param offset Posición del registro
+     * @return true si había un registro en la posición, false si la posición está libre
+     */
+    boolean readFrom(ByteBuffer buffer, int offset) {
+        AuditEventType storedType = AuditEventType.fromCode(buffer.get(offset + TYPE_OFFSET));
+        if (storedType == null) {
+            return false;
+        }
+        type = storedType;
+        sequence = buffer.getLong(offset + SEQUENCE_OFFSET);
+        timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+        actorId = buffer.getLong(offset + ACTOR_OFFSET);
+        subjectId = buffer.getLong(offset + SUBJECT_OFFSET);
+        amountInCents = buffer.getLong(offset + AMOUNT_OFFSET);
+        balanceInCents = buffer.getLong(offset + BALANCE_OFFSET);
+        int roleLength = buffer.get(offset + ROLE_LENGTH_OFFSET);
+        if (roleLength == 0) {
+            roleName = null;
+        } else {
+            char[] chars = new char[roleLength];
+            for (int i = 0; i < roleLength; i++) {
+                chars[i] = (char) buffer.get(offset + ROLE_OFFSET + i);
+            }
+            roleName = new String(chars);
+        }
+        return true;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public AuditEventType getType() {
+        return type;
+    }
+
+    public long getActorId() {
+        return actorId;
+    }
+
+    public long getSubjectId() {
+        return subjectId;
+    }
+
+    public long getAmountInCents() {
+        return amountInCents;
+    }
+
+    public long getBalanceInCents() {
+        return balanceInCents;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder()
+                .append(sequence).append(' ')
+                .append(Instant.ofEpochMilli(timestamp)).append(' ')
+                .append(type)
+                .append(" actor=").append(actorId)
+                .append(" subject=").append(subjectId);
+        if (type == AuditEventType.BALANCE_LOADED || type == AuditEventType.BALANCE_DEDUCTED) {
+            line.append(" amount=").append(amountInCents / 100.0)
+                    .append(" balance=").append(balanceInCents / 100.0);
+        }
+        if (roleName != null) {
+            line.append(" role=").append(roleName);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer sin locks con varios productores y un único consumidor.
+ * 
+ * Cada productor reserva una secuencia con un getAndIncrement, completa el registro
+ * preasignado de esa posición y lo publica escribiendo la secuencia en published.
+ * El consumidor procesa las posiciones en orden mientras estén publicadas y luego
+ * avanza consumed, liberándolas para los productores.
+ * 
+ * Si el buffer está lleno (el consumidor no alcanza a escribir), el productor espera
+ * a que se libere su posición: el journal aplica contrapresión en lugar de perder eventos.
+ * 
+ */
+class AuditRingBuffer {
+
+    private static final long FULL_WAIT_NANOS = 1_000;
+
+    private final AuditRecord[] records;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    /**
+     * @param capacity Cantidad de posiciones (potencia de 2)
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of 2: " + capacity);
+        }
+        this.records = new AuditRecord[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            records[i] = new AuditRecord();
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * Reserva la siguiente posición, esperando si el buffer está lleno.
+     * 
+     * @return Secuencia reservada
+     */
+    long claim() {
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed.get() >= records.length) {
+            LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+        return sequence;
+    }
+
+    /**
+     * Obtiene el registro de una secuencia reservada, para completarlo antes de publicarlo.
+     */
+    AuditRecord get(long sequence) {
+        return records[(int) sequence & mask];
+    }
+
+    /**
+     * Publica una secuencia reservada: a partir de aquí el consumidor puede procesarla.
+     */
+    void publish(long sequence) {
+        published.set((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Procesa, en orden, los registros publicados (solo desde el hilo consumidor).
+     * 
+     * @param handler Acción a ejecutar con cada registro
+     * @param maxRecords Cantidad máxima de registros a procesar
+     * @return Cantidad de registros procesados
+     */
+    int drain(Consumer<AuditRecord> handler, int maxRecords) {
+        long next = consumed.get();
+        int count = 0;
+        while (count < maxRecords && published.get((int) next & mask) == next) {
+            handler.accept(records[(int) next & mask]);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed.set(next);
+        }
+        return count;
+    }
+
+    /**
+     * Indica si hay secuencias reservadas que todavía no fueron procesadas.
+     */
+    boolean hasPending() {
+        return claimed.get() > consumed.get();
+    }
+}
@@ -0,0 +1,137 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Escribe registros de auditoría en segmentos de tamaño fijo mapeados en memoria.
+ * 
+ * Cada segmento es un archivo audit-{primera secuencia}.journal que se mapea completo
+ * (MappedByteBuffer): escribir un registro es copiar bytes a memoria y el sistema operativo
+ * los lleva a disco. Cuando un segmento se llena se fuerza a disco y se crea el siguiente.
+ * 
+ * Al abrir un directorio existente continúa el último segmento desde su primera posición
+ * libre, con la secuencia siguiente a la del último registro.
+ * 
+ * No es thread-safe: lo usa únicamente el hilo consumidor de AuditJournal.
+ * 
+ */
+class AuditSegmentWriter implements Closeable {
+
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int limit;
+    private int position;
+    private long nextSequence = 1L;
+
+    /**
+     * @param directory Directorio de los segmentos (se crea si no existe)
+     * @param segmentSize Tamaño de cada segmento en bytes (se redondea a un múltiplo del tamaño de registro)
+     */
+    AuditSegmentWriter(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.max(segmentSize / AuditRecord.SIZE, 1) * AuditRecord.SIZE;
+        Files.createDirectories(directory);
+
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            open(nextSequence);
+        } else {
+            recover(segments.get(segments.size() - 1));
+        }
+    }
+
+    /**
+     * Agrega un registro asignándole la siguiente secuencia del journal.
+     */
+    void append(AuditRecord record) throws IOException {
+        if (position == limit) {
+            roll();
+        }
+        record.setSequence(nextSequence++);
+        record.writeTo(buffer, position);
+        position += AuditRecord.SIZE;
+    }
+
+    /**
+     * Fuerza a disco los registros escritos en el segmento actual.
+     */
+    void flush() {
+        buffer.force();
+    }
+
+    long getNextSequence() {
+        return nextSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Obtiene los segmentos de un directorio, ordenados por su primera secuencia.
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Obtiene la primera secuencia de un segmento a partir del nombre del archivo.
+     */
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void roll() throws IOException {
+        close();
+        open(nextSequence);
+    }
+
+    private void open(long firstSequence) throws IOException {
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        map(segment);
+        position = 0;
+    }
+
+    private void recover(Path segment) throws IOException {
+        map(segment);
+        nextSequence = firstSequenceOf(segment);
+        AuditRecord record = new AuditRecord();
+        position = 0;
+        while (position < limit && record.readFrom(buffer, position)) {
+            nextSequence = record.getSequence() + 1;
+            position += AuditRecord.SIZE;
+        }
+    }
+
+    private void map(Path segment) throws IOException {
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Un segmento existente creado con un tamaño mayor conserva su tamaño
+        long size = Math.max(channel.size(), segmentSize);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        limit = (int) (size / AuditRecord.SIZE) * AuditRecord.SIZE;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tudai.monopatines.accounts.accounts_service.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.tudai.monopatines.accounts.accounts_service.converter.ProtobufResponseHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuracion de los formatos binarios de respuesta de la API REST.
+ * 
+ * Ademas de JSON, los endpoints responden en CBOR (Accept: application/cbor) y en protobuf
+ * (Accept: application/x-protobuf) para los consumidores internos. Los converters binarios se
+ * agregan al final de la lista, de modo que los clientes que aceptan cualquier formato
+ * (o no envian Accept) siguen recibiendo JSON.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    /**
+     * Constructor de la configuracion.
+     * 
+     * @param objectMapperBuilder Builder de ObjectMapper de Spring Boot (mismas propiedades spring.jackson.* que JSON)
+     */
+    public ContentNegotiationConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * Reemplaza el converter CBOR por defecto por uno configurado como el de JSON y agrega el de protobuf.
+     * 
+     * @param converters Converters de la aplicacion, en orden de prioridad
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new ProtobufResponseHttpMessageConverter());
+    }
+}
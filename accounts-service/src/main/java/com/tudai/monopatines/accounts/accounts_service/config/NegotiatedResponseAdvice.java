@@ -0,0 +1,47 @@
+package com.tudai.monopatines.accounts.accounts_service.config;
+
+import com.tudai.monopatines.accounts.accounts_service.util.VersionETag;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Ajusta los headers de las respuestas con cuerpo al formato elegido por la negociacion de contenido.
+ * 
+ * El mismo recurso se responde en JSON, CBOR o protobuf segun el header Accept (ver ContentNegotiationConfig):
+ * - agrega Vary: Accept, para que los caches no entreguen a un cliente el formato pedido por otro,
+ * - reemplaza el ETag de version por el del formato elegido ("3", "3-cbor" o "3-protobuf", ver VersionETag).
+ * 
+ * Las respuestas 304 no tienen cuerpo y no pasan por aqui: los controllers les agregan ambos headers.
+ */
+@ControllerAdvice
+public class NegotiatedResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String etag = headers.getETag();
+        if (etag != null) {
+            long version = VersionETag.version(etag);
+            if (version != VersionETag.NO_VERSION) {
+                headers.setETag(VersionETag.of(version, selectedContentType));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tudai.monopatines.accounts.accounts_service.config;
+
+import com.tudai.monopatines.accounts.accounts_service.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuracion del ruteo de lecturas a replicas de la base de datos.
+ * 
+ * Solo se activa con accounts.datasource.replicas.enabled=true. El DataSource expuesto es un
+ * LazyConnectionDataSourceProxy sobre el primario que, para las transacciones
+ * {@code @Transactional(readOnly = true)}, obtiene la conexion de las replicas. Como el proxy
+ * demora la obtencion de la conexion real hasta la primera sentencia, la decision se toma
+ * cuando el administrador de transacciones ya marco la conexion como readOnly.
+ * 
+ * El retraso de replicacion se mide cada accounts.datasource.replicas.lag-check-interval-ms
+ * (ver ReplicaRoutingDataSource#refreshReplicationLag).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "accounts.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    /**
+     * DataSource de las replicas de lectura, con fallback al primario.
+     * 
+     * @param dataSourceProperties Propiedades spring.datasource del primario
+     * @param replicaProperties Propiedades de las replicas
+     * @return ReplicaRoutingDataSource sobre las replicas configuradas
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProperties replicaProperties) {
+        List<ReplicaRoutingDataSource.NamedDataSource> replicas = new ArrayList<>();
+        int index = 0;
+        for (ReplicaDataSourceProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + index);
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : dataSourceProperties.determinePassword());
+            replica.setReadOnly(true);
+            // No fallar al iniciar si una replica no responde: se saltea hasta que vuelva
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaRoutingDataSource.NamedDataSource(replica.getPoolName(), replica));
+            index++;
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource(dataSourceProperties), replicas,
+                replicaProperties.getMaxLagSeconds(), replicaProperties.getFailureCooldownMs(),
+                replicaProperties.getLagQuery());
+    }
+
+    /**
+     * DataSource principal de la aplicacion: escrituras al primario, lecturas readOnly a las replicas.
+     * 
+     * @param dataSourceProperties Propiedades spring.datasource del primario
+     * @param replicaRoutingDataSource DataSource de las replicas
+     * @return LazyConnectionDataSourceProxy con el primario y las replicas
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource(dataSourceProperties));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * DataSource del primario, creado a partir de spring.datasource.
+     * 
+     * @param dataSourceProperties Propiedades spring.datasource del primario
+     * @return Pool de conexiones del primario
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+}
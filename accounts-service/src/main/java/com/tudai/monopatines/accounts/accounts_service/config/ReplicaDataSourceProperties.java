@@ -0,0 +1,148 @@
+package com.tudai.monopatines.accounts.accounts_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de las réplicas de lectura de la base de datos (prefijo accounts.datasource.replicas).
+ * 
+ * Ejemplo:
+ * <pre>
+ * accounts.datasource.replicas.enabled=true
+ * accounts.datasource.replicas.nodes[0].url=jdbc:mariadb://replica-1:3306/accounts_db
+ * accounts.datasource.replicas.nodes[0].username=accounts_user
+ * accounts.datasource.replicas.nodes[0].password=accounts_pass
+ * </pre>
+ * 
+ */
+@ConfigurationProperties(prefix = "accounts.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Habilita el ruteo de las transacciones readOnly a las réplicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Réplicas de lectura.
+     */
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Retraso de replicación máximo tolerado en segundos. Una réplica más atrasada no recibe lecturas.
+     */
+    private long maxLagSeconds = 5;
+
+    /**
+     * Consulta que devuelve el retraso de replicación en segundos (primera columna de la primera fila).
+     * Si está vacía, el retraso no se mide y todas las réplicas se consideran al día.
+     */
+    private String lagQuery;
+
+    /**
+     * Intervalo entre mediciones del retraso de replicación en milisegundos.
+     */
+    private long lagCheckIntervalMs = 5000;
+
+    /**
+     * Tiempo durante el que se saltea una réplica luego de un error de conexión, en milisegundos.
+     */
+    private long failureCooldownMs = 30000;
+
+    /**
+     * Datos de conexión de una réplica.
+     */
+    public static class Node {
+
+        /**
+         * URL JDBC de la réplica.
+         */
+        private String url;
+
+        /**
+         * Usuario de la réplica (por defecto, el del primario).
+         */
+        private String username;
+
+        /**
+         * Password de la réplica (por defecto, el del primario).
+         */
+        private String password;
+
+        // Getters and Setters
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public long getFailureCooldownMs() {
+        return failureCooldownMs;
+    }
+
+    public void setFailureCooldownMs(long failureCooldownMs) {
+        this.failureCooldownMs = failureCooldownMs;
+    }
+}
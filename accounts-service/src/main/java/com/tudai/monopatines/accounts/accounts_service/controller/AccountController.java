@@ -1,17 +1,29 @@
 package com.tudai.monopatines.accounts.accounts_service.controller;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportResponse;
 import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_service.service.BalanceStreamService;
+import com.tudai.monopatines.accounts.accounts_service.service.BulkImportService;
+import com.tudai.monopatines.accounts.accounts_service.util.ImportRecordReader;
+import com.tudai.monopatines.accounts.accounts_service.util.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,9 +32,14 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BulkImportService bulkImportService;
+    private final BalanceStreamService balanceStreamService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, BulkImportService bulkImportService,
+                             BalanceStreamService balanceStreamService) {
         this.accountService = accountService;
+        this.bulkImportService = bulkImportService;
+        this.balanceStreamService = balanceStreamService;
     }
 
     @Operation(
@@ -37,15 +54,40 @@ public class AccountController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+        summary = "Importar cuentas masivamente",
+        description = "Importa cuentas en streaming desde un archivo CSV (text/csv) o NDJSON (application/x-ndjson) con los campos identificationNumber, mercadoPagoAccountId y currentBalance. " +
+                "Se procesa en chunks con INSERT batch. Las filas invalidas o con numero identificatorio existente se informan en la respuesta. " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResponse> importAccounts(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body) {
+        ImportResponse response = bulkImportService.importAccounts(body, ImportRecordReader.Format.fromContentType(contentType));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Obtener cuenta por ID",
         description = "Obtiene los datos de una cuenta por su identificador unico. " +
+                "La respuesta incluye un ETag con la version de la cuenta y el formato de la respuesta (JSON, CBOR o protobuf, segun Accept); si el header If-None-Match lo incluye, responde 304 sin cuerpo. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @GetMapping("/{id}")
-    public ResponseEntity<AccountResponse> getAccountById(@PathVariable Long id) {
+    public ResponseEntity<AccountResponse> getAccountById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType representation = VersionETag.representation(accept);
+        if (ifNoneMatch != null) {
+            long version = accountService.getAccountVersion(id);
+            if (VersionETag.matches(ifNoneMatch, VersionETag.of(version, representation))) {
+                return notModified(version, representation);
+            }
+        }
         AccountResponse response = accountService.getAccountById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion(), representation)).body(response);
     }
 
     @Operation(
@@ -59,6 +101,18 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener varias cuentas por ID",
+        description = "Retorna las cuentas cuyos IDs se indican en el parametro ids (ej: ?ids=1,2,3), en el orden solicitado. " +
+                "Los IDs inexistentes se omiten. La cantidad maxima de IDs por request es configurable (accounts.batch.max-size). " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<AccountResponse>> getAccountsByIds(@RequestParam List<Long> ids) {
+        List<AccountResponse> response = accountService.getAccountsByIds(ids);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Obtener cuentas activas",
         description = "Retorna unicamente las cuentas que estan activas (no anuladas). " +
@@ -70,17 +124,64 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener cuentas paginadas",
+        description = "Retorna una pagina de cuentas ordenadas por ID (paginacion keyset). " +
+                "Para obtener la pagina siguiente se envia nextAfterId como afterId. " +
+                "El parametro active filtra por estado. El limite maximo es configurable (accounts.batch.max-size). " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @GetMapping("/page")
+    public ResponseEntity<AccountPageResponse> getAccountsPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Boolean active) {
+        AccountPageResponse response = accountService.getAccountsPage(afterId, limit, active);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Obtener agregados de cuentas",
+        description = "Retorna el saldo total, la cantidad de cuentas activas y anuladas y la distribucion de cuentas por rango de saldo. " +
+                "Los valores se mantienen en memoria (no se consulta la base de datos) y se reconcilian periodicamente. " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @GetMapping("/aggregates")
+    public ResponseEntity<AccountAggregatesResponse> getAggregates() {
+        AccountAggregatesResponse response = accountService.getAggregates();
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Actualizar cuenta",
         description = "Actualiza los datos de una cuenta existente. " +
+                "Si se envia el header If-Match con el ETag de la cuenta y la cuenta cambio, responde 412. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @PutMapping("/{id}")
     public ResponseEntity<AccountResponse> updateAccount(
         @PathVariable Long id,
-        @Valid @RequestBody AccountRequest request) {
-        AccountResponse response = accountService.updateAccount(id, request);
-        return ResponseEntity.ok(response);
+        @Valid @RequestBody AccountRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AccountResponse response = accountService.updateAccount(id, request, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
+    }
+
+    @Operation(
+        summary = "Modificar cuenta parcialmente",
+        description = "Modifica solo los campos enviados (JSON Merge Patch): numero identificatorio, ID de Mercado Pago y/o saldo. " +
+                "Los campos ausentes se conservan y un campo en null responde 400. " +
+                "La unicidad del numero identificatorio solo se verifica si cambia, y el UPDATE incluye solo las columnas modificadas. " +
+                "Si se envia el header If-Match con el ETag de la cuenta y la cuenta cambio, responde 412. " +
+                "Roles requeridos: ROLE_USER, ROLE_ADMIN."
+    )
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<AccountResponse> patchAccount(
+        @PathVariable Long id,
+        @Valid @RequestBody AccountPatchRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AccountResponse response = accountService.patchAccount(id, request, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
     }
 
     @Operation(
@@ -89,46 +190,87 @@ public class AccountController {
                 "Roles requeridos: ROLE_ADMIN."
     )
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<AccountResponse> cancelAccount(@PathVariable Long id) {
-        AccountResponse response = accountService.cancelAccount(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<AccountResponse> cancelAccount(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AccountResponse response = accountService.cancelAccount(id, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
     }
 
     @Operation(
         summary = "Cargar saldo a cuenta",
         description = "Incrementa el saldo actual de la cuenta con el monto especificado. " +
+                "Si se envia el header If-Match con el ETag de la cuenta y la cuenta cambio, responde 412. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @PutMapping("/{id}/balance")
     public ResponseEntity<BalanceResponse> loadBalance(
         @PathVariable Long id,
-        @Valid @RequestBody BalanceRequest request) {
-        BalanceResponse response = accountService.loadBalance(id, request);
-        return ResponseEntity.ok(response);
+        @Valid @RequestBody BalanceRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BalanceResponse response = accountService.loadBalance(id, request, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
     }
 
     @Operation(
         summary = "Obtener saldo de cuenta",
         description = "Retorna el saldo actual de una cuenta. " +
+                "La respuesta incluye un ETag con la version de la cuenta y el formato de la respuesta (JSON, CBOR o protobuf, segun Accept); si el header If-None-Match lo incluye, responde 304 sin cuerpo. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @GetMapping("/{id}/balance")
-    public ResponseEntity<BalanceResponse> getBalance(@PathVariable Long id) {
+    public ResponseEntity<BalanceResponse> getBalance(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType representation = VersionETag.representation(accept);
+        if (ifNoneMatch != null) {
+            long version = accountService.getAccountVersion(id);
+            if (VersionETag.matches(ifNoneMatch, VersionETag.of(version, representation))) {
+                return notModified(version, representation);
+            }
+        }
         BalanceResponse response = accountService.getBalance(id);
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion(), representation)).body(response);
+    }
+
+    @Operation(
+        summary = "Stream de saldo de cuenta",
+        description = "Abre un stream de server-sent events con el saldo y el estado de una cuenta. " +
+                "Envia un evento balance al conectarse y uno por cada cambio, un evento deleted si la cuenta se elimina, " +
+                "y un comentario de heartbeat periodicamente. El stream se cierra luego de accounts.balance-stream.timeout-ms. " +
+                "Roles requeridos: ROLE_USER, ROLE_ADMIN."
+    )
+    @GetMapping(value = "/{id}/balance/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBalance(@PathVariable Long id) {
+        return balanceStreamService.open(id);
+    }
+
+    @Operation(
+        summary = "Obtener saldo de varias cuentas",
+        description = "Retorna el saldo actual de las cuentas cuyos IDs se indican en el parametro ids (ej: ?ids=1,2,3), en el orden solicitado. " +
+                "Los IDs inexistentes se omiten. La cantidad maxima de IDs por request es configurable (accounts.batch.max-size). " +
+                "Roles requeridos: ROLE_EMPLOYEE, ROLE_ADMIN."
+    )
+    @GetMapping("/balances")
+    public ResponseEntity<List<BalanceResponse>> getBalances(@RequestParam List<Long> ids) {
+        List<BalanceResponse> response = accountService.getBalances(ids);
         return ResponseEntity.ok(response);
     }
 
     @Operation(
         summary = "Descontar saldo de cuenta",
         description = "Descuenta un monto del saldo de una cuenta. Se utiliza cuando se activa un monopatin o se finaliza un viaje. " +
+                "Si se envia el header If-Match con el ETag de la cuenta y la cuenta cambio, responde 412. " +
                 "Roles requeridos: ROLE_EMPLOYEE, ROLE_ADMIN."
     )
     @PutMapping("/{id}/balance/deduct")
     public ResponseEntity<BalanceResponse> deductBalance(
         @PathVariable Long id,
-        @RequestParam Double amount) {
-        BalanceResponse response = accountService.deductBalance(id, amount);
-        return ResponseEntity.ok(response);
+        @RequestParam Double amount,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BalanceResponse response = accountService.deductBalance(id, amount, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
     }
 
     @Operation(
@@ -152,5 +294,16 @@ public class AccountController {
         accountService.deleteAccount(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Respuesta 304 (Not Modified) con el ETag de la version actual en el formato pedido.
+     * No tiene cuerpo, por lo que NegotiatedResponseAdvice no le agrega Vary: Accept.
+     */
+    private static <T> ResponseEntity<T> notModified(long version, MediaType representation) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(VersionETag.of(version, representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
 }
 
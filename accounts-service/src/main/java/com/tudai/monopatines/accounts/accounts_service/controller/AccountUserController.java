@@ -2,10 +2,14 @@ package com.tudai.monopatines.accounts.accounts_service.controller;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountUserResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountsByUserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.MembershipIndexStatsResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.UsersByAccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.service.AccountUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +38,20 @@ public class AccountUserController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+        summary = "Asociar varios usuarios a una cuenta",
+        description = "Asocia en una sola operacion una lista de usuarios a una cuenta (cuentas familiares o corporativas). " +
+                "Retorna el resultado de cada usuario: ASSOCIATED, ALREADY_ASSOCIATED o USER_NOT_FOUND. " +
+                "Roles requeridos: ROLE_USER, ROLE_ADMIN."
+    )
+    @PostMapping("/{accountId}/users")
+    public ResponseEntity<BulkAssociationResponse> associateUsersToAccount(
+        @PathVariable Long accountId,
+        @Valid @RequestBody BulkAssociationRequest request) {
+        BulkAssociationResponse response = accountUserService.associateUsersToAccount(accountId, request.getUserIds());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Desasociar usuario de cuenta",
         description = "Elimina la relacion entre una cuenta y un usuario, impidiendo que el usuario utilice los creditos de esa cuenta. " +
@@ -47,6 +65,31 @@ public class AccountUserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Verificar si un usuario esta asociado a una cuenta",
+        description = "Retorna true si el usuario puede utilizar los creditos de la cuenta, false en caso contrario. " +
+                "Se resuelve con un indice en memoria sin acceder a la base de datos. Usado por otros microservicios al iniciar un viaje. " +
+                "Roles requeridos: ROLE_USER, ROLE_EMPLOYEE, ROLE_ADMIN."
+    )
+    @GetMapping("/{accountId}/users/{userId}/membership")
+    public ResponseEntity<Boolean> isUserAssociatedToAccount(
+        @PathVariable Long accountId,
+        @PathVariable Long userId) {
+        boolean associated = accountUserService.isUserAssociatedToAccount(accountId, userId);
+        return ResponseEntity.ok(associated);
+    }
+
+    @Operation(
+        summary = "Obtener estadisticas del indice de asociaciones",
+        description = "Retorna la cantidad de asociaciones del indice en memoria y la memoria estimada que ocupa (total y por millon de asociaciones). " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @GetMapping("/membership/stats")
+    public ResponseEntity<MembershipIndexStatsResponse> getMembershipIndexStats() {
+        MembershipIndexStatsResponse response = accountUserService.getMembershipIndexStats();
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Obtener usuarios de una cuenta",
         description = "Retorna la lista de usuarios asociados a una cuenta, incluyendo sus roles asignados. " +
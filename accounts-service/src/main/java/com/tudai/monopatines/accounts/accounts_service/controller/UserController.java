@@ -1,16 +1,25 @@
 package com.tudai.monopatines.accounts.accounts_service.controller;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.UpdateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserSearchResponse;
+import com.tudai.monopatines.accounts.accounts_service.service.BulkImportService;
 import com.tudai.monopatines.accounts.accounts_service.service.UserService;
+import com.tudai.monopatines.accounts.accounts_service.util.ImportRecordReader;
+import com.tudai.monopatines.accounts.accounts_service.util.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,9 +28,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final BulkImportService bulkImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, BulkImportService bulkImportService) {
         this.userService = userService;
+        this.bulkImportService = bulkImportService;
     }
 
     @Operation(
@@ -36,15 +47,44 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+        summary = "Importar usuarios masivamente",
+        description = "Importa usuarios en streaming desde un archivo CSV (text/csv) o NDJSON (application/x-ndjson) con los campos firstName, lastName, email, phoneNumber y password (hasheado). " +
+                "Se procesa en chunks con INSERT batch y se asigna ROLE_USER a cada usuario. Las filas invalidas o con email existente se informan en la respuesta. " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResponse> importUsers(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body) {
+        ImportResponse response = bulkImportService.importUsers(body, ImportRecordReader.Format.fromContentType(contentType));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Obtener usuario por ID",
         description = "Obtiene los datos de un usuario incluyendo sus roles asignados. " +
+                "La respuesta incluye un ETag con la version del usuario (que cambia tambien al asignar o quitar roles) y el formato de la respuesta; " +
+                "si el header If-None-Match lo incluye, responde 304 sin cuerpo. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType representation = VersionETag.representation(accept);
+        if (ifNoneMatch != null) {
+            long version = userService.getUserVersion(id);
+            if (VersionETag.matches(ifNoneMatch, VersionETag.of(version, representation))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(VersionETag.of(version, representation))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
         UserResponse response = userService.getUserById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion(), representation)).body(response);
     }
 
     @Operation(
@@ -52,12 +92,25 @@ public class UserController {
         description = "Obtiene los datos de un usuario por su email (unico en el sistema) incluyendo sus roles. " +
                 "Roles requeridos: ROLE_ADMIN."
     )
+    // Sin params: el GET sin email sigue llegando a este handler (?ids= tiene su propio mapping)
     @GetMapping
     public ResponseEntity<UserResponse> getUserByEmail(@RequestParam String email) {
         UserResponse response = userService.getUserByEmail(email);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener varios usuarios por ID",
+        description = "Retorna los usuarios cuyos IDs se indican en el parametro ids (ej: ?ids=1,2,3), en el orden solicitado, incluyendo sus roles. " +
+                "Los IDs inexistentes se omiten. La cantidad maxima de IDs por request es configurable (accounts.batch.max-size). " +
+                "Roles requeridos: ROLE_ADMIN."
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<UserResponse> response = userService.getUsersByIds(ids);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Obtener todos los usuarios",
         description = "Retorna la lista completa de usuarios del sistema, incluyendo sus roles asignados. " +
@@ -69,17 +122,52 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Buscar usuarios por prefijo",
+        description = "Retorna los usuarios cuyo email, nombre o apellido empieza con el prefijo q, sin distinguir mayusculas ni acentos. " +
+                "Se resuelve con un indice en memoria. Para obtener la pagina siguiente se envia nextCursor como cursor. " +
+                "El limite maximo es configurable (accounts.batch.max-size). " +
+                "Roles requeridos: ROLE_EMPLOYEE, ROLE_ADMIN."
+    )
+    @GetMapping("/search")
+    public ResponseEntity<UserSearchResponse> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        UserSearchResponse response = userService.searchUsers(q, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Actualizar usuario",
         description = "Actualiza los datos de un usuario existente. No incluye password (se cambia desde auth-service). " +
+                "Si se envia el header If-Match con el ETag del usuario y el usuario cambio, responde 412. " +
                 "Roles requeridos: ROLE_USER, ROLE_ADMIN."
     )
     @PutMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(
         @PathVariable Long id,
-        @Valid @RequestBody UpdateUserRequest request) {
-        UserResponse response = userService.updateUser(id, request);
-        return ResponseEntity.ok(response);
+        @Valid @RequestBody UpdateUserRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserResponse response = userService.updateUser(id, request, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
+    }
+
+    @Operation(
+        summary = "Modificar usuario parcialmente",
+        description = "Modifica solo los campos enviados (JSON Merge Patch): nombre, apellido, email y/o telefono. " +
+                "Los campos ausentes se conservan y un campo en null responde 400. " +
+                "La unicidad del email solo se verifica si cambia, y el UPDATE incluye solo las columnas modificadas. " +
+                "Si se envia el header If-Match con el ETag del usuario y el usuario cambio, responde 412. " +
+                "Roles requeridos: ROLE_USER, ROLE_ADMIN."
+    )
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserResponse> patchUser(
+        @PathVariable Long id,
+        @Valid @RequestBody UserPatchRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserResponse response = userService.patchUser(id, request, VersionETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(response.getVersion())).body(response);
     }
 
     @Operation(
@@ -0,0 +1,91 @@
+package com.tudai.monopatines.accounts.accounts_service.converter;
+
+import com.tudai.monopatines.accounts.accounts_service.util.ProtobufMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * HttpMessageConverter que escribe los DTOs de respuesta como protobuf (application/x-protobuf).
+ * 
+ * Se elige por negociación de contenido cuando el cliente envía Accept: application/x-protobuf.
+ * Solo escribe los DTOs con representación protobuf (ver ProtobufMapper): cuentas, saldos,
+ * usuarios, sus listas y páginas, asociaciones y errores. Los cuerpos de los requests se siguen
+ * leyendo como JSON.
+ * 
+ */
+public class ProtobufResponseHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * Media type de los cuerpos protobuf.
+     */
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ProtobufResponseHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProtobufMapper.isSupported(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Indica si se puede escribir el tipo declarado por el controller. Las listas se aceptan
+     * si su tipo de elemento tiene representación protobuf.
+     */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> resolved = resolvableType.resolve(clazz);
+        if (resolved != null && List.class.isAssignableFrom(resolved)) {
+            Class<?> elementType = resolvableType.asCollection().resolveGeneric(0);
+            return elementType != null && ProtobufMapper.isSupportedListElement(elementType);
+        }
+        return resolved != null && ProtobufMapper.isSupported(resolved);
+    }
+
+    /**
+     * Informa application/x-protobuf también para las listas: el tipo de sus elementos
+     * se verifica en canWrite, que recibe el tipo genérico declarado.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : super.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufMapper.toMessage(body).writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
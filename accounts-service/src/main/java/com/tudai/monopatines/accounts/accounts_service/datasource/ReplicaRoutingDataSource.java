@@ -0,0 +1,164 @@
+package com.tudai.monopatines.accounts.accounts_service.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource de solo lectura que reparte las conexiones entre un conjunto de réplicas.
+ * 
+ * Se usa como DataSource de lectura de un LazyConnectionDataSourceProxy: las transacciones
+ * readOnly obtienen sus conexiones de aquí y el resto del primario. Las réplicas se eligen
+ * en round-robin, salteando:
+ * - las que fallaron al entregar una conexión, durante un tiempo de espera configurable;
+ * - las que superan el retraso de replicación tolerado (si se configuró una consulta de lag).
+ * 
+ * Si ninguna réplica está disponible, la conexión se obtiene del primario.
+ * 
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final long failureCooldownMillis;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Constructor del DataSource.
+     * 
+     * @param primary DataSource primario, usado cuando no hay réplicas disponibles
+     * @param replicas DataSources de las réplicas por nombre
+     * @param maxLagSeconds Retraso de replicación máximo tolerado en segundos
+     * @param failureCooldownMillis Tiempo durante el que se saltea una réplica luego de un error de conexión
+     * @param lagQuery Consulta que devuelve el retraso de replicación en segundos (null o vacía para no medirlo)
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<NamedDataSource> replicas, long maxLagSeconds,
+                                    long failureCooldownMillis, String lagQuery) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        for (NamedDataSource replica : replicas) {
+            this.replicas.add(new Replica(replica.name(), replica.dataSource()));
+        }
+        this.maxLagSeconds = maxLagSeconds;
+        this.failureCooldownMillis = failureCooldownMillis;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    /**
+     * DataSource de una réplica junto con su nombre (para logs).
+     * 
+     * @param name Nombre de la réplica
+     * @param dataSource DataSource de la réplica
+     */
+    public record NamedDataSource(String name, DataSource dataSource) {
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isEligible(now, maxLagSeconds)) {
+                continue;
+            }
+            try {
+                return username == null
+                        ? replica.dataSource.getConnection()
+                        : replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                replica.markFailed(now + failureCooldownMillis);
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}",
+                        replica.name, failureCooldownMillis, e.getMessage());
+            }
+        }
+
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    /**
+     * Mide el retraso de replicación de cada réplica con la consulta configurada.
+     * 
+     * Las réplicas cuyo retraso no puede medirse (error o resultado nulo) quedan excluidas
+     * hasta la próxima medición exitosa. Sin consulta de lag configurada, no hace nada.
+     */
+    @Scheduled(fixedDelayString = "${accounts.datasource.replicas.lag-check-interval-ms:5000}")
+    public void refreshReplicationLag() {
+        if (lagQuery == null) {
+            return;
+        }
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lag = Long.MAX_VALUE;
+                if (resultSet.next()) {
+                    long value = resultSet.getLong(1);
+                    if (!resultSet.wasNull()) {
+                        lag = value;
+                    }
+                }
+                replica.lagSeconds = lag;
+            } catch (SQLException e) {
+                replica.lagSeconds = Long.MAX_VALUE;
+                log.warn("Could not measure replication lag of replica {}: {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cierra los pools de conexiones de las réplicas.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Estado de una réplica.
+     */
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long unavailableUntil;
+        private volatile long lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isEligible(long now, long maxLagSeconds) {
+            return now >= unavailableUntil && lagSeconds <= maxLagSeconds;
+        }
+
+        private void markFailed(long until) {
+            unavailableUntil = until;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) con los agregados de cuentas mantenidos en memoria.
+ * 
+ * Se utiliza en el endpoint GET /api/accounts/aggregates. Los valores se actualizan
+ * luego de cada operación confirmada y se reconcilian periódicamente contra la base de datos.
+ * 
+ */
+public class AccountAggregatesResponse {
+
+    /**
+     * Suma de los saldos de todas las cuentas.
+     */
+    private Double totalBalance;
+
+    /**
+     * Cantidad de cuentas activas.
+     */
+    private Long activeAccounts;
+
+    /**
+     * Cantidad de cuentas anuladas.
+     */
+    private Long cancelledAccounts;
+
+    /**
+     * Cantidad total de cuentas.
+     */
+    private Long totalAccounts;
+
+    /**
+     * Distribución de las cuentas por rango de saldo, en orden creciente.
+     */
+    private List<BalanceBucket> balanceBuckets;
+
+    /**
+     * Fecha y hora de la última reconciliación contra la base de datos (null si todavía no se realizó).
+     */
+    private LocalDateTime lastReconciledAt;
+
+    // Constructors
+    public AccountAggregatesResponse() {
+    }
+
+    // Getters and Setters
+    public Double getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(Double totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+
+    public Long getActiveAccounts() {
+        return activeAccounts;
+    }
+
+    public void setActiveAccounts(Long activeAccounts) {
+        this.activeAccounts = activeAccounts;
+    }
+
+    public Long getCancelledAccounts() {
+        return cancelledAccounts;
+    }
+
+    public void setCancelledAccounts(Long cancelledAccounts) {
+        this.cancelledAccounts = cancelledAccounts;
+    }
+
+    public Long getTotalAccounts() {
+        return totalAccounts;
+    }
+
+    public void setTotalAccounts(Long totalAccounts) {
+        this.totalAccounts = totalAccounts;
+    }
+
+    public List<BalanceBucket> getBalanceBuckets() {
+        return balanceBuckets;
+    }
+
+    public void setBalanceBuckets(List<BalanceBucket> balanceBuckets) {
+        this.balanceBuckets = balanceBuckets;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public void setLastReconciledAt(LocalDateTime lastReconciledAt) {
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    /**
+     * Rango de saldo con la cantidad de cuentas que contiene.
+     * El rango incluye los saldos mayores a from y menores o iguales a to.
+     */
+    public static class BalanceBucket {
+
+        /**
+         * Límite inferior (exclusivo) del rango, null para el primer rango.
+         */
+        private Double from;
+
+        /**
+         * Límite superior (inclusive) del rango, null para el último rango.
+         */
+        private Double to;
+
+        /**
+         * Cantidad de cuentas con saldo dentro del rango.
+         */
+        private Long accounts;
+
+        public BalanceBucket() {
+        }
+
+        public BalanceBucket(Double from, Double to, Long accounts) {
+            this.from = from;
+            this.to = to;
+            this.accounts = accounts;
+        }
+
+        public Double getFrom() {
+            return from;
+        }
+
+        public void setFrom(Double from) {
+            this.from = from;
+        }
+
+        public Double getTo() {
+            return to;
+        }
+
+        public void setTo(Double to) {
+            this.to = to;
+        }
+
+        public Long getAccounts() {
+            return accounts;
+        }
+
+        public void setAccounts(Long accounts) {
+            this.accounts = accounts;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para una página de cuentas con paginación keyset.
+ * 
+ * Se utiliza en el endpoint GET /api/accounts/page. Para obtener la página siguiente
+ * se envía nextAfterId como parámetro afterId.
+ * 
+ */
+public class AccountPageResponse {
+
+    /**
+     * Cuentas de la página, ordenadas por ID.
+     */
+    private List<AccountResponse> accounts;
+
+    /**
+     * ID a enviar como afterId para obtener la página siguiente (null si no hay más cuentas).
+     */
+    private Long nextAfterId;
+
+    /**
+     * Indica si hay más cuentas luego de esta página.
+     */
+    private boolean hasMore;
+
+    // Constructors
+    public AccountPageResponse() {
+    }
+
+    public AccountPageResponse(List<AccountResponse> accounts, Long nextAfterId, boolean hasMore) {
+        this.accounts = accounts;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<AccountResponse> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountResponse> accounts) {
+        this.accounts = accounts;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO (Data Transfer Object) para modificar parcialmente una cuenta (JSON Merge Patch, RFC 7396).
+ * 
+ * Se utiliza en el endpoint PATCH. Solo se modifican los campos presentes en el body;
+ * los campos ausentes quedan en null y conservan su valor actual. Como ningún campo de la
+ * cuenta puede quedar vacío, enviar un campo en null (que en merge patch significa eliminarlo)
+ * se rechaza al leer el body.
+ * 
+ */
+public class AccountPatchRequest {
+
+    /**
+     * Nuevo número identificatorio de la cuenta.
+     * Debe ser único en el sistema; solo se verifica si cambia.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Identification number cannot be blank")
+    private String identificationNumber;
+
+    /**
+     * Nuevo ID de la cuenta de Mercado Pago asociada.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Mercado Pago account ID cannot be blank")
+    private String mercadoPagoAccountId;
+
+    /**
+     * Nuevo saldo de la cuenta.
+     * Debe ser un valor positivo o cero (no puede ser negativo).
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @PositiveOrZero(message = "Current balance cannot be negative")
+    private Double currentBalance;
+
+    // Constructors
+    public AccountPatchRequest() {
+    }
+
+    public AccountPatchRequest(String identificationNumber, String mercadoPagoAccountId, Double currentBalance) {
+        this.identificationNumber = identificationNumber;
+        this.mercadoPagoAccountId = mercadoPagoAccountId;
+        this.currentBalance = currentBalance;
+    }
+
+    // Getters and Setters
+    public String getIdentificationNumber() {
+        return identificationNumber;
+    }
+
+    public void setIdentificationNumber(String identificationNumber) {
+        this.identificationNumber = identificationNumber;
+    }
+
+    public String getMercadoPagoAccountId() {
+        return mercadoPagoAccountId;
+    }
+
+    public void setMercadoPagoAccountId(String mercadoPagoAccountId) {
+        this.mercadoPagoAccountId = mercadoPagoAccountId;
+    }
+
+    public Double getCurrentBalance() {
+        return currentBalance;
+    }
+
+    public void setCurrentBalance(Double currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+}
@@ -48,12 +48,18 @@ public class AccountResponse {
      */
     private LocalDateTime cancelledAt;
 
+    /**
+     * Versión de la cuenta (se envía también como ETag).
+     */
+    private Long version;
+
     // Constructors
     public AccountResponse() {
     }
 
     public AccountResponse(Long id, String identificationNumber, String mercadoPagoAccountId,
-                          Double currentBalance, Boolean active, LocalDateTime createdAt, LocalDateTime cancelledAt) {
+                          Double currentBalance, Boolean active, LocalDateTime createdAt, LocalDateTime cancelledAt,
+                          Long version) {
         this.id = id;
         this.identificationNumber = identificationNumber;
         this.mercadoPagoAccountId = mercadoPagoAccountId;
@@ -61,6 +67,7 @@ public class AccountResponse {
         this.active = active;
         this.createdAt = createdAt;
         this.cancelledAt = cancelledAt;
+        this.version = version;
     }
 
     // Getters and Setters
@@ -119,5 +126,13 @@ public class AccountResponse {
     public void setCancelledAt(LocalDateTime cancelledAt) {
         this.cancelledAt = cancelledAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
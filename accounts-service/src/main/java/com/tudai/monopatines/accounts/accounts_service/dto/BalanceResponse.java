@@ -20,6 +20,11 @@ public class BalanceResponse {
      */
     private Double currentBalance;
 
+    /**
+     * Versión de la cuenta (se envía también como ETag).
+     */
+    private Long version;
+
     // Constructors
     public BalanceResponse() {
     }
@@ -29,6 +34,11 @@ public class BalanceResponse {
         this.currentBalance = currentBalance;
     }
 
+    public BalanceResponse(Long accountId, Double currentBalance, Long version) {
+        this(accountId, currentBalance);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getAccountId() {
         return accountId;
@@ -45,5 +55,13 @@ public class BalanceResponse {
     public void setCurrentBalance(Double currentBalance) {
         this.currentBalance = currentBalance;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
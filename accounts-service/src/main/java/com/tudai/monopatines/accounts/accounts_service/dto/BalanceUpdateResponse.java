@@ -0,0 +1,61 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+/**
+ * DTO (Data Transfer Object) con el saldo y el estado de una cuenta.
+ * 
+ * Se utiliza en el stream GET /api/accounts/{id}/balance/stream: se envía uno al conectarse
+ * y uno por cada cambio de saldo o de estado de la cuenta.
+ * 
+ */
+public class BalanceUpdateResponse {
+
+    /**
+     * ID de la cuenta.
+     */
+    private Long accountId;
+
+    /**
+     * Saldo actual de la cuenta.
+     */
+    private Double currentBalance;
+
+    /**
+     * Estado de la cuenta (true si está activa, false si está anulada).
+     */
+    private Boolean active;
+
+    // Constructors
+    public BalanceUpdateResponse() {
+    }
+
+    public BalanceUpdateResponse(Long accountId, Double currentBalance, Boolean active) {
+        this.accountId = accountId;
+        this.currentBalance = currentBalance;
+        this.active = active;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Double getCurrentBalance() {
+        return currentBalance;
+    }
+
+    public void setCurrentBalance(Double currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para asociar varios usuarios a una cuenta en una sola operación.
+ * 
+ * Se utiliza en el endpoint POST /api/accounts/{accountId}/users para recibir
+ * la lista de IDs de usuarios a asociar (por ejemplo, al dar de alta una cuenta
+ * familiar o corporativa).
+ * 
+ */
+public class BulkAssociationRequest {
+
+    /**
+     * IDs de los usuarios a asociar a la cuenta.
+     * No puede ser null ni estar vacía. Los IDs repetidos se procesan una sola vez.
+     */
+    @NotEmpty(message = "User IDs are required")
+    private List<@NotNull(message = "User ID cannot be null") Long> userIds;
+
+    // Constructors
+    public BulkAssociationRequest() {
+    }
+
+    public BulkAssociationRequest(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+}
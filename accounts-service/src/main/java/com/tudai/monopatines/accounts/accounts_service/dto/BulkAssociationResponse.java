@@ -0,0 +1,110 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para la respuesta de una asociación masiva de usuarios a una cuenta.
+ * 
+ * Incluye el resultado individual de cada usuario solicitado (en el orden del request)
+ * y los totales por resultado.
+ * 
+ */
+public class BulkAssociationResponse {
+
+    /**
+     * ID de la cuenta a la que se asociaron los usuarios.
+     */
+    private Long accountId;
+
+    /**
+     * Fecha y hora de las asociaciones creadas.
+     */
+    private LocalDateTime associatedAt;
+
+    /**
+     * Cantidad de usuarios asociados en esta operación.
+     */
+    private int associatedCount;
+
+    /**
+     * Cantidad de usuarios que ya estaban asociados a la cuenta.
+     */
+    private int alreadyAssociatedCount;
+
+    /**
+     * Cantidad de IDs que no corresponden a un usuario existente.
+     */
+    private int notFoundCount;
+
+    /**
+     * Resultado individual de cada usuario solicitado.
+     */
+    private List<BulkAssociationResult> results;
+
+    /**
+     * Mensaje descriptivo sobre la operación realizada.
+     */
+    private String message;
+
+    // Constructors
+    public BulkAssociationResponse() {
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDateTime getAssociatedAt() {
+        return associatedAt;
+    }
+
+    public void setAssociatedAt(LocalDateTime associatedAt) {
+        this.associatedAt = associatedAt;
+    }
+
+    public int getAssociatedCount() {
+        return associatedCount;
+    }
+
+    public void setAssociatedCount(int associatedCount) {
+        this.associatedCount = associatedCount;
+    }
+
+    public int getAlreadyAssociatedCount() {
+        return alreadyAssociatedCount;
+    }
+
+    public void setAlreadyAssociatedCount(int alreadyAssociatedCount) {
+        this.alreadyAssociatedCount = alreadyAssociatedCount;
+    }
+
+    public int getNotFoundCount() {
+        return notFoundCount;
+    }
+
+    public void setNotFoundCount(int notFoundCount) {
+        this.notFoundCount = notFoundCount;
+    }
+
+    public List<BulkAssociationResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkAssociationResult> results) {
+        this.results = results;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de asociar un usuario dentro de una
+ * asociación masiva.
+ * 
+ */
+public class BulkAssociationResult {
+
+    /**
+     * Resultado posible de la asociación de un usuario.
+     */
+    public enum Status {
+        /** El usuario fue asociado a la cuenta. */
+        ASSOCIATED,
+        /** El usuario ya estaba asociado a la cuenta; no se modificó nada. */
+        ALREADY_ASSOCIATED,
+        /** No existe un usuario con el ID indicado. */
+        USER_NOT_FOUND
+    }
+
+    /**
+     * ID del usuario.
+     */
+    private Long userId;
+
+    /**
+     * Resultado de la asociación para este usuario.
+     */
+    private Status status;
+
+    // Constructors
+    public BulkAssociationResult() {
+    }
+
+    public BulkAssociationResult(Long userId, Status status) {
+        this.userId = userId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,122 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para la respuesta de una importación masiva de cuentas o usuarios.
+ * 
+ * Informa los totales de la importación, el tiempo que llevó y la tasa de filas por segundo
+ * (para compararla con el alta de a una fila por vez), junto con el detalle de las filas rechazadas.
+ * 
+ */
+public class ImportResponse {
+
+    /**
+     * Cantidad de filas leídas del archivo (sin contar el encabezado ni líneas vacías).
+     */
+    private long processedRows;
+
+    /**
+     * Cantidad de filas insertadas.
+     */
+    private long importedRows;
+
+    /**
+     * Cantidad de filas rechazadas.
+     */
+    private long failedRows;
+
+    /**
+     * Cantidad de chunks confirmados (cada chunk se confirma en su propia transacción).
+     */
+    private int committedChunks;
+
+    /**
+     * Tiempo total de la importación en milisegundos.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Filas procesadas por segundo.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * Detalle de las filas rechazadas (limitado a la cantidad máxima configurada).
+     */
+    private List<ImportRowError> errors;
+
+    /**
+     * Indica si se omitieron errores del detalle por superar la cantidad máxima configurada.
+     */
+    private boolean errorsTruncated;
+
+    // Constructors
+    public ImportResponse() {
+    }
+
+    // Getters and Setters
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+/**
+ * DTO (Data Transfer Object) con el error de una fila rechazada en una importación masiva.
+ * 
+ */
+public class ImportRowError {
+
+    /**
+     * Número de línea de la fila en el archivo importado (comenzando en 1).
+     */
+    private long line;
+
+    /**
+     * Clave única de la fila (número identificatorio o email), si pudo leerse.
+     */
+    private String key;
+
+    /**
+     * Motivo por el que se rechazó la fila.
+     */
+    private String message;
+
+    // Constructors
+    public ImportRowError() {
+    }
+
+    public ImportRowError(long line, String key, String message) {
+        this.line = line;
+        this.key = key;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+/**
+ * DTO (Data Transfer Object) con las estadísticas del índice en memoria de asociaciones cuenta-usuario.
+ * 
+ * Se utiliza en el endpoint de estadísticas del índice para informar cuántas asociaciones
+ * contiene y cuánta memoria ocupa aproximadamente.
+ * 
+ */
+public class MembershipIndexStatsResponse {
+
+    /**
+     * Indica si la carga inicial del índice terminó.
+     */
+    private Boolean loaded;
+
+    /**
+     * Cantidad de asociaciones cuenta-usuario en el índice.
+     */
+    private Long associations;
+
+    /**
+     * Cantidad de cuentas con al menos un usuario asociado.
+     */
+    private Long accounts;
+
+    /**
+     * Cantidad de usuarios asociados a al menos una cuenta.
+     */
+    private Long users;
+
+    /**
+     * Memoria estimada ocupada por el índice, en bytes.
+     */
+    private Long estimatedBytes;
+
+    /**
+     * Memoria estimada por cada millón de asociaciones, en bytes.
+     */
+    private Long estimatedBytesPerMillionAssociations;
+
+    // Constructors
+    public MembershipIndexStatsResponse() {
+    }
+
+    // Getters and Setters
+    public Boolean getLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(Boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    public Long getAssociations() {
+        return associations;
+    }
+
+    public void setAssociations(Long associations) {
+        this.associations = associations;
+    }
+
+    public Long getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(Long accounts) {
+        this.accounts = accounts;
+    }
+
+    public Long getUsers() {
+        return users;
+    }
+
+    public void setUsers(Long users) {
+        this.users = users;
+    }
+
+    public Long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(Long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public Long getEstimatedBytesPerMillionAssociations() {
+        return estimatedBytesPerMillionAssociations;
+    }
+
+    public void setEstimatedBytesPerMillionAssociations(Long estimatedBytesPerMillionAssociations) {
+        this.estimatedBytesPerMillionAssociations = estimatedBytesPerMillionAssociations;
+    }
+}
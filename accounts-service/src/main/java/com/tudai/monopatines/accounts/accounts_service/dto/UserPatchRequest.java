@@ -0,0 +1,92 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO (Data Transfer Object) para modificar parcialmente un usuario (JSON Merge Patch, RFC 7396).
+ * 
+ * Se utiliza en el endpoint PATCH. Solo se modifican los campos presentes en el body;
+ * los campos ausentes quedan en null y conservan su valor actual. Enviar un campo en null
+ * se rechaza al leer el body, porque ningún campo del usuario puede quedar vacío.
+ * No incluye password porque la password se cambia desde auth-service.
+ * 
+ */
+public class UserPatchRequest {
+
+    /**
+     * Nuevo nombre del usuario.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "First name cannot be blank")
+    private String firstName;
+
+    /**
+     * Nuevo apellido del usuario.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Last name cannot be blank")
+    private String lastName;
+
+    /**
+     * Nuevo email del usuario.
+     * Debe ser único en el sistema (solo se verifica si cambia) y tener un formato de email válido.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Email cannot be blank")
+    @Email(message = "Email must be valid")
+    private String email;
+
+    /**
+     * Nuevo número de teléfono del usuario.
+     */
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Phone number cannot be blank")
+    private String phoneNumber;
+
+    // Constructors
+    public UserPatchRequest() {
+    }
+
+    public UserPatchRequest(String firstName, String lastName, String email, String phoneNumber) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+    }
+
+    // Getters and Setters
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+}
@@ -51,6 +51,11 @@ public class UserResponse {
      */
     private List<String> roles;
 
+    /**
+     * Versión del usuario (se envía también como ETag).
+     */
+    private Long version;
+
     // Constructors
     public UserResponse() {
     }
@@ -65,6 +70,12 @@ public class UserResponse {
         this.createdAt = createdAt;
     }
 
+    public UserResponse(Long id, String firstName, String lastName, String email, 
+                       String phoneNumber, LocalDateTime createdAt, Long version) {
+        this(id, firstName, lastName, email, phoneNumber, createdAt);
+        this.version = version;
+    }
+
     public UserResponse(Long id, String firstName, String lastName, String email, 
                        String phoneNumber, LocalDateTime createdAt, List<String> roles) {
         this(id, firstName, lastName, email, phoneNumber, createdAt);
@@ -127,5 +138,13 @@ public class UserResponse {
     public void setRoles(List<String> roles) {
         this.roles = roles;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
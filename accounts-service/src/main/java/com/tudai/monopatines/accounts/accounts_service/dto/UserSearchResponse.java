@@ -0,0 +1,63 @@
+package com.tudai.monopatines.accounts.accounts_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para una página de resultados de la búsqueda de usuarios por prefijo.
+ * 
+ * Se utiliza en el endpoint GET /api/accounts/users/search. Para obtener la página siguiente
+ * se envía nextCursor como parámetro cursor.
+ * 
+ */
+public class UserSearchResponse {
+
+    /**
+     * Usuarios encontrados, con sus roles.
+     */
+    private List<UserResponse> users;
+
+    /**
+     * Cursor a enviar para obtener la página siguiente (null si no hay más resultados).
+     */
+    private String nextCursor;
+
+    /**
+     * Indica si hay más resultados luego de esta página.
+     */
+    private boolean hasMore;
+
+    // Constructors
+    public UserSearchResponse() {
+    }
+
+    public UserSearchResponse(List<UserResponse> users, String nextCursor, boolean hasMore) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserResponse> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
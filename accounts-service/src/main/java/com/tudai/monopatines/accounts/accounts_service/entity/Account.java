@@ -3,6 +3,7 @@ package com.tudai.monopatines.accounts.accounts_service.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -11,8 +12,12 @@ import java.time.LocalDateTime;
  * Una cuenta está asociada a una cuenta de Mercado Pago y puede tener
  * varios usuarios asociados que utilizarán los créditos cargados en la cuenta.
  * 
+ * Los UPDATE se generan con @DynamicUpdate: incluyen solo las columnas modificadas
+ * (además de la versión), en lugar de reescribir toda la fila.
+ * 
  */
 @Entity
+@DynamicUpdate
 @Table(name = "accounts")
 public class Account {
 
@@ -67,6 +72,14 @@ public class Account {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
 
+    /**
+     * Versión de la cuenta, incrementada en cada actualización (control de concurrencia optimista).
+     * Respalda los ETag de la cuenta y su saldo.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Account() {
         this.active = true;
@@ -137,6 +150,10 @@ public class Account {
         this.cancelledAt = cancelledAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Anula la cuenta, estableciendo la fecha de anulación y marcándola como inactiva.
      */
@@ -0,0 +1,121 @@
+package com.tudai.monopatines.accounts.accounts_service.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una cuenta anulada movida al archivo (tabla accounts_archive).
+ * 
+ * Las filas las escribe AccountArchiver con SQL y conservan el ID que tenía la cuenta
+ * en la tabla accounts. La entidad es de solo lectura: se utiliza para resolver las
+ * lecturas por ID de cuentas que ya no están en la tabla principal.
+ * 
+ */
+@Entity
+@Immutable
+@Table(name = "accounts_archive")
+public class ArchivedAccount {
+
+    @Id
+    private Long id;
+
+    /**
+     * Número identificatorio único de la cuenta del servicio.
+     */
+    @Column(name = "identification_number", unique = true, nullable = false)
+    private String identificationNumber;
+
+    /**
+     * ID de la cuenta de Mercado Pago asociada.
+     */
+    @Column(name = "mercado_pago_account_id", nullable = false)
+    private String mercadoPagoAccountId;
+
+    /**
+     * Saldo que tenía la cuenta al ser archivada.
+     */
+    @Column(name = "current_balance", nullable = false)
+    private Double currentBalance;
+
+    /**
+     * Estado de la cuenta (siempre false: solo se archivan cuentas anuladas).
+     */
+    @Column(name = "active", nullable = false)
+    private Boolean active;
+
+    /**
+     * Fecha y hora de alta de la cuenta en el sistema.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora de anulación de la cuenta.
+     */
+    @Column(name = "cancelled_at")
+    private LocalDateTime cancelledAt;
+
+    /**
+     * Fecha y hora en que la cuenta se movió al archivo.
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Versión que tenía la cuenta al archivarse.
+     */
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Constructors
+    protected ArchivedAccount() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getIdentificationNumber() {
+        return identificationNumber;
+    }
+
+    public String getMercadoPagoAccountId() {
+        return mercadoPagoAccountId;
+    }
+
+    public Double getCurrentBalance() {
+        return currentBalance;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedAccount{" +
+                "id=" + id +
+                ", identificationNumber='" + identificationNumber + '\'' +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
@@ -2,6 +2,8 @@ package com.tudai.monopatines.accounts.accounts_service.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa un rol del sistema.
@@ -10,9 +12,14 @@ import jakarta.validation.constraints.NotBlank;
  * Un usuario puede tener múltiples roles, y un rol puede estar
  * asignado a múltiples usuarios (relación many-to-many).
  * 
+ * Se guarda en la cache de segundo nivel (ver ehcache.xml): los roles casi nunca cambian
+ * y se leen en cada alta de usuario y asignación de roles.
+ * 
  */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Role {
 
     @Id
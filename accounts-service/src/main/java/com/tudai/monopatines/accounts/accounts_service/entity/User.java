@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -12,8 +13,12 @@ import java.time.LocalDateTime;
  * Un usuario puede estar asociado a varias cuentas y utilizar los
  * créditos cargados en cualquiera de las cuentas a las que pertenece.
  * 
+ * Con @DynamicUpdate, al modificar un usuario el UPDATE escribe solo las columnas que
+ * cambiaron y la versión.
+ * 
  */
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User {
 
@@ -55,7 +60,10 @@ public class User {
      * Contraseña del usuario (hasheada con BCrypt).
      * Se utiliza para autenticación en el auth-service.
      * Se guarda en la base de datos pero el hasheo se maneja en auth-service.
+     * Es un atributo lazy (requiere bytecode enhancement): no se lee al cargar el usuario,
+     * solo cuando se accede a él; el gRPC de login lo obtiene con UserRepository.findPasswordById/ByEmail.
      */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "password")
     private String password;
 
@@ -66,6 +74,14 @@ public class User {
     @NotNull(message = "La fecha de alta es requerida")
     private LocalDateTime createdAt;
 
+    /**
+     * Versión del usuario, incrementada en cada actualización y en cada cambio de roles
+     * (control de concurrencia optimista). Respalda el ETag del usuario.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public User() {
         this.createdAt = LocalDateTime.now();
@@ -133,6 +149,10 @@ public class User {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getPassword() {
         return password;
     }
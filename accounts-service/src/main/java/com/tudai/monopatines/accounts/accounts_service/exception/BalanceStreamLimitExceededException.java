@@ -0,0 +1,13 @@
+package com.tudai.monopatines.accounts.accounts_service.exception;
+
+/**
+ * Excepción lanzada cuando se abre un stream de saldo y la instancia ya tiene
+ * accounts.balance-stream.max-connections streams abiertos.
+ * 
+ */
+public class BalanceStreamLimitExceededException extends RuntimeException {
+    
+    public BalanceStreamLimitExceededException(int maxConnections) {
+        super("Balance stream limit reached (" + maxConnections + " open streams)");
+    }
+}
@@ -0,0 +1,16 @@
+package com.tudai.monopatines.accounts.accounts_service.exception;
+
+/**
+ * Excepción lanzada cuando una consulta batch solicita más IDs que el máximo permitido.
+ * 
+ */
+public class BatchSizeExceededException extends RuntimeException {
+    
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+    
+    public BatchSizeExceededException(int requestedSize, int maxBatchSize) {
+        super("Batch size " + requestedSize + " exceeds the maximum allowed of " + maxBatchSize);
+    }
+}
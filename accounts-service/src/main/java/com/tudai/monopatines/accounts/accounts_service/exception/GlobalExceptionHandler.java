@@ -1,8 +1,14 @@
 package com.tudai.monopatines.accounts.accounts_service.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tudai.monopatines.accounts.accounts_service.util.VersionETag;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -128,6 +134,162 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja excepciones de tipo BatchSizeExceededException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando una consulta batch supera el máximo de IDs permitido.
+     * 
+     * @param ex Excepción de tamaño de batch excedido
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBatchSizeExceededException(BatchSizeExceededException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Batch Size Exceeded",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones de tipo IllegalArgumentException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando un parámetro del request es inválido
+     * (por ejemplo, un cursor de búsqueda que no corresponde al prefijo).
+     * 
+     * @param ex Excepción de argumento inválido
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones de tipo SearchIndexUnavailableException.
+     * Retorna una respuesta HTTP 503 (Service Unavailable) mientras el índice de búsqueda se está cargando.
+     * 
+     * @param ex Excepción de índice de búsqueda no disponible
+     * @return ResponseEntity con código HTTP 503 y mensaje de error
+     */
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSearchIndexUnavailableException(SearchIndexUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Search Index Unavailable",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones de tipo BalanceStreamLimitExceededException.
+     * Retorna una respuesta HTTP 503 (Service Unavailable) cuando la instancia no acepta más streams de saldo.
+     * 
+     * @param ex Excepción de límite de streams alcanzado
+     * @return ResponseEntity con código HTTP 503 y mensaje de error
+     */
+    @ExceptionHandler(BalanceStreamLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceStreamLimitExceededException(BalanceStreamLimitExceededException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Balance Stream Limit Exceeded",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones de tipo VersionMismatchException.
+     * Retorna una respuesta HTTP 412 (Precondition Failed) cuando el If-Match de una actualización
+     * no corresponde a la versión actual, con el ETag de la versión actual.
+     * 
+     * @param ex Excepción de versión distinta a la esperada
+     * @return ResponseEntity con código HTTP 412 y mensaje de error
+     */
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatchException(VersionMismatchException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(VersionETag.of(ex.getCurrentVersion()))
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones de tipo OptimisticLockingFailureException.
+     * Retorna una respuesta HTTP 409 (Conflict) cuando otra transacción modificó el mismo recurso
+     * entre la lectura y la escritura (la versión de la fila cambió). El cliente puede reintentar.
+     * 
+     * @param ex Excepción de bloqueo optimista
+     * @return ResponseEntity con código HTTP 409 y mensaje de error
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                "The resource was modified by another request, retry the operation"
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja excepciones de tipo HttpMediaTypeNotAcceptableException.
+     * Retorna una respuesta HTTP 406 (Not Acceptable) sin cuerpo cuando la respuesta no tiene
+     * representación en ninguno de los formatos del header Accept (por ejemplo, application/x-protobuf
+     * en un endpoint sin mensaje protobuf). No se envía cuerpo porque tampoco se podría escribir
+     * en el formato pedido.
+     * 
+     * @param ex Excepción de formato no aceptable
+     * @return ResponseEntity con código HTTP 406
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    /**
+     * Maneja excepciones de tipo HttpMessageNotReadableException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando el body no se puede leer: JSON mal formado,
+     * tipos incorrectos o un campo en null en un merge patch (los campos de cuentas y usuarios
+     * no se pueden eliminar).
+     * 
+     * @param ex Excepción de body ilegible
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        // Mensaje de Jackson sin la ubicación dentro del body
+        String detail = ex.getMostSpecificCause() instanceof JsonProcessingException jsonException
+                ? jsonException.getOriginalMessage()
+                : ex.getMostSpecificCause().getMessage();
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Malformed request body: " + detail
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Maneja excepciones de validación de Spring (MethodArgumentNotValidException).
      * Retorna una respuesta HTTP 400 (Bad Request) con detalles de los errores de validación.
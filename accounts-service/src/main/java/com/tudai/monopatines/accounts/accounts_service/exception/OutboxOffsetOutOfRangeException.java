@@ -0,0 +1,13 @@
+package com.tudai.monopatines.accounts.accounts_service.exception;
+
+/**
+ * Excepción lanzada cuando un suscriptor pide retomar el stream de eventos desde un offset
+ * cuyos eventos siguientes ya se eliminaron del outbox (retención vencida).
+ * 
+ */
+public class OutboxOffsetOutOfRangeException extends RuntimeException {
+
+    public OutboxOffsetOutOfRangeException(long requestedOffset, long oldestOffset) {
+        super("Events after offset " + requestedOffset + " are no longer available (oldest offset: " + oldestOffset + ")");
+    }
+}
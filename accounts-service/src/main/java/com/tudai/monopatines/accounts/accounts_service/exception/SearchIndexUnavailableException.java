@@ -0,0 +1,13 @@
+package com.tudai.monopatines.accounts.accounts_service.exception;
+
+/**
+ * Excepción lanzada cuando se realiza una búsqueda antes de que termine la carga inicial
+ * del índice de búsqueda en memoria.
+ * 
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+    
+    public SearchIndexUnavailableException(String message) {
+        super(message);
+    }
+}
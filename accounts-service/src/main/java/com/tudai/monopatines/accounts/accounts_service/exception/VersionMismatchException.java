@@ -0,0 +1,20 @@
+package com.tudai.monopatines.accounts.accounts_service.exception;
+
+/**
+ * Excepción lanzada cuando una actualización condicional (If-Match) indica una versión
+ * distinta de la versión actual del recurso.
+ * 
+ */
+public class VersionMismatchException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionMismatchException(String resource, Long id, long expectedVersion, long currentVersion) {
+        super(resource + " with id " + id + " has version " + currentVersion + " (expected " + expectedVersion + ")");
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,333 @@
+package com.tudai.monopatines.accounts.accounts_service.grpc;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_service.exception.AccountInactiveException;
+import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.InsufficientBalanceException;
+import com.tudai.monopatines.accounts.accounts_service.exception.OutboxOffsetOutOfRangeException;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxEvent;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxRelay;
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.repository.ArchivedAccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountUserService;
+import com.tudai.monopatines.accounts.grpc.AccountActiveResponse;
+import com.tudai.monopatines.accounts.grpc.AccountBalanceResponse;
+import com.tudai.monopatines.accounts.grpc.AccountEvent;
+import com.tudai.monopatines.accounts.grpc.AccountEventBatch;
+import com.tudai.monopatines.accounts.grpc.AccountEventType;
+import com.tudai.monopatines.accounts.grpc.AccountIdRequest;
+import com.tudai.monopatines.accounts.grpc.AccountServiceGrpc;
+import com.tudai.monopatines.accounts.grpc.AccountStatus;
+import com.tudai.monopatines.accounts.grpc.CheckAccountsRequest;
+import com.tudai.monopatines.accounts.grpc.CheckAccountsResponse;
+import com.tudai.monopatines.accounts.grpc.DeductBalanceRequest;
+import com.tudai.monopatines.accounts.grpc.DeductBalanceResult;
+import com.tudai.monopatines.accounts.grpc.DeductBalancesRequest;
+import com.tudai.monopatines.accounts.grpc.DeductBalancesResponse;
+import com.tudai.monopatines.accounts.grpc.DeductStatus;
+import com.tudai.monopatines.accounts.grpc.MembershipRequest;
+import com.tudai.monopatines.accounts.grpc.MembershipResponse;
+import com.tudai.monopatines.accounts.grpc.WatchAccountsRequest;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Implementacion del servidor gRPC para operaciones de saldo y estado de cuentas.
+ * Expone isAccountActive, getBalance y deductBalance de AccountService mediante gRPC,
+ * junto con variantes batch que resuelven varias cuentas en una sola llamada,
+ * para comunicacion interna entre microservicios (no expuestos publicamente).
+ * Ademas publica los cambios de cuentas del outbox como stream (WatchAccounts).
+ *
+ */
+@GrpcService
+public class AccountServiceGrpcImpl extends AccountServiceGrpc.AccountServiceImplBase {
+
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+    private final ArchivedAccountRepository archivedAccountRepository;
+    private final AccountUserService accountUserService;
+    private final OutboxRelay outboxRelay;
+    private final int maxPendingBatches;
+
+    public AccountServiceGrpcImpl(AccountService accountService, AccountRepository accountRepository,
+                                  ArchivedAccountRepository archivedAccountRepository,
+                                  AccountUserService accountUserService,
+                                  OutboxRelay outboxRelay,
+                                  @Value("${accounts.outbox.max-pending-batches:100}") int maxPendingBatches) {
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+        this.archivedAccountRepository = archivedAccountRepository;
+        this.accountUserService = accountUserService;
+        this.outboxRelay = outboxRelay;
+        this.maxPendingBatches = maxPendingBatches;
+    }
+
+    @Override
+    public void isAccountActive(AccountIdRequest request, StreamObserver<AccountActiveResponse> responseObserver) {
+        try {
+            boolean active = accountService.isAccountActive(request.getAccountId());
+
+            responseObserver.onNext(AccountActiveResponse.newBuilder()
+                    .setAccountId(request.getAccountId())
+                    .setActive(active)
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void getBalance(AccountIdRequest request, StreamObserver<AccountBalanceResponse> responseObserver) {
+        try {
+            BalanceResponse balance = accountService.getBalance(request.getAccountId());
+
+            responseObserver.onNext(AccountBalanceResponse.newBuilder()
+                    .setAccountId(balance.getAccountId())
+                    .setCurrentBalance(balance.getCurrentBalance())
+                    .setVersion(balance.getVersion())
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void deductBalance(DeductBalanceRequest request, StreamObserver<AccountBalanceResponse> responseObserver) {
+        try {
+            BalanceResponse balance = accountService.deductBalance(request.getAccountId(), request.getAmount());
+
+            responseObserver.onNext(AccountBalanceResponse.newBuilder()
+                    .setAccountId(balance.getAccountId())
+                    .setCurrentBalance(balance.getCurrentBalance())
+                    .setVersion(balance.getVersion())
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Verifica varias cuentas en una sola llamada.
+     * Todas las cuentas se resuelven con una unica consulta (proyeccion, sin cargar entidades);
+     * las que no estan en la tabla principal se buscan en el archivo con una segunda consulta.
+     * Las cuentas inexistentes se informan con found = false.
+     */
+    @Override
+    public void checkAccounts(CheckAccountsRequest request, StreamObserver<CheckAccountsResponse> responseObserver) {
+        try {
+            Map<Long, AccountResponse> accountsById = new HashMap<>();
+            if (request.getAccountIdsCount() > 0) {
+                for (AccountResponse account : accountRepository.findResponsesByIdIn(request.getAccountIdsList())) {
+                    accountsById.put(account.getId(), account);
+                }
+                List<Long> missingIds = request.getAccountIdsList().stream()
+                        .filter(id -> !accountsById.containsKey(id))
+                        .distinct()
+                        .toList();
+                if (!missingIds.isEmpty()) {
+                    for (AccountResponse account : archivedAccountRepository.findResponsesByIdIn(missingIds)) {
+                        accountsById.put(account.getId(), account);
+                    }
+                }
+            }
+
+            CheckAccountsResponse.Builder response = CheckAccountsResponse.newBuilder();
+            for (Long accountId : request.getAccountIdsList()) {
+                AccountResponse account = accountsById.get(accountId);
+                AccountStatus.Builder status = AccountStatus.newBuilder().setAccountId(accountId);
+                if (account != null) {
+                    status.setFound(true)
+                            .setActive(account.getActive())
+                            .setCurrentBalance(account.getCurrentBalance());
+                }
+                response.addAccounts(status.build());
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Descuenta saldo de varias cuentas en una sola llamada.
+     * Cada descuento se aplica de forma independiente: un descuento rechazado
+     * (cuenta inexistente, anulada o sin saldo) no afecta a los demas y se
+     * informa en su resultado con el estado correspondiente.
+     */
+    @Override
+    public void deductBalances(DeductBalancesRequest request, StreamObserver<DeductBalancesResponse> responseObserver) {
+        try {
+            DeductBalancesResponse.Builder response = DeductBalancesResponse.newBuilder();
+            for (DeductBalanceRequest deduction : request.getDeductionsList()) {
+                response.addResults(deduct(deduction));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Verifica si un usuario esta asociado a una cuenta.
+     * Se resuelve con el indice en memoria de asociaciones, sin acceder a la base de datos.
+     */
+    @Override
+    public void isMember(MembershipRequest request, StreamObserver<MembershipResponse> responseObserver) {
+        try {
+            boolean member = accountUserService.isUserAssociatedToAccount(request.getAccountId(), request.getUserId());
+
+            responseObserver.onNext(MembershipResponse.newBuilder()
+                    .setAccountId(request.getAccountId())
+                    .setUserId(request.getUserId())
+                    .setMember(member)
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Stream de cambios de cuentas.
+     * Los eventos posteriores a after_offset se leen del outbox y luego se envia cada batch
+     * publicado por OutboxRelay. La suscripcion se cierra cuando el cliente cancela la llamada.
+     */
+    @Override
+    public void watchAccounts(WatchAccountsRequest request, StreamObserver<AccountEventBatch> responseObserver) {
+        ServerCallStreamObserver<AccountEventBatch> observer = (ServerCallStreamObserver<AccountEventBatch>) responseObserver;
+        AtomicReference<OutboxRelay.Subscription> subscription = new AtomicReference<>();
+        observer.setOnCancelHandler(() -> {
+            OutboxRelay.Subscription current = subscription.get();
+            if (current != null) {
+                current.close();
+            }
+        });
+        try {
+            subscription.set(outboxRelay.subscribe(request.getAfterOffset(), new EventBatchSender(observer)));
+            if (observer.isCancelled()) {
+                subscription.get().close();
+            }
+        } catch (Exception e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Aplica un descuento individual dentro de una operacion batch.
+     *
+     * @param deduction Cuenta y monto a descontar
+     * @return DeductBalanceResult con el estado del descuento
+     */
+    private DeductBalanceResult deduct(DeductBalanceRequest deduction) {
+        DeductBalanceResult.Builder result = DeductBalanceResult.newBuilder()
+                .setAccountId(deduction.getAccountId());
+        try {
+            BalanceResponse balance = accountService.deductBalance(deduction.getAccountId(), deduction.getAmount());
+            return result.setStatus(DeductStatus.DEDUCT_STATUS_OK)
+                    .setCurrentBalance(balance.getCurrentBalance())
+                    .build();
+        } catch (AccountNotFoundException e) {
+            return result.setStatus(DeductStatus.DEDUCT_STATUS_ACCOUNT_NOT_FOUND).setMessage(e.getMessage()).build();
+        } catch (AccountInactiveException e) {
+            return result.setStatus(DeductStatus.DEDUCT_STATUS_ACCOUNT_INACTIVE).setMessage(e.getMessage()).build();
+        } catch (InsufficientBalanceException e) {
+            return result.setStatus(DeductStatus.DEDUCT_STATUS_INSUFFICIENT_BALANCE).setMessage(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Traduce las excepciones de negocio a codigos de estado gRPC.
+     *
+     * @param e Excepcion lanzada por el servicio
+     * @return Status gRPC con la descripcion del error
+     */
+    private Status toStatus(Exception e) {
+        if (e instanceof AccountNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof AccountInactiveException || e instanceof InsufficientBalanceException) {
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof OutboxOffsetOutOfRangeException) {
+            return Status.OUT_OF_RANGE.withDescription(e.getMessage());
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            // Modificacion concurrente de la misma cuenta: el cliente puede reintentar
+            return Status.ABORTED.withDescription(e.getMessage());
+        }
+        return Status.INTERNAL.withDescription("Error processing account request: " + e.getMessage());
+    }
+
+    /**
+     * Envia los batches de eventos de una suscripcion a un stream gRPC.
+     * Si el cliente no consume (el stream no esta listo) durante mas de
+     * accounts.outbox.max-pending-batches batches seguidos, el stream termina con
+     * RESOURCE_EXHAUSTED para no acumular eventos en memoria; el cliente puede retomar
+     * desde el ultimo offset recibido.
+     */
+    private class EventBatchSender implements Consumer<List<OutboxEvent>> {
+
+        private final ServerCallStreamObserver<AccountEventBatch> observer;
+        private int pendingBatches;
+
+        private EventBatchSender(ServerCallStreamObserver<AccountEventBatch> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void accept(List<OutboxEvent> events) {
+            if (observer.isReady()) {
+                pendingBatches = 0;
+            } else if (++pendingBatches > maxPendingBatches) {
+                observer.onError(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Subscriber is too slow, resume from the last received offset")
+                        .asRuntimeException());
+                throw new IllegalStateException("Subscriber is too slow");
+            }
+
+            AccountEventBatch.Builder batch = AccountEventBatch.newBuilder();
+            for (OutboxEvent event : events) {
+                batch.addEvents(toProto(event));
+            }
+            observer.onNext(batch.build());
+        }
+
+        private AccountEvent toProto(OutboxEvent event) {
+            AccountEvent.Builder proto = AccountEvent.newBuilder()
+                    .setOffset(event.offset())
+                    .setType(AccountEventType.valueOf("ACCOUNT_EVENT_TYPE_" + event.type().name()))
+                    .setAccountId(event.accountId())
+                    .setOccurredAt(event.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            if (event.userId() != null) {
+                proto.setUserId(event.userId());
+            }
+            if (event.active() != null) {
+                proto.setActive(event.active());
+            }
+            if (event.currentBalance() != null) {
+                proto.setCurrentBalance(event.currentBalance());
+            }
+            return proto.build();
+        }
+    }
+}
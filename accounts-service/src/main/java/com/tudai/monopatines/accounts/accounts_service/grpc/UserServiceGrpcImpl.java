@@ -2,7 +2,6 @@ package com.tudai.monopatines.accounts.accounts_service.grpc;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
-import com.tudai.monopatines.accounts.accounts_service.entity.User;
 import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
 import com.tudai.monopatines.accounts.accounts_service.service.UserService;
 import com.tudai.monopatines.accounts.grpc.GetUserByEmailRequest;
@@ -45,9 +44,6 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
             createRequest.setPassword(request.getPassword());
 
             UserResponse userResponse = userService.createUser(createRequest);
-            
-            User user = userRepository.findByEmail(userResponse.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found after creation"));
 
             com.tudai.monopatines.accounts.grpc.UserResponse grpcResponse = com.tudai.monopatines.accounts.grpc.UserResponse.newBuilder()
                     .setId(userResponse.getId())
@@ -57,7 +53,7 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
                     .setPhoneNumber(userResponse.getPhoneNumber())
                     .setCreatedAt(userResponse.getCreatedAt().format(ISO_FORMATTER))
                     .addAllRoles(userResponse.getRoles() != null ? userResponse.getRoles() : Collections.emptyList())
-                    .setPassword(user.getPassword() != null ? user.getPassword() : "")
+                    .setPassword(request.getPassword())
                     .build();
 
             responseObserver.onNext(grpcResponse);
@@ -74,9 +70,7 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
                               StreamObserver<com.tudai.monopatines.accounts.grpc.UserResponse> responseObserver) {
         try {
             UserResponse userResponse = userService.getUserByEmail(request.getEmail());
-            
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found with email: " + request.getEmail()));
+            String password = userRepository.findPasswordByEmail(request.getEmail()).orElse("");
 
             com.tudai.monopatines.accounts.grpc.UserResponse grpcResponse = com.tudai.monopatines.accounts.grpc.UserResponse.newBuilder()
                     .setId(userResponse.getId())
@@ -86,7 +80,7 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
                     .setPhoneNumber(userResponse.getPhoneNumber())
                     .setCreatedAt(userResponse.getCreatedAt().format(ISO_FORMATTER))
                     .addAllRoles(userResponse.getRoles() != null ? userResponse.getRoles() : Collections.emptyList())
-                    .setPassword(user.getPassword() != null ? user.getPassword() : "")
+                    .setPassword(password)
                     .build();
 
             responseObserver.onNext(grpcResponse);
@@ -103,9 +97,7 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
                            StreamObserver<com.tudai.monopatines.accounts.grpc.UserResponse> responseObserver) {
         try {
             UserResponse userResponse = userService.getUserById(request.getUserId());
-            
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
+            String password = userRepository.findPasswordById(request.getUserId()).orElse("");
 
             com.tudai.monopatines.accounts.grpc.UserResponse grpcResponse = com.tudai.monopatines.accounts.grpc.UserResponse.newBuilder()
                     .setId(userResponse.getId())
@@ -115,7 +107,7 @@ public class UserServiceGrpcImpl extends UserServiceGrpc.UserServiceImplBase {
                     .setPhoneNumber(userResponse.getPhoneNumber())
                     .setCreatedAt(userResponse.getCreatedAt().format(ISO_FORMATTER))
                     .addAllRoles(userResponse.getRoles() != null ? userResponse.getRoles() : Collections.emptyList())
-                    .setPassword(user.getPassword() != null ? user.getPassword() : "")
+                    .setPassword(password)
                     .build();
 
             responseObserver.onNext(grpcResponse);
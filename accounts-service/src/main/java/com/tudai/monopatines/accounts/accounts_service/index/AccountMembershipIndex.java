@@ -0,0 +1,223 @@
+package com.tudai.monopatines.accounts.accounts_service.index;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.MembershipIndexStatsResponse;
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de las asociaciones cuenta-usuario (tabla account_user).
+ * 
+ * Permite responder "¿el usuario U puede usar la cuenta A?" sin acceder a la base de datos.
+ * Guarda, por cada cuenta, el conjunto de IDs de usuarios asociados y, por cada usuario,
+ * el conjunto de IDs de cuentas, ambos como arreglos ordenados de long primitivos
+ * (búsqueda binaria, sin objetos Long por asociación).
+ * 
+ * Los arreglos nunca se modifican: cada alta o baja reemplaza el arreglo de la clave
+ * de forma atómica (copy-on-write), por lo que las lecturas no necesitan locks.
+ * 
+ * Se carga al iniciar la aplicación desde account_user y se mantiene actualizado
+ * por AccountUserService luego de cada commit. Mientras no termine la carga inicial,
+ * {@link #isLoaded()} retorna false y los llamadores deben consultar la base de datos.
+ * 
+ */
+@Component
+public class AccountMembershipIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountMembershipIndex.class);
+
+    private static final long[] EMPTY = new long[0];
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    /**
+     * Overhead estimado por clave de cada mapa (JVM de 64 bits con compressed oops):
+     * nodo de ConcurrentHashMap (32 bytes) + Long de la clave (16 bytes) + header del long[] (16 bytes).
+     */
+    static final long BYTES_PER_KEY = 64;
+
+    /**
+     * Bytes por ID guardado en un arreglo (long primitivo).
+     */
+    static final long BYTES_PER_ENTRY = Long.BYTES;
+
+    private final AccountUserRepository accountUserRepository;
+    private final Map<Long, long[]> usersByAccount = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> accountsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong associations = new AtomicLong();
+    private volatile boolean loaded;
+
+    /**
+     * Constructor del índice.
+     * 
+     * @param accountUserRepository Repositorio para leer la tabla account_user en la carga inicial
+     */
+    public AccountMembershipIndex(AccountUserRepository accountUserRepository) {
+        this.accountUserRepository = accountUserRepository;
+    }
+
+    /**
+     * Carga el índice desde la tabla account_user.
+     * 
+     * Se ejecuta al iniciar la aplicación. Lee la tabla por páginas ordenadas por ID
+     * (keyset pagination) para no materializar todas las asociaciones en una sola consulta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loaded = false;
+        usersByAccount.clear();
+        accountsByUser.clear();
+        associations.set(0);
+
+        long lastId = 0L;
+        List<Object[]> page;
+        do {
+            page = accountUserRepository.findMembershipPage(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                lastId = (Long) row[0];
+                add((Long) row[1], (Long) row[2]);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        loaded = true;
+        log.info("Account membership index loaded: {} associations, {} accounts, {} users",
+                associations.get(), usersByAccount.size(), accountsByUser.size());
+    }
+
+    /**
+     * Indica si la carga inicial del índice terminó.
+     * 
+     * @return true si el índice refleja la tabla account_user
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Verifica si un usuario está asociado a una cuenta.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userId ID del usuario
+     * @return true si existe la asociación
+     */
+    public boolean isMember(long accountId, long userId) {
+        long[] userIds = usersByAccount.get(accountId);
+        return userIds != null && Arrays.binarySearch(userIds, userId) >= 0;
+    }
+
+    /**
+     * Registra una asociación entre una cuenta y un usuario.
+     * Si la asociación ya existe, no hace nada.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userId ID del usuario
+     */
+    public void add(long accountId, long userId) {
+        boolean[] inserted = new boolean[1];
+        usersByAccount.compute(accountId, (key, userIds) -> {
+            long[] updated = insertSorted(userIds != null ? userIds : EMPTY, userId);
+            inserted[0] = updated != userIds;
+            return updated;
+        });
+        accountsByUser.compute(userId, (key, accountIds) -> insertSorted(accountIds != null ? accountIds : EMPTY, accountId));
+        if (inserted[0]) {
+            associations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Elimina una asociación entre una cuenta y un usuario.
+     * Si la asociación no existe, no hace nada.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userId ID del usuario
+     */
+    public void remove(long accountId, long userId) {
+        boolean[] removed = new boolean[1];
+        usersByAccount.computeIfPresent(accountId, (key, userIds) -> {
+            long[] updated = removeSorted(userIds, userId);
+            removed[0] = updated != userIds;
+            return updated.length == 0 ? null : updated;
+        });
+        accountsByUser.computeIfPresent(userId, (key, accountIds) -> {
+            long[] updated = removeSorted(accountIds, accountId);
+            return updated.length == 0 ? null : updated;
+        });
+        if (removed[0]) {
+            associations.decrementAndGet();
+        }
+    }
+
+    /**
+     * Obtiene estadísticas del índice, incluyendo una estimación de la memoria utilizada.
+     * 
+     * Cada asociación ocupa un long en el arreglo de su cuenta y otro en el de su usuario
+     * (16 bytes), más el overhead de cada clave distinta de ambos mapas ({@link #BYTES_PER_KEY}).
+     * 
+     * @return MembershipIndexStatsResponse con cantidades y memoria estimada
+     */
+    public MembershipIndexStatsResponse getStats() {
+        long associationCount = associations.get();
+        long accountCount = usersByAccount.size();
+        long userCount = accountsByUser.size();
+        long estimatedBytes = (accountCount + userCount) * BYTES_PER_KEY
+                + 2 * associationCount * BYTES_PER_ENTRY;
+        long bytesPerMillion = associationCount == 0 ? 0 : estimatedBytes * 1_000_000 / associationCount;
+
+        MembershipIndexStatsResponse stats = new MembershipIndexStatsResponse();
+        stats.setLoaded(loaded);
+        stats.setAssociations(associationCount);
+        stats.setAccounts(accountCount);
+        stats.setUsers(userCount);
+        stats.setEstimatedBytes(estimatedBytes);
+        stats.setEstimatedBytesPerMillionAssociations(bytesPerMillion);
+        return stats;
+    }
+
+    /**
+     * Inserta un valor en un arreglo ordenado, devolviendo un arreglo nuevo.
+     * 
+     * @param values Arreglo ordenado
+     * @param value Valor a insertar
+     * @return Arreglo nuevo con el valor, o el mismo arreglo si el valor ya existía
+     */
+    private static long[] insertSorted(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return values;
+        }
+        int insertionPoint = -index - 1;
+        long[] updated = new long[values.length + 1];
+        System.arraycopy(values, 0, updated, 0, insertionPoint);
+        updated[insertionPoint] = value;
+        System.arraycopy(values, insertionPoint, updated, insertionPoint + 1, values.length - insertionPoint);
+        return updated;
+    }
+
+    /**
+     * Elimina un valor de un arreglo ordenado, devolviendo un arreglo nuevo.
+     * 
+     * @param values Arreglo ordenado
+     * @param value Valor a eliminar
+     * @return Arreglo nuevo sin el valor, o el mismo arreglo si el valor no existía
+     */
+    private static long[] removeSorted(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return values;
+        }
+        long[] updated = new long[values.length - 1];
+        System.arraycopy(values, 0, updated, 0, index);
+        System.arraycopy(values, index + 1, updated, index, values.length - index - 1);
+        return updated;
+    }
+}
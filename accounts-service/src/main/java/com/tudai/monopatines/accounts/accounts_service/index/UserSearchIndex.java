@@ -0,0 +1,263 @@
+package com.tudai.monopatines.accounts.accounts_service.index;
+
+import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice en memoria para buscar usuarios por prefijo de email, nombre o apellido.
+ * 
+ * Cada usuario aporta un término por su email y uno por cada palabra de su nombre y apellido,
+ * normalizados (minúsculas, sin acentos). Los términos se guardan en un conjunto ordenado
+ * (ConcurrentSkipListSet) como claves "término idUsuario", de modo que una búsqueda por prefijo
+ * es un recorrido del rango [prefijo, prefijo + Character.MAX_VALUE): su costo depende del tamaño de la
+ * página pedida y no de la cantidad de usuarios.
+ * 
+ * Un usuario puede tener varios términos que empiezan con el mismo prefijo (por ejemplo,
+ * nombre y apellido); en cada búsqueda se informa solo en su menor término coincidente,
+ * por lo que no aparece repetido entre páginas.
+ * 
+ * Se carga al iniciar la aplicación desde la tabla users y se mantiene actualizado por
+ * UserService luego de cada commit. Mientras no termine la carga inicial,
+ * {@link #isLoaded()} retorna false.
+ * 
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final char SEPARATOR = ' ';
+    private static final String[] NO_TERMS = new String[0];
+
+    private final UserRepository userRepository;
+    private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+    private final Map<Long, String[]> termsByUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Constructor del índice.
+     * 
+     * @param userRepository Repositorio para leer la tabla users en la carga inicial
+     */
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Carga el índice desde la tabla users.
+     * 
+     * Se ejecuta al iniciar la aplicación. Lee la tabla por páginas ordenadas por ID
+     * (keyset pagination) para no materializar todos los usuarios en una sola consulta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loaded = false;
+        keys.clear();
+        termsByUser.clear();
+
+        long lastId = 0L;
+        List<Object[]> page;
+        do {
+            page = userRepository.findSearchTermsPage(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                lastId = (Long) row[0];
+                put(lastId, (String) row[1], (String) row[2], (String) row[3]);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        loaded = true;
+        log.info("User search index loaded: {} users, {} terms", termsByUser.size(), keys.size());
+    }
+
+    /**
+     * Indica si la carga inicial del índice terminó.
+     * 
+     * @return true si el índice refleja la tabla users
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Registra o actualiza los términos de un usuario.
+     * 
+     * @param userId ID del usuario
+     * @param email Email del usuario
+     * @param firstName Nombre del usuario
+     * @param lastName Apellido del usuario
+     */
+    public void put(long userId, String email, String firstName, String lastName) {
+        String[] terms = termsOf(email, firstName, lastName);
+        String[] previous = termsByUser.put(userId, terms);
+        if (previous != null) {
+            for (String term : previous) {
+                keys.remove(key(term, userId));
+            }
+        }
+        for (String term : terms) {
+            keys.add(key(term, userId));
+        }
+    }
+
+    /**
+     * Elimina los términos de un usuario.
+     * 
+     * @param userId ID del usuario
+     */
+    public void remove(long userId) {
+        String[] previous = termsByUser.remove(userId);
+        if (previous != null) {
+            for (String term : previous) {
+                keys.remove(key(term, userId));
+            }
+        }
+    }
+
+    /**
+     * Busca usuarios con algún término que empiece con el prefijo indicado.
+     * 
+     * @param prefix Prefijo de una palabra a buscar (se normaliza igual que los términos)
+     * @param cursor Cursor devuelto por la página anterior (null para la primera página)
+     * @param limit Cantidad máxima de usuarios de la página
+     * @return Página con los IDs encontrados y el cursor para pedir la página siguiente
+     */
+    public SearchPage search(String prefix, String cursor, int limit) {
+        String normalized = normalize(prefix);
+        List<Long> userIds = new ArrayList<>();
+        if (normalized.isEmpty() || normalized.indexOf(SEPARATOR) >= 0) {
+            return new SearchPage(userIds, null);
+        }
+
+        String from = normalized;
+        if (cursor != null) {
+            from = decodeCursor(cursor);
+            if (!from.startsWith(normalized)) {
+                throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+            }
+        }
+        NavigableSet<String> range = keys.subSet(from, cursor == null, normalized + Character.MAX_VALUE, false);
+        String lastKey = null;
+        for (String key : range) {
+            int separator = key.lastIndexOf(SEPARATOR);
+            long userId = Long.parseLong(key, separator + 1, key.length(), 10);
+            if (!isFirstMatch(userId, key.substring(0, separator), normalized)) {
+                continue;
+            }
+            if (userIds.size() == limit) {
+                return new SearchPage(userIds, encodeCursor(lastKey));
+            }
+            userIds.add(userId);
+            lastKey = key;
+        }
+        return new SearchPage(userIds, null);
+    }
+
+    /**
+     * Obtiene la cantidad de usuarios indexados.
+     * 
+     * @return Cantidad de usuarios
+     */
+    public int size() {
+        return termsByUser.size();
+    }
+
+    /**
+     * Indica si el término es el menor de los términos del usuario que empiezan con el prefijo.
+     * 
+     * @param userId ID del usuario
+     * @param term Término encontrado
+     * @param prefix Prefijo normalizado
+     * @return true si la búsqueda debe informar al usuario en este término
+     */
+    private boolean isFirstMatch(long userId, String term, String prefix) {
+        String[] terms = termsByUser.get(userId);
+        if (terms == null) {
+            return false;
+        }
+        for (String candidate : terms) {
+            if (candidate.startsWith(prefix)) {
+                return candidate.equals(term);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene los términos de un usuario, ordenados y sin repetidos.
+     */
+    private static String[] termsOf(String email, String firstName, String lastName) {
+        TreeSet<String> terms = new TreeSet<>();
+        addTerms(terms, email);
+        addTerms(terms, firstName);
+        addTerms(terms, lastName);
+        return terms.toArray(NO_TERMS);
+    }
+
+    private static void addTerms(TreeSet<String> terms, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : normalize(value).split(" ")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+    }
+
+    /**
+     * Normaliza un texto para el índice: minúsculas, sin acentos y con espacios simples.
+     * 
+     * @param value Texto a normalizar
+     * @return Texto normalizado
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutAccents = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT).replaceAll("[\\s\\p{Cntrl}]+", " ").trim();
+    }
+
+    private static String key(String term, long userId) {
+        return term + SEPARATOR + userId;
+    }
+
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Página de resultados de una búsqueda.
+     * 
+     * @param userIds IDs de los usuarios encontrados, en el orden del índice
+     * @param nextCursor Cursor para pedir la página siguiente (null si no hay más resultados)
+     */
+    public record SearchPage(List<Long> userIds, String nextCursor) {
+    }
+}
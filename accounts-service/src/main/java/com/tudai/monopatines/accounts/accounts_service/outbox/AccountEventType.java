@@ -0,0 +1,46 @@
+package com.tudai.monopatines.accounts.accounts_service.outbox;
+
+/**
+ * Tipos de evento de cuentas registrados en el outbox.
+ * 
+ * El nombre se guarda en la columna event_type de account_outbox: los valores
+ * existentes no deben renombrarse.
+ * 
+ */
+public enum AccountEventType {
+
+    /**
+     * Alta de una cuenta.
+     */
+    ACCOUNT_CREATED,
+
+    /**
+     * Actualización de los datos de una cuenta.
+     */
+    ACCOUNT_UPDATED,
+
+    /**
+     * Anulación de una cuenta.
+     */
+    ACCOUNT_CANCELLED,
+
+    /**
+     * Baja de una cuenta.
+     */
+    ACCOUNT_DELETED,
+
+    /**
+     * Carga o descuento de saldo.
+     */
+    BALANCE_CHANGED,
+
+    /**
+     * Asociación de un usuario a una cuenta.
+     */
+    USER_ASSOCIATED,
+
+    /**
+     * Desasociación de un usuario de una cuenta.
+     */
+    USER_DISASSOCIATED
+}
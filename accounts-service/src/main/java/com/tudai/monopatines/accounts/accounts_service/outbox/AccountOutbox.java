@@ -0,0 +1,83 @@
+package com.tudai.monopatines.accounts.accounts_service.outbox;
+
+import com.tudai.monopatines.accounts.accounts_service.entity.Account;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritura de eventos de cuentas en el outbox (tabla account_outbox).
+ * 
+ * Los eventos se insertan con JDBC dentro de la transacción del cambio que describen
+ * (Propagation.MANDATORY): si la transacción hace rollback, el evento tampoco existe.
+ * OutboxRelay los publica luego a los suscriptores.
+ * 
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class AccountOutbox {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO account_outbox (event_type, account_id, user_id, active, current_balance, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor del outbox.
+     * 
+     * @param jdbcTemplate Template JDBC para insertar los eventos en la transacción actual
+     */
+    public AccountOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra un cambio de una cuenta con su estado y saldo resultantes.
+     * 
+     * @param type Tipo de evento
+     * @param account Cuenta luego del cambio
+     */
+    public void accountChanged(AccountEventType type, Account account) {
+        insert(type, account.getId(), null, account.getActive(), account.getCurrentBalance());
+    }
+
+    /**
+     * Registra la baja de una cuenta.
+     * 
+     * @param accountId ID de la cuenta eliminada
+     */
+    public void accountDeleted(Long accountId) {
+        insert(AccountEventType.ACCOUNT_DELETED, accountId, null, null, null);
+    }
+
+    /**
+     * Registra la asociación o desasociación de usuarios a una cuenta, con un único batch JDBC.
+     * 
+     * @param type USER_ASSOCIATED o USER_DISASSOCIATED
+     * @param accountId ID de la cuenta
+     * @param userIds IDs de los usuarios
+     */
+    public void membershipChanged(AccountEventType type, Long accountId, List<Long> userIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setString(1, type.name());
+            ps.setLong(2, accountId);
+            ps.setLong(3, userId);
+            ps.setNull(4, Types.BOOLEAN);
+            ps.setNull(5, Types.DOUBLE);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    private void insert(AccountEventType type, Long accountId, Long userId, Boolean active, Double currentBalance) {
+        jdbcTemplate.update(INSERT_EVENT_SQL, type.name(), accountId, userId, active, currentBalance,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
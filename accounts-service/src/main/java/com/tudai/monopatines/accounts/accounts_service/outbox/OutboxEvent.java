@@ -0,0 +1,18 @@
+package com.tudai.monopatines.accounts.accounts_service.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cuenta leído del outbox.
+ * 
+ * @param offset ID de la fila en account_outbox (orden de publicación)
+ * @param type Tipo de evento
+ * @param accountId ID de la cuenta
+ * @param userId ID del usuario (solo en asociaciones y desasociaciones)
+ * @param active Estado de la cuenta luego del cambio (null en asociaciones, desasociaciones y bajas)
+ * @param currentBalance Saldo de la cuenta luego del cambio (null en asociaciones, desasociaciones y bajas)
+ * @param createdAt Fecha y hora del cambio
+ */
+public record OutboxEvent(long offset, AccountEventType type, long accountId, Long userId,
+                          Boolean active, Double currentBalance, LocalDateTime createdAt) {
+}
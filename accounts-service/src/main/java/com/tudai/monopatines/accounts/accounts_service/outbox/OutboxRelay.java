@@ -0,0 +1,407 @@
+package com.tudai.monopatines.accounts.accounts_service.outbox;
+
+import com.tudai.monopatines.accounts.accounts_service.exception.OutboxOffsetOutOfRangeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Relay del outbox: lee los eventos confirmados de account_outbox en orden de offset
+ * y los publica en batches a los suscriptores del proceso (stream gRPC WatchAccounts).
+ * 
+ * Cada instancia del servicio tiene su propio relay sobre la misma tabla, por lo que sus
+ * suscriptores reciben también los cambios hechos en las otras instancias.
+ * 
+ * Los offsets (IDs AUTO_INCREMENT) se asignan al insertar, pero las transacciones pueden
+ * confirmarse en otro orden: un hueco en la secuencia puede ser una transacción todavía
+ * en curso. El relay se detiene en el hueco, para no publicar un offset mayor antes que uno menor,
+ * y solo lo saltea si sigue abierto luego de accounts.outbox.gap-timeout-ms (antes de saltearlo
+ * vuelve a leer los offsets faltantes). Un hueco salteado suele ser una transacción que hizo rollback,
+ * pero también puede ser una transacción lenta: durante accounts.outbox.late-commit-window-ms el relay
+ * vuelve a leer los rangos salteados en cada ejecución y publica los eventos que se confirmaron tarde,
+ * con un offset menor al último publicado.
+ * 
+ * Un suscriptor puede retomar desde un offset: los eventos anteriores a la posición del
+ * relay se leen de la tabla y luego recibe los nuevos batches. Los eventos se conservan
+ * durante accounts.outbox.retention-hours.
+ * 
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, event_type, account_id, user_id, active, current_balance, created_at FROM account_outbox ";
+
+    private static final String SELECT_AFTER_SQL = SELECT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_RANGE_SQL = SELECT_COLUMNS + "WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM account_outbox";
+
+    private static final String SELECT_MIN_ID_SQL = "SELECT MIN(id) FROM account_outbox";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM account_outbox WHERE created_at < ?";
+
+    /**
+     * Cantidad máxima de rangos salteados que se vuelven a leer (se descartan los más antiguos).
+     */
+    private static final int MAX_SKIPPED_RANGES = 1000;
+
+    private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong(1),
+            AccountEventType.valueOf(rs.getString(2)),
+            rs.getLong(3),
+            rs.getObject(4, Long.class),
+            rs.getObject(5, Boolean.class),
+            rs.getObject(6, Double.class),
+            rs.getTimestamp(7).toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long gapTimeoutMs;
+    private final int retentionHours;
+    private final long lateCommitWindowMs;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Offset del último evento publicado (-1 hasta la inicialización).
+     */
+    private volatile long lastRelayedOffset = -1L;
+
+    /**
+     * Primer offset faltante del hueco que se está esperando (-1 si no hay hueco)
+     * y momento (System.nanoTime) en que se encontró.
+     */
+    private long gapOffset = -1L;
+    private long gapSince;
+
+    /**
+     * Rangos de offsets salteados que todavía pueden confirmarse, del más antiguo al más reciente.
+     */
+    private final Deque<SkippedRange> skippedRanges = new ArrayDeque<>();
+
+    /**
+     * Constructor del relay.
+     * 
+     * @param jdbcTemplate Template JDBC para leer y limpiar account_outbox
+     * @param batchSize Cantidad máxima de eventos por batch
+     * @param gapTimeoutMs Tiempo que se espera a que se complete un hueco en los offsets
+     * @param retentionHours Horas que se conservan los eventos publicados
+     * @param lateCommitWindowMs Tiempo durante el que se vuelven a leer los offsets de un hueco salteado
+     */
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       @Value("${accounts.outbox.batch-size:500}") int batchSize,
+                       @Value("${accounts.outbox.gap-timeout-ms:5000}") long gapTimeoutMs,
+                       @Value("${accounts.outbox.retention-hours:72}") int retentionHours,
+                       @Value("${accounts.outbox.late-commit-window-ms:600000}") long lateCommitWindowMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionHours = retentionHours;
+        this.lateCommitWindowMs = lateCommitWindowMs;
+    }
+
+    /**
+     * Inicia el relay en el último evento existente: los suscriptores que necesitan eventos
+     * anteriores los obtienen de la tabla al suscribirse.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void init() {
+        lastRelayedOffset = jdbcTemplate.queryForObject(SELECT_MAX_ID_SQL, Long.class);
+        gapOffset = -1L;
+        skippedRanges.clear();
+        log.info("Outbox relay started at offset {}", lastRelayedOffset);
+    }
+
+    /**
+     * Publica los eventos confirmados tarde de los huecos salteados y luego los eventos
+     * confirmados posteriores al último offset publicado.
+     * Se ejecuta cada accounts.outbox.poll-interval-ms.
+     * 
+     * @return Cantidad de eventos publicados
+     */
+    @Scheduled(fixedDelayString = "${accounts.outbox.poll-interval-ms:200}")
+    public synchronized int poll() {
+        if (lastRelayedOffset < 0) {
+            return 0;
+        }
+        int late = publishLateEvents();
+        List<OutboxEvent> events = jdbcTemplate.query(SELECT_AFTER_SQL, EVENT_MAPPER, lastRelayedOffset, batchSize);
+        int publishable = 0;
+        long expected = lastRelayedOffset + 1;
+        for (OutboxEvent event : events) {
+            if (event.offset() != expected && !gapExpired(expected, event.offset())) {
+                break;
+            }
+            publishable++;
+            expected = event.offset() + 1;
+        }
+        if (publishable == 0) {
+            return late;
+        }
+
+        List<OutboxEvent> batch = events.subList(0, publishable);
+        for (Subscription subscription : subscriptions) {
+            subscription.deliver(batch);
+        }
+        lastRelayedOffset = batch.get(publishable - 1).offset();
+        return late + publishable;
+    }
+
+    /**
+     * Suscribe un consumidor a los eventos posteriores a un offset.
+     * 
+     * Los eventos entre el offset y la posición actual del relay se leen de la tabla
+     * y se entregan antes de registrar la suscripción; a partir de ahí recibe cada batch
+     * publicado. Los batches se entregan desde el hilo del relay: el consumidor no debe bloquearse.
+     * 
+     * @param afterOffset Offset del último evento recibido (-1 para recibir solo eventos nuevos)
+     * @param consumer Consumidor de los batches de eventos
+     * @return Suscripción, que debe cerrarse cuando el consumidor deja de escuchar
+     * @throws OutboxOffsetOutOfRangeException si los eventos posteriores al offset ya se eliminaron
+     */
+    public Subscription subscribe(long afterOffset, Consumer<List<OutboxEvent>> consumer) {
+        Subscription subscription = new Subscription(consumer);
+        if (afterOffset < 0) {
+            synchronized (this) {
+                subscription.lastDelivered = lastRelayedOffset;
+                subscriptions.add(subscription);
+            }
+            return subscription;
+        }
+
+        Long minOffset = jdbcTemplate.queryForObject(SELECT_MIN_ID_SQL, Long.class);
+        if (minOffset != null && afterOffset < minOffset - 1) {
+            throw new OutboxOffsetOutOfRangeException(afterOffset, minOffset);
+        }
+        // La mayor parte se lee sin bloquear al relay; el resto, con el relay detenido
+        long cursor = replay(afterOffset, lastRelayedOffset, consumer);
+        synchronized (this) {
+            cursor = replay(cursor, lastRelayedOffset, consumer);
+            // Si el offset pedido es posterior a la posición del relay, se omiten los eventos hasta él
+            subscription.lastDelivered = Math.max(cursor, afterOffset);
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    /**
+     * Elimina los eventos con más de accounts.outbox.retention-hours.
+     * Se ejecuta cada accounts.outbox.cleanup-interval-ms.
+     */
+    @Scheduled(initialDelayString = "${accounts.outbox.cleanup-interval-ms:3600000}",
+            fixedDelayString = "${accounts.outbox.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL,
+                Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            log.info("Deleted {} outbox events older than {} hours", deleted, retentionHours);
+        }
+    }
+
+    /**
+     * Obtiene el offset del último evento publicado.
+     * 
+     * @return Offset, o -1 si el relay todavía no se inicializó
+     */
+    public long getLastRelayedOffset() {
+        return lastRelayedOffset;
+    }
+
+    /**
+     * Entrega los eventos de la tabla en el rango (from, to], en batches.
+     * 
+     * @return Último offset entregado
+     */
+    private long replay(long from, long to, Consumer<List<OutboxEvent>> consumer) {
+        long cursor = from;
+        while (cursor < to) {
+            List<OutboxEvent> events = jdbcTemplate.query(SELECT_RANGE_SQL, EVENT_MAPPER, cursor, to, batchSize);
+            if (events.isEmpty()) {
+                return to;
+            }
+            consumer.accept(events);
+            cursor = events.get(events.size() - 1).offset();
+        }
+        return cursor;
+    }
+
+    /**
+     * Indica si un hueco en los offsets debe saltearse porque superó accounts.outbox.gap-timeout-ms.
+     * 
+     * Antes de saltearlo vuelve a leer los offsets faltantes: la transacción pudo confirmarse
+     * luego de la lectura del batch, y en ese caso se publica en orden en la ejecución siguiente.
+     * El rango salteado se guarda para volver a leerlo durante accounts.outbox.late-commit-window-ms.
+     */
+    private boolean gapExpired(long expected, long found) {
+        long now = System.nanoTime();
+        if (gapOffset != expected) {
+            gapOffset = expected;
+            gapSince = now;
+        }
+        if (now - gapSince < gapTimeoutMs * 1_000_000) {
+            return false;
+        }
+        if (!jdbcTemplate.query(SELECT_RANGE_SQL, EVENT_MAPPER, expected - 1, found - 1, 1).isEmpty()) {
+            return false;
+        }
+        gapOffset = -1L;
+        log.debug("Skipping outbox offsets {} to {} (rolled back or not committed yet)", expected, found - 1);
+        if (lateCommitWindowMs > 0) {
+            skippedRanges.addLast(new SkippedRange(expected, found - 1, now));
+            if (skippedRanges.size() > MAX_SKIPPED_RANGES) {
+                SkippedRange dropped = skippedRanges.removeFirst();
+                log.debug("Outbox offsets {} to {} are no longer checked for late commits", dropped.from(), dropped.to());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Vuelve a leer los rangos salteados y publica los eventos que se confirmaron luego de saltearlos.
+     * Descarta los rangos salteados hace más de accounts.outbox.late-commit-window-ms.
+     * 
+     * @return Cantidad de eventos publicados
+     */
+    private int publishLateEvents() {
+        long now = System.nanoTime();
+        while (!skippedRanges.isEmpty()
+                && now - skippedRanges.peekFirst().skippedAt() >= lateCommitWindowMs * 1_000_000) {
+            SkippedRange expired = skippedRanges.removeFirst();
+            log.debug("Outbox offsets {} to {} were not committed (rolled back)", expired.from(), expired.to());
+        }
+        if (skippedRanges.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append("WHERE ");
+        List<Object> args = new ArrayList<>();
+        for (SkippedRange range : skippedRanges) {
+            if (!args.isEmpty()) {
+                sql.append(" OR ");
+            }
+            sql.append("id BETWEEN ? AND ?");
+            args.add(range.from());
+            args.add(range.to());
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(batchSize);
+        List<OutboxEvent> events = jdbcTemplate.query(sql.toString(), EVENT_MAPPER, args.toArray());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        removeFromSkippedRanges(events);
+        log.info("Publishing {} outbox events committed after their offsets were skipped", events.size());
+        for (Subscription subscription : subscriptions) {
+            subscription.deliverLate(events);
+        }
+        return events.size();
+    }
+
+    /**
+     * Quita de los rangos salteados los offsets de los eventos ya publicados.
+     * 
+     * @param events Eventos publicados, en orden de offset
+     */
+    private void removeFromSkippedRanges(List<OutboxEvent> events) {
+        List<SkippedRange> remaining = new ArrayList<>();
+        for (SkippedRange range : skippedRanges) {
+            long from = range.from();
+            for (OutboxEvent event : events) {
+                if (event.offset() < from || event.offset() > range.to()) {
+                    continue;
+                }
+                if (event.offset() > from) {
+                    remaining.add(new SkippedRange(from, event.offset() - 1, range.skippedAt()));
+                }
+                from = event.offset() + 1;
+            }
+            if (from <= range.to()) {
+                remaining.add(new SkippedRange(from, range.to(), range.skippedAt()));
+            }
+        }
+        skippedRanges.clear();
+        skippedRanges.addAll(remaining);
+    }
+
+    /**
+     * Rango de offsets salteado (from y to inclusive) y momento (System.nanoTime) en que se salteó.
+     */
+    private record SkippedRange(long from, long to, long skippedAt) {
+    }
+
+    /**
+     * Suscripción a los eventos del relay.
+     */
+    public class Subscription implements AutoCloseable {
+
+        private final Consumer<List<OutboxEvent>> consumer;
+
+        /**
+         * Offset del último evento entregado: los eventos anteriores no se vuelven a entregar.
+         */
+        private long lastDelivered;
+
+        private Subscription(Consumer<List<OutboxEvent>> consumer) {
+            this.consumer = consumer;
+        }
+
+        private void deliver(List<OutboxEvent> batch) {
+            int from = 0;
+            while (from < batch.size() && batch.get(from).offset() <= lastDelivered) {
+                from++;
+            }
+            if (from == batch.size()) {
+                return;
+            }
+            if (accept(from == 0 ? batch : batch.subList(from, batch.size()))) {
+                lastDelivered = batch.get(batch.size() - 1).offset();
+            }
+        }
+
+        /**
+         * Entrega eventos confirmados luego de que el relay salteó sus offsets: tienen un offset
+         * menor al último entregado, por lo que no se filtran ni actualizan lastDelivered.
+         */
+        private void deliverLate(List<OutboxEvent> events) {
+            accept(events);
+        }
+
+        private boolean accept(List<OutboxEvent> events) {
+            try {
+                consumer.accept(events);
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Outbox subscriber failed and was removed: {}", e.getMessage());
+                close();
+                return false;
+            }
+        }
+
+        /**
+         * Deja de entregar eventos al consumidor.
+         */
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.tudai.monopatines.accounts.accounts_service.readmodel;
+
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Modelo de lectura de cuentas fuera del heap, para las consultas de saldo, estado y versión.
+ * 
+ * Guarda por cada cuenta un registro de ancho fijo en un ByteBuffer directo:
+ * ID (8 bytes), saldo en centavos (8 bytes), versión (8 bytes) y flags (1 byte: presente, activa, eliminada).
+ * Un índice de direccionamiento abierto con arreglos primitivos (long[] de IDs, int[] de
+ * posiciones) resuelve el registro de cada ID. Así millones de cuentas no agregan objetos
+ * al heap y las lecturas no crean objetos: la búsqueda retorna primitivos.
+ * 
+ * Las escrituras toman un StampedLock exclusivo; las lecturas usan lectura optimista
+ * (sin bloqueo) y solo toman el lock de lectura si una escritura ocurrió en el medio.
+ * Una actualización con una versión menor a la de la cuenta registrada se ignora: los commits de dos
+ * transacciones sobre la misma cuenta pueden aplicarse al modelo en otro orden.
+ * Los registros de cuentas eliminadas o archivadas no se reutilizan: quedan como lápida, con la
+ * última versión de la cuenta y el flag de eliminada, y se rechaza toda actualización con una versión
+ * menor o igual. Así el afterCommit atrasado de una actualización anterior, o la carga inicial que leyó
+ * la cuenta antes de su eliminación, no vuelve a registrar la cuenta.
+ * 
+ * Es opcional (accounts.read-model.enabled). Se carga al iniciar la aplicación desde la
+ * tabla accounts y AccountService lo actualiza luego de cada commit. Mientras no termine
+ * la carga, o si la cuenta no está en el modelo (por ejemplo, cuentas archivadas),
+ * los llamadores deben consultar la base de datos.
+ * 
+ */
+@Component
+public class OffHeapAccountReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapAccountReadModel.class);
+
+    /**
+     * Valor retornado por {@link #getBalanceInCents(long)} cuando la cuenta no está en el modelo.
+     */
+    public static final long MISSING_BALANCE = Long.MIN_VALUE;
+
+    /**
+     * Valores retornados por {@link #getActiveState(long)}.
+     */
+    public static final int STATE_MISSING = -1;
+    public static final int STATE_INACTIVE = 0;
+    public static final int STATE_ACTIVE = 1;
+
+    /**
+     * Valor retornado por {@link #getVersion(long)} cuando la cuenta no está en el modelo.
+     */
+    public static final long MISSING_VERSION = -1L;
+
+    static final int RECORD_SIZE = 25;
+    private static final int ID_OFFSET = 0;
+    private static final int BALANCE_OFFSET = 8;
+    private static final int VERSION_OFFSET = 16;
+    private static final int FLAGS_OFFSET = 24;
+    private static final byte FLAG_PRESENT = 1;
+    private static final byte FLAG_ACTIVE = 2;
+    private static final byte FLAG_DELETED = 4;
+
+    /**
+     * Clave libre del índice (los IDs de cuentas empiezan en 1).
+     */
+    private static final long EMPTY_KEY = 0L;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+    private int size;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor del modelo.
+     * 
+     * @param accountRepository Repositorio para leer la tabla accounts en la carga inicial
+     * @param enabled Indica si el modelo está habilitado
+     * @param initialCapacity Cantidad de cuentas para la que se reserva memoria inicialmente
+     */
+    public OffHeapAccountReadModel(AccountRepository accountRepository,
+                                   @Value("${accounts.read-model.enabled:false}") boolean enabled,
+                                   @Value("${accounts.read-model.initial-capacity:1048576}") int initialCapacity) {
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+        this.table = enabled ? new Table(initialCapacity) : null;
+    }
+
+    /**
+     * Carga el modelo desde la tabla accounts.
+     * 
+     * Se ejecuta al iniciar la aplicación si el modelo está habilitado. Lee la tabla por páginas
+     * ordenadas por ID (keyset pagination) como tuplas, sin instanciar entidades.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        loaded = false;
+        long lastId = 0L;
+        List<Object[]> page;
+        do {
+            page = accountRepository.findReadModelPage(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                lastId = (Long) row[0];
+                put(lastId, (Double) row[1], (Boolean) row[2], (Long) row[3]);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        loaded = true;
+        log.info("Off-heap account read model loaded: {} accounts, {} bytes off-heap",
+                size, (long) table.records.capacity());
+    }
+
+    /**
+     * Indica si el modelo está habilitado (accounts.read-model.enabled).
+     * 
+     * @return true si el modelo se mantiene actualizado
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indica si el modelo está habilitado y su carga inicial terminó.
+     * 
+     * @return true si las lecturas pueden resolverse con el modelo
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Registra o actualiza una cuenta.
+     * 
+     * @param id ID de la cuenta
+     * @param balance Saldo de la cuenta
+     * @param active Estado de la cuenta
+     * @param version Versión de la cuenta (si es menor a la registrada, la actualización se ignora)
+     */
+    public void put(long id, double balance, boolean active, long version) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(table, id);
+            if (slot < 0) {
+                if (size == table.capacity) {
+                    table = table.grow();
+                }
+                slot = size++;
+                table.insertKey(id, slot);
+            } else if (isStale(table.records, slot * RECORD_SIZE, version)) {
+                return;
+            }
+            ByteBuffer records = table.records;
+            int offset = slot * RECORD_SIZE;
+            records.putLong(offset + ID_OFFSET, id);
+            records.putLong(offset + BALANCE_OFFSET, Math.round(balance * 100));
+            records.putLong(offset + VERSION_OFFSET, version);
+            records.put(offset + FLAGS_OFFSET, (byte) (FLAG_PRESENT | (active ? FLAG_ACTIVE : 0)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marca una cuenta como eliminada (eliminada o archivada), dejando una lápida con su versión.
+     * 
+     * La lápida se registra aunque la cuenta no esté en el modelo: la carga inicial puede
+     * registrarla después, con la versión que leyó antes de la eliminación.
+     * 
+     * @param id ID de la cuenta
+     * @param version Versión de la cuenta al eliminarla (se rechazan las actualizaciones con versión menor o igual)
+     */
+    public void remove(long id, long version) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(table, id);
+            if (slot < 0) {
+                if (size == table.capacity) {
+                    table = table.grow();
+                }
+                slot = size++;
+                table.insertKey(id, slot);
+            } else if (isStale(table.records, slot * RECORD_SIZE, version)) {
+                return;
+            }
+            ByteBuffer records = table.records;
+            int offset = slot * RECORD_SIZE;
+            records.putLong(offset + ID_OFFSET, id);
+            records.putLong(offset + BALANCE_OFFSET, 0L);
+            records.putLong(offset + VERSION_OFFSET, version);
+            records.put(offset + FLAGS_OFFSET, FLAG_DELETED);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Obtiene el saldo de una cuenta en centavos. No crea objetos en el heap.
+     * 
+     * @param id ID de la cuenta
+     * @return Saldo en centavos, o {@link #MISSING_BALANCE} si la cuenta no está en el modelo
+     */
+    public long getBalanceInCents(long id) {
+        long stamp = lock.tryOptimisticRead();
+        long balance = readBalance(table, id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                balance = readBalance(table, id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Obtiene el estado de una cuenta. No crea objetos en el heap.
+     * 
+     * @param id ID de la cuenta
+     * @return {@link #STATE_ACTIVE}, {@link #STATE_INACTIVE} o {@link #STATE_MISSING} si la cuenta no está en el modelo
+     */
+    public int getActiveState(long id) {
+        long stamp = lock.tryOptimisticRead();
+        int state = readState(table, id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                state = readState(table, id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Obtiene la versión de una cuenta. No crea objetos en el heap.
+     * 
+     * @param id ID de la cuenta
+     * @return Versión, o {@link #MISSING_VERSION} si la cuenta no está en el modelo
+     */
+    public long getVersion(long id) {
+        long stamp = lock.tryOptimisticRead();
+        long version = readVersion(table, id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                version = readVersion(table, id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return version;
+    }
+
+    private static long readVersion(Table table, long id) {
+        int offset = findPresentRecord(table, id);
+        return offset < 0 ? MISSING_VERSION : table.records.getLong(offset + VERSION_OFFSET);
+    }
+
+    /**
+     * Indica si una actualización es anterior al registro de la cuenta: menor a la versión
+     * de una cuenta presente, o menor o igual a la versión de una lápida.
+     */
+    private static boolean isStale(ByteBuffer records, int offset, long version) {
+        byte flags = records.get(offset + FLAGS_OFFSET);
+        long storedVersion = records.getLong(offset + VERSION_OFFSET);
+        if ((flags & FLAG_DELETED) != 0) {
+            return storedVersion >= version;
+        }
+        return (flags & FLAG_PRESENT) != 0 && storedVersion > version;
+    }
+
+    private static long readBalance(Table table, long id) {
+        int offset = findPresentRecord(table, id);
+        return offset < 0 ? MISSING_BALANCE : table.records.getLong(offset + BALANCE_OFFSET);
+    }
+
+    private static int readState(Table table, long id) {
+        int offset = findPresentRecord(table, id);
+        if (offset < 0) {
+            return STATE_MISSING;
+        }
+        return (table.records.get(offset + FLAGS_OFFSET) & FLAG_ACTIVE) != 0 ? STATE_ACTIVE : STATE_INACTIVE;
+    }
+
+    /**
+     * Busca el registro presente de una cuenta.
+     * 
+     * Durante una lectura optimista el índice puede estar a medio escribir: el ID guardado
+     * en el registro se compara con el buscado para no devolver el registro de otra cuenta
+     * (el resultado igualmente se descarta si la validación del lock falla).
+     * 
+     * @return Offset del registro en el buffer, o -1 si la cuenta no está presente
+     */
+    private static int findPresentRecord(Table table, long id) {
+        if (table == null) {
+            return -1;
+        }
+        int slot = findSlot(table, id);
+        if (slot < 0) {
+            return -1;
+        }
+        int offset = slot * RECORD_SIZE;
+        ByteBuffer records = table.records;
+        if (records.getLong(offset + ID_OFFSET) != id || (records.get(offset + FLAGS_OFFSET) & FLAG_PRESENT) == 0) {
+            return -1;
+        }
+        return offset;
+    }
+
+    /**
+     * Busca la posición del registro de un ID en el índice (sondeo lineal).
+     * 
+     * @return Posición del registro, o -1 si el ID no está en el índice
+     */
+    private static int findSlot(Table table, long id) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        for (int i = hash(id) & mask, probes = 0; probes < keys.length; i = (i + 1) & mask, probes++) {
+            long key = keys[i];
+            if (key == id) {
+                return table.slots[i];
+            }
+            if (key == EMPTY_KEY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Índice y registros. Al crecer se reemplaza completo, de modo que una lectura
+     * siempre ve arreglos y buffer del mismo tamaño.
+     */
+    private static final class Table {
+
+        private final int capacity;
+        private final long[] keys;
+        private final int[] slots;
+        private final ByteBuffer records;
+
+        private Table(int capacity) {
+            this.capacity = Math.max(capacity, 16);
+            int indexSize = Integer.highestOneBit(this.capacity * 2 - 1) << 1;
+            this.keys = new long[indexSize];
+            this.slots = new int[indexSize];
+            this.records = ByteBuffer.allocateDirect(Math.multiplyExact(this.capacity, RECORD_SIZE));
+        }
+
+        /**
+         * Inserta un ID en el índice (el índice siempre tiene al menos la mitad de sus posiciones libres).
+         */
+        private void insertKey(long id, int slot) {
+            int mask = keys.length - 1;
+            int i = hash(id) & mask;
+            while (keys[i] != EMPTY_KEY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+            keys[i] = id;
+        }
+
+        /**
+         * Crea una tabla con el doble de capacidad y copia el índice y los registros.
+         */
+        private Table grow() {
+            Table grown = new Table(Math.multiplyExact(capacity, 2));
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY_KEY) {
+                    grown.insertKey(keys[i], slots[i]);
+                }
+            }
+            ByteBuffer source = records.duplicate();
+            source.clear();
+            grown.records.put(source);
+            grown.records.clear();
+            return grown;
+        }
+    }
+}
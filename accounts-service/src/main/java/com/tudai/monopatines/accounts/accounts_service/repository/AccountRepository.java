@@ -1,19 +1,46 @@
 package com.tudai.monopatines.accounts.accounts_service.repository;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
 import com.tudai.monopatines.accounts.accounts_service.entity.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Account.
  * Proporciona métodos para realizar operaciones CRUD sobre cuentas.
  * 
+ * Los métodos find...Response(s) son proyecciones para los endpoints de lectura: seleccionan
+ * solo las columnas necesarias directamente en el DTO, sin crear entidades administradas
+ * (sin snapshot del contexto de persistencia ni dirty checking).
+ * 
  */
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /**
+     * SELECT de la proyección AccountResponse (expresión constructor).
+     */
+    String SELECT_ACCOUNT_RESPONSE = "SELECT new com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse("
+            + "a.id, a.identificationNumber, a.mercadoPagoAccountId, a.currentBalance, a.active, a.createdAt, a.cancelledAt, a.version) "
+            + "FROM Account a";
+
+    /**
+     * SELECT de la proyección BalanceResponse (expresión constructor).
+     */
+    String SELECT_BALANCE_RESPONSE = "SELECT new com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse("
+            + "a.id, a.currentBalance, a.version) FROM Account a";
+
     /**
      * Verifica si existe una cuenta con el número identificatorio especificado.
      * 
@@ -35,5 +62,125 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return Lista de cuentas inactivas
      */
     List<Account> findByActiveFalse();
-}
 
+    /**
+     * Obtiene las cuentas cuyos IDs están en la colección especificada.
+     * Se resuelve con una única consulta IN.
+     * 
+     * @param ids IDs de las cuentas a buscar
+     * @return Lista de cuentas encontradas (los IDs inexistentes se omiten)
+     */
+    List<Account> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Obtiene una página de cuentas ordenadas por ID con paginación keyset
+     * (usa el índice accounts(active, id) cuando se filtra por estado).
+     * 
+     * @param afterId Último ID de la página anterior (se devuelven cuentas con ID mayor)
+     * @param active Filtra por estado (null para todas)
+     * @param pageable Tamaño de la página
+     * @return Cuentas de la página, ordenadas por ID
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.id > :afterId AND (:active IS NULL OR a.active = :active) ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findPage(@Param("afterId") Long afterId, @Param("active") Boolean active, Pageable pageable);
+
+    /**
+     * Obtiene, de los números identificatorios especificados, los que ya están registrados.
+     * Se utiliza en las importaciones masivas para verificar la unicidad de un chunk completo
+     * con una única consulta.
+     * 
+     * @param identificationNumbers Números identificatorios a verificar
+     * @return Números identificatorios ya registrados
+     */
+    @Query("SELECT a.identificationNumber FROM Account a WHERE a.identificationNumber IN :identificationNumbers")
+    List<String> findExistingIdentificationNumbers(
+            @Param("identificationNumbers") Collection<String> identificationNumbers);
+
+    /**
+     * Obtiene los datos de una cuenta como proyección AccountResponse.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con la cuenta o vacío si no existe
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<AccountResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Obtiene todas las cuentas como proyección AccountResponse.
+     * 
+     * @return Lista de todas las cuentas
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findAllResponses();
+
+    /**
+     * Obtiene todas las cuentas activas (no anuladas) como proyección AccountResponse.
+     * 
+     * @return Lista de cuentas activas
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.active = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findActiveResponses();
+
+    /**
+     * Obtiene varias cuentas como proyección AccountResponse con una única consulta IN.
+     * 
+     * @param ids IDs de las cuentas
+     * @return Cuentas encontradas (sin orden garantizado; los IDs inexistentes se omiten)
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene el saldo de una cuenta como proyección BalanceResponse.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con el saldo o vacío si la cuenta no existe
+     */
+    @Query(SELECT_BALANCE_RESPONSE + " WHERE a.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<BalanceResponse> findBalanceById(@Param("id") Long id);
+
+    /**
+     * Obtiene el saldo de varias cuentas como proyección BalanceResponse con una única consulta IN.
+     * 
+     * @param ids IDs de las cuentas
+     * @return Saldos encontrados (sin orden garantizado; los IDs inexistentes se omiten)
+     */
+    @Query(SELECT_BALANCE_RESPONSE + " WHERE a.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BalanceResponse> findBalancesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene el estado (activa/anulada) de una cuenta.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con el estado o vacío si la cuenta no existe
+     */
+    @Query("SELECT a.active FROM Account a WHERE a.id = :id")
+    Optional<Boolean> findActiveById(@Param("id") Long id);
+
+    /**
+     * Obtiene solo la versión de una cuenta (para responder If-None-Match sin cargar la cuenta).
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con la versión o vacío si la cuenta no existe
+     */
+    @Query("SELECT a.version FROM Account a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Obtiene una página de cuentas como tuplas (id, currentBalance, active, version), ordenadas por ID.
+     * Se utiliza para cargar el modelo de lectura fuera del heap con keyset pagination, sin instanciar entidades.
+     * 
+     * @param afterId Último ID leído (se devuelven cuentas con ID mayor)
+     * @param pageable Tamaño de la página
+     * @return Lista de tuplas [id, currentBalance, active, version]
+     */
+    @Query("SELECT a.id, a.currentBalance, a.active, a.version FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findReadModelPage(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,9 +1,20 @@
 package com.tudai.monopatines.accounts.accounts_service.repository;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
 import com.tudai.monopatines.accounts.accounts_service.entity.AccountUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repositorio para la entidad AccountUser.
  * Proporciona métodos para realizar operaciones CRUD sobre la relación entre cuentas y usuarios.
@@ -11,5 +22,61 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
-}
 
+    /**
+     * Verifica si existe una asociación entre una cuenta y un usuario.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userId ID del usuario
+     * @return true si existe la asociación, false en caso contrario
+     */
+    boolean existsByAccountIdAndUserId(Long accountId, Long userId);
+
+    /**
+     * Obtiene, de los usuarios especificados, los IDs de los que ya están asociados a la cuenta.
+     * Se resuelve con una única consulta IN sobre account_user.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userIds IDs de los usuarios a verificar
+     * @return IDs de los usuarios ya asociados a la cuenta
+     */
+    @Query("SELECT au.user.id FROM AccountUser au WHERE au.account.id = :accountId AND au.user.id IN :userIds")
+    List<Long> findAssociatedUserIds(@Param("accountId") Long accountId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Obtiene una página de asociaciones como tuplas (id, accountId, userId), ordenadas por ID.
+     * Se utiliza para cargar el índice en memoria con keyset pagination, sin instanciar entidades.
+     * 
+     * @param afterId Último ID leído (se devuelven asociaciones con ID mayor)
+     * @param pageable Tamaño de la página
+     * @return Lista de tuplas [id, accountId, userId]
+     */
+    @Query("SELECT au.id, au.account.id, au.user.id FROM AccountUser au WHERE au.id > :afterId ORDER BY au.id")
+    List<Object[]> findMembershipPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Obtiene los usuarios asociados a una cuenta como proyección UserResponse (sin roles),
+     * con un JOIN en lugar de recorrer todas las asociaciones.
+     * 
+     * @param accountId ID de la cuenta
+     * @return Usuarios asociados, en orden de asociación
+     */
+    @Query("SELECT new com.tudai.monopatines.accounts.accounts_service.dto.UserResponse("
+            + "u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.createdAt, u.version) "
+            + "FROM AccountUser au JOIN au.user u WHERE au.account.id = :accountId ORDER BY au.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserResponse> findUserResponsesByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Obtiene las cuentas asociadas a un usuario como proyección AccountResponse,
+     * con un JOIN en lugar de recorrer todas las asociaciones.
+     * 
+     * @param userId ID del usuario
+     * @return Cuentas asociadas, en orden de asociación
+     */
+    @Query("SELECT new com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse("
+            + "a.id, a.identificationNumber, a.mercadoPagoAccountId, a.currentBalance, a.active, a.createdAt, a.cancelledAt, a.version) "
+            + "FROM AccountUser au JOIN au.account a WHERE au.user.id = :userId ORDER BY au.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findAccountResponsesByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,108 @@
+package com.tudai.monopatines.accounts.accounts_service.repository;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_service.entity.ArchivedAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad ArchivedAccount (tabla accounts_archive).
+ * 
+ * Las consultas son las mismas proyecciones de lectura que AccountRepository, de modo que
+ * AccountService pueda resolver una cuenta archivada con la misma respuesta que una cuenta
+ * de la tabla principal.
+ * 
+ */
+@Repository
+public interface ArchivedAccountRepository extends JpaRepository<ArchivedAccount, Long> {
+
+    /**
+     * SELECT de la proyección AccountResponse (expresión constructor).
+     */
+    String SELECT_ACCOUNT_RESPONSE = "SELECT new com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse("
+            + "a.id, a.identificationNumber, a.mercadoPagoAccountId, a.currentBalance, a.active, a.createdAt, a.cancelledAt, a.version) "
+            + "FROM ArchivedAccount a";
+
+    /**
+     * SELECT de la proyección BalanceResponse (expresión constructor).
+     */
+    String SELECT_BALANCE_RESPONSE = "SELECT new com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse("
+            + "a.id, a.currentBalance, a.version) FROM ArchivedAccount a";
+
+    /**
+     * Verifica si existe una cuenta archivada con el número identificatorio especificado.
+     * 
+     * @param identificationNumber Número identificatorio de la cuenta
+     * @return true si existe una cuenta archivada con ese número identificatorio
+     */
+    boolean existsByIdentificationNumber(String identificationNumber);
+
+    /**
+     * Obtiene, de los números identificatorios especificados, los que pertenecen a cuentas archivadas.
+     * 
+     * @param identificationNumbers Números identificatorios a verificar
+     * @return Números identificatorios de cuentas archivadas
+     */
+    @Query("SELECT a.identificationNumber FROM ArchivedAccount a WHERE a.identificationNumber IN :identificationNumbers")
+    List<String> findExistingIdentificationNumbers(
+            @Param("identificationNumbers") Collection<String> identificationNumbers);
+
+    /**
+     * Obtiene los datos de una cuenta archivada como proyección AccountResponse.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con la cuenta o vacío si no está archivada
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<AccountResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Obtiene varias cuentas archivadas como proyección AccountResponse con una única consulta IN.
+     * 
+     * @param ids IDs de las cuentas
+     * @return Cuentas archivadas encontradas (sin orden garantizado)
+     */
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AccountResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene el saldo de una cuenta archivada como proyección BalanceResponse.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con el saldo o vacío si la cuenta no está archivada
+     */
+    @Query(SELECT_BALANCE_RESPONSE + " WHERE a.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<BalanceResponse> findBalanceById(@Param("id") Long id);
+
+    /**
+     * Obtiene el saldo de varias cuentas archivadas como proyección BalanceResponse con una única consulta IN.
+     * 
+     * @param ids IDs de las cuentas
+     * @return Saldos encontrados (sin orden garantizado)
+     */
+    @Query(SELECT_BALANCE_RESPONSE + " WHERE a.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BalanceResponse> findBalancesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene solo la versión de una cuenta archivada.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con la versión o vacío si la cuenta no está archivada
+     */
+    @Query("SELECT a.version FROM ArchivedAccount a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
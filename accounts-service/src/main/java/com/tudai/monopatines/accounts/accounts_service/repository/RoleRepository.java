@@ -1,7 +1,10 @@
 package com.tudai.monopatines.accounts.accounts_service.repository;
 
 import com.tudai.monopatines.accounts.accounts_service.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -19,6 +22,10 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param name Nombre del rol (ej: "ROLE_USER", "ROLE_ADMIN")
      * @return Optional con el rol encontrado o vacío si no existe
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-by-name")
+    })
     Optional<Role> findByName(String name);
 
     /**
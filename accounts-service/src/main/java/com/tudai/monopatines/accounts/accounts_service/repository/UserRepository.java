@@ -1,19 +1,38 @@
 package com.tudai.monopatines.accounts.accounts_service.repository;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad User.
  * Proporciona métodos para realizar operaciones CRUD sobre usuarios.
  * 
+ * Los métodos find...Response(s) son proyecciones para los endpoints de lectura: seleccionan
+ * solo las columnas necesarias directamente en el DTO (sin roles), sin crear entidades administradas.
+ * 
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * SELECT de la proyección UserResponse (expresión constructor, sin roles).
+     */
+    String SELECT_USER_RESPONSE = "SELECT new com.tudai.monopatines.accounts.accounts_service.dto.UserResponse("
+            + "u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.createdAt, u.version) FROM User u";
+
     /**
      * Busca un usuario por su email.
      * El email es único en el sistema, por lo que este método devuelve un único usuario.
@@ -30,5 +49,122 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true si existe un usuario con ese email, false en caso contrario
      */
     boolean existsByEmail(String email);
-}
 
+    /**
+     * Obtiene los usuarios cuyos IDs están en la colección especificada.
+     * Se resuelve con una única consulta IN.
+     * 
+     * @param ids IDs de los usuarios a buscar
+     * @return Lista de usuarios encontrados (los IDs inexistentes se omiten)
+     */
+    List<User> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Obtiene, de los IDs especificados, los que corresponden a usuarios existentes.
+     * Solo lee la columna id, sin instanciar las entidades.
+     * 
+     * @param ids IDs de los usuarios a verificar
+     * @return IDs de los usuarios existentes
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene, de los emails especificados, los que ya están registrados.
+     * Se utiliza en las importaciones masivas para verificar la unicidad de un chunk completo
+     * con una única consulta.
+     * 
+     * @param emails Emails a verificar
+     * @return Emails ya registrados
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Obtiene los datos de un usuario como proyección UserResponse (sin roles).
+     * 
+     * @param id ID del usuario
+     * @return Optional con el usuario o vacío si no existe
+     */
+    @Query(SELECT_USER_RESPONSE + " WHERE u.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Obtiene los datos de un usuario por email como proyección UserResponse (sin roles).
+     * 
+     * @param email Email del usuario
+     * @return Optional con el usuario o vacío si no existe
+     */
+    @Query(SELECT_USER_RESPONSE + " WHERE u.email = :email")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserResponse> findResponseByEmail(@Param("email") String email);
+
+    /**
+     * Obtiene todos los usuarios como proyección UserResponse (sin roles).
+     * 
+     * @return Lista de todos los usuarios
+     */
+    @Query(SELECT_USER_RESPONSE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserResponse> findAllResponses();
+
+    /**
+     * Obtiene varios usuarios como proyección UserResponse (sin roles) con una única consulta IN.
+     * 
+     * @param ids IDs de los usuarios
+     * @return Usuarios encontrados (sin orden garantizado; los IDs inexistentes se omiten)
+     */
+    @Query(SELECT_USER_RESPONSE + " WHERE u.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene una página de usuarios como tuplas (id, email, firstName, lastName), ordenadas por ID.
+     * Se utiliza para cargar el índice de búsqueda en memoria con keyset pagination, sin instanciar entidades.
+     * 
+     * @param afterId Último ID leído (se devuelven usuarios con ID mayor)
+     * @param pageable Tamaño de la página
+     * @return Lista de tuplas [id, email, firstName, lastName]
+     */
+    @Query("SELECT u.id, u.email, u.firstName, u.lastName FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findSearchTermsPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Obtiene el hash de la contraseña de un usuario (columna lazy, no se carga con la entidad).
+     * 
+     * @param id ID del usuario
+     * @return Optional con la contraseña o vacío si el usuario no existe o no tiene contraseña
+     */
+    @Query("SELECT u.password FROM User u WHERE u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    /**
+     * Obtiene el hash de la contraseña de un usuario por email (columna lazy, no se carga con la entidad).
+     * 
+     * @param email Email del usuario
+     * @return Optional con la contraseña o vacío si el usuario no existe o no tiene contraseña
+     */
+    @Query("SELECT u.password FROM User u WHERE u.email = :email")
+    Optional<String> findPasswordByEmail(@Param("email") String email);
+
+    /**
+     * Obtiene solo la versión de un usuario (para responder If-None-Match sin cargar el usuario ni sus roles).
+     * 
+     * @param id ID del usuario
+     * @return Optional con la versión o vacío si el usuario no existe
+     */
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Incrementa la versión de un usuario sin modificar sus datos.
+     * Se utiliza cuando cambian sus roles, que forman parte de su representación (UserResponse).
+     * 
+     * @param id ID del usuario
+     * @return Cantidad de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.version = u.version + 1 WHERE u.id = :id")
+    int incrementVersion(@Param("id") Long id);
+}
@@ -3,9 +3,15 @@ package com.tudai.monopatines.accounts.accounts_service.repository;
 import com.tudai.monopatines.accounts.accounts_service.entity.Role;
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
 import com.tudai.monopatines.accounts.accounts_service.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,11 @@ import java.util.Optional;
 @Repository
 public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
 
+    /**
+     * Región de la cache de segundo nivel con los nombres de roles de cada usuario.
+     */
+    String USER_ROLES_CACHE_REGION = "user-roles";
+
     /**
      * Busca todos los roles asignados a un usuario.
      * 
@@ -32,6 +43,41 @@ public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
      */
     List<UserRole> findByUserId(Long userId);
 
+    /**
+     * Busca todos los roles asignados a un conjunto de usuarios.
+     * Trae el rol en la misma consulta (JOIN FETCH) para resolver los roles
+     * de todos los usuarios con una única consulta.
+     * 
+     * @param userIds IDs de los usuarios
+     * @return Lista de UserRole con el rol ya inicializado
+     */
+    @Query("SELECT ur FROM UserRole ur JOIN FETCH ur.role WHERE ur.user.id IN :userIds")
+    List<UserRole> findByUserIdInFetchRole(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Obtiene los nombres de los roles asignados a un usuario, sin cargar entidades.
+     * El resultado se guarda en la cache de segundo nivel (región user-roles) y se invalida
+     * cuando Hibernate escribe en user_roles o roles.
+     * 
+     * @param userId ID del usuario
+     * @return Lista de nombres de roles (vacía si el usuario no existe o no tiene roles)
+     */
+    @Query("SELECT ur.role.name FROM UserRole ur WHERE ur.user.id = :userId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_ROLES_CACHE_REGION)
+    })
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene los pares (ID de usuario, nombre de rol) de un conjunto de usuarios, sin cargar entidades.
+     * 
+     * @param userIds IDs de los usuarios
+     * @return Lista de arreglos [userId, roleName]
+     */
+    @Query("SELECT ur.user.id, ur.role.name FROM UserRole ur WHERE ur.user.id IN :userIds")
+    List<Object[]> findRoleNamesByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
     /**
      * Busca la relación entre un usuario y un rol específico.
      * 
@@ -1,5 +1,8 @@
 package com.tudai.monopatines.accounts.accounts_service.service;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
@@ -33,6 +36,15 @@ public interface AccountService {
      */
     AccountResponse getAccountById(Long id);
 
+    /**
+     * Obtiene varias cuentas por sus IDs con una única consulta.
+     * 
+     * @param ids IDs de las cuentas a buscar (los duplicados se ignoran)
+     * @return Lista de AccountResponse en el orden solicitado; los IDs inexistentes se omiten
+     * @throws BatchSizeExceededException si se solicitan más IDs que el máximo configurado
+     */
+    List<AccountResponse> getAccountsByIds(List<Long> ids);
+
     /**
      * Obtiene todas las cuentas.
      * 
@@ -47,6 +59,25 @@ public interface AccountService {
      */
     List<AccountResponse> getActiveAccounts();
 
+    /**
+     * Obtiene una página de cuentas ordenadas por ID usando paginación keyset.
+     * 
+     * @param afterId Último ID de la página anterior (null para la primera página)
+     * @param limit Cantidad máxima de cuentas de la página
+     * @param active Filtra por estado (null para todas)
+     * @return AccountPageResponse con las cuentas y el ID para pedir la página siguiente
+     * @throws BatchSizeExceededException si limit supera el máximo configurado
+     */
+    AccountPageResponse getAccountsPage(Long afterId, int limit, Boolean active);
+
+    /**
+     * Obtiene los agregados de cuentas: saldo total, cantidad de cuentas activas y anuladas
+     * y distribución de cuentas por rango de saldo.
+     * 
+     * @return AccountAggregatesResponse con los agregados actuales
+     */
+    AccountAggregatesResponse getAggregates();
+
     /**
      * Actualiza los datos de una cuenta existente.
      * 
@@ -58,6 +89,33 @@ public interface AccountService {
      */
     AccountResponse updateAccount(Long id, AccountRequest request);
 
+    /**
+     * Actualiza los datos de una cuenta existente si su versión es la esperada (If-Match).
+     * 
+     * @param id ID de la cuenta a actualizar
+     * @param request Datos actualizados de la cuenta
+     * @param expectedVersion Versión esperada de la cuenta (null para no verificarla)
+     * @return AccountResponse con la cuenta actualizada
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws AccountAlreadyExistsException si el nuevo número identificatorio ya existe
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    AccountResponse updateAccount(Long id, AccountRequest request, Long expectedVersion);
+
+    /**
+     * Modifica solo los campos presentes de una cuenta (JSON Merge Patch) si su versión es la esperada.
+     * Si ningún campo cambia, no se escribe en la base de datos y la versión se mantiene.
+     * 
+     * @param id ID de la cuenta a modificar
+     * @param request Campos a modificar (los null se conservan)
+     * @param expectedVersion Versión esperada de la cuenta (null para no verificarla)
+     * @return AccountResponse con la cuenta modificada
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws AccountAlreadyExistsException si el nuevo número identificatorio ya existe
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    AccountResponse patchAccount(Long id, AccountPatchRequest request, Long expectedVersion);
+
     /**
      * Anula una cuenta (requerimiento del TP).
      * Marca la cuenta como inactiva y establece la fecha de anulación.
@@ -69,6 +127,17 @@ public interface AccountService {
      */
     AccountResponse cancelAccount(Long id);
 
+    /**
+     * Anula una cuenta si su versión es la esperada (If-Match).
+     * 
+     * @param id ID de la cuenta a anular
+     * @param expectedVersion Versión esperada de la cuenta (null para no verificarla)
+     * @return AccountResponse con la cuenta anulada
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    AccountResponse cancelAccount(Long id, Long expectedVersion);
+
     /**
      * Carga saldo a una cuenta.
      * Incrementa el saldo actual de la cuenta con el monto especificado.
@@ -81,6 +150,19 @@ public interface AccountService {
      */
     BalanceResponse loadBalance(Long id, BalanceRequest request);
 
+    /**
+     * Carga saldo a una cuenta si su versión es la esperada (If-Match).
+     * 
+     * @param id ID de la cuenta
+     * @param request Monto a cargar (debe ser positivo)
+     * @param expectedVersion Versión esperada de la cuenta (null para no verificarla)
+     * @return BalanceResponse con el saldo actualizado
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws AccountInactiveException si la cuenta está anulada
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    BalanceResponse loadBalance(Long id, BalanceRequest request, Long expectedVersion);
+
     /**
      * Descuenta saldo de una cuenta (usado por otros servicios).
      * Se utiliza cuando se activa un monopatín o se finaliza un viaje.
@@ -94,6 +176,20 @@ public interface AccountService {
      */
     BalanceResponse deductBalance(Long id, Double amount);
 
+    /**
+     * Descuenta saldo de una cuenta si su versión es la esperada (If-Match).
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto a descontar
+     * @param expectedVersion Versión esperada de la cuenta (null para no verificarla)
+     * @return BalanceResponse con el saldo actualizado
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws AccountInactiveException si la cuenta está anulada
+     * @throws InsufficientBalanceException si no hay saldo suficiente
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    BalanceResponse deductBalance(Long id, Double amount, Long expectedVersion);
+
     /**
      * Obtiene el saldo actual de una cuenta.
      * 
@@ -103,6 +199,25 @@ public interface AccountService {
      */
     BalanceResponse getBalance(Long id);
 
+    /**
+     * Obtiene solo la versión de una cuenta, sin cargar sus datos.
+     * Se utiliza para responder If-None-Match de la cuenta y de su saldo.
+     * 
+     * @param id ID de la cuenta
+     * @return Versión actual de la cuenta
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     */
+    long getAccountVersion(Long id);
+
+    /**
+     * Obtiene el saldo actual de varias cuentas con una única consulta.
+     * 
+     * @param ids IDs de las cuentas (los duplicados se ignoran)
+     * @return Lista de BalanceResponse en el orden solicitado; los IDs inexistentes se omiten
+     * @throws BatchSizeExceededException si se solicitan más IDs que el máximo configurado
+     */
+    List<BalanceResponse> getBalances(List<Long> ids);
+
     /**
      * Verifica si una cuenta está activa (para otros servicios).
      * 
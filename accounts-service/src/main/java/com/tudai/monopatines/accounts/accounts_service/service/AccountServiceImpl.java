@@ -1,5 +1,10 @@
 package com.tudai.monopatines.accounts.accounts_service.service;
 
+import com.tudai.monopatines.accounts.accounts_service.aggregates.AccountAggregates;
+import com.tudai.monopatines.accounts.accounts_service.audit.AuditJournal;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
@@ -8,34 +13,85 @@ import com.tudai.monopatines.accounts.accounts_service.entity.Account;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountInactiveException;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.BatchSizeExceededException;
 import com.tudai.monopatines.accounts.accounts_service.exception.InsufficientBalanceException;
+import com.tudai.monopatines.accounts.accounts_service.exception.VersionMismatchException;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountEventType;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountOutbox;
+import com.tudai.monopatines.accounts.accounts_service.readmodel.OffHeapAccountReadModel;
 import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.repository.ArchivedAccountRepository;
 import com.tudai.monopatines.accounts.accounts_service.util.MapperUtil;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Implementación del servicio para gestionar cuentas.
  * Contiene la lógica de negocio para todas las operaciones relacionadas con cuentas.
  * 
+ * Las lecturas por ID que no encuentran la cuenta en la tabla accounts la buscan en el archivo
+ * (accounts_archive, ver AccountArchiver), por lo que las cuentas archivadas se siguen
+ * obteniendo igual que antes de ser archivadas. Las cuentas archivadas son de solo lectura.
+ * 
+ * Si el modelo de lectura fuera del heap está habilitado (ver OffHeapAccountReadModel),
+ * getBalance e isAccountActive lo consultan antes que a la base de datos, y cada escritura
+ * lo actualiza luego del commit.
+ * 
+ * Cada cambio registra un evento en el outbox (AccountOutbox) dentro de la misma transacción.
+ * 
+ * Las escrituras se protegen con bloqueo optimista (@Version): si dos transacciones modifican
+ * la misma cuenta, la que confirma después falla con OptimisticLockingFailureException en lugar
+ * de pisar el cambio de la otra. Las escrituras que reciben una versión esperada (If-Match)
+ * fallan con VersionMismatchException si la cuenta ya cambió. Se guardan con saveAndFlush
+ * para que la respuesta incluya la versión nueva.
+ * 
  */
 @Service
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final ArchivedAccountRepository archivedAccountRepository;
+    private final AccountAggregates accountAggregates;
+    private final OffHeapAccountReadModel readModel;
+    private final AuditJournal auditJournal;
+    private final AccountOutbox accountOutbox;
+    private final int maxBatchSize;
 
     /**
      * Constructor del servicio.
      * 
      * @param accountRepository Repositorio para acceder a la base de datos de cuentas
+     * @param archivedAccountRepository Repositorio de cuentas archivadas
+     * @param accountAggregates Agregados de cuentas en memoria, actualizados luego de cada commit
+     * @param readModel Modelo de lectura fuera del heap para saldo y estado, actualizado luego de cada commit
+     * @param auditJournal Journal de auditoría de las operaciones de saldo y anulaciones
+     * @param accountOutbox Outbox donde se registra un evento por cada cambio, en la misma transacción
+     * @param maxBatchSize Cantidad máxima de IDs aceptada por las consultas batch
      */
-    public AccountServiceImpl(AccountRepository accountRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, ArchivedAccountRepository archivedAccountRepository,
+                              AccountAggregates accountAggregates, OffHeapAccountReadModel readModel,
+                              AuditJournal auditJournal, AccountOutbox accountOutbox,
+                              @Value("${accounts.batch.max-size:100}") int maxBatchSize) {
         this.accountRepository = accountRepository;
+        this.archivedAccountRepository = archivedAccountRepository;
+        this.accountAggregates = accountAggregates;
+        this.readModel = readModel;
+        this.auditJournal = auditJournal;
+        this.accountOutbox = accountOutbox;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
@@ -47,7 +103,7 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public AccountResponse createAccount(AccountRequest request) {
         // Verificar si ya existe una cuenta con el mismo número identificatorio
-        if (accountRepository.existsByIdentificationNumber(request.getIdentificationNumber())) {
+        if (isIdentificationNumberTaken(request.getIdentificationNumber())) {
             throw AccountAlreadyExistsException.forIdentificationNumber(request.getIdentificationNumber());
         }
 
@@ -57,57 +113,99 @@ public class AccountServiceImpl implements AccountService {
         account.setCurrentBalance(request.getCurrentBalance() != null ? request.getCurrentBalance() : 0.0);
 
         Account savedAccount = accountRepository.save(account);
+        boolean active = savedAccount.getActive();
+        double balance = savedAccount.getCurrentBalance();
+        TransactionUtil.afterCommit(() -> accountAggregates.accountCreated(active, balance));
+        registerInReadModel(savedAccount);
+        accountOutbox.accountChanged(AccountEventType.ACCOUNT_CREATED, savedAccount);
         return MapperUtil.mapAccountToResponse(savedAccount);
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Busca la cuenta en la base de datos y la convierte a DTO de respuesta.
+     * Implementación: Obtiene la cuenta como proyección directamente en el DTO de respuesta,
+     * sin cargar la entidad en el contexto de persistencia. Si no está en la tabla principal,
+     * la busca en el archivo.
      */
     @Override
     @Transactional(readOnly = true)
     public AccountResponse getAccountById(Long id) {
-        Optional<Account> accountOptional = accountRepository.findById(id);
+        Optional<AccountResponse> accountOptional = accountRepository.findResponseById(id)
+                .or(() -> archivedAccountRepository.findResponseById(id));
         if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
         }
-        Account account = accountOptional.get();
-        return MapperUtil.mapAccountToResponse(account);
+        return accountOptional.get();
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Obtiene todas las cuentas desde el repositorio,
-     * las mapea a DTOs de respuesta y retorna una lista con todos los resultados.
+     * Implementación: Resuelve todas las cuentas con una única consulta IN (más una sobre el archivo
+     * para las que no se encontraron) y las devuelve en el orden en que fueron solicitadas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountResponse> getAccountsByIds(List<Long> ids) {
+        return findInRequestOrder(ids, accountRepository::findResponsesByIdIn,
+                archivedAccountRepository::findResponsesByIdIn, AccountResponse::getId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Obtiene todas las cuentas como proyección directamente en DTOs de respuesta.
      */
     @Override
     @Transactional(readOnly = true)
     public List<AccountResponse> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
-        List<AccountResponse> responses = new ArrayList<>();
-        for (Account account : accounts) {
-            responses.add(MapperUtil.mapAccountToResponse(account));
-        }
-        return responses;
+        return accountRepository.findAllResponses();
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Obtiene todas las cuentas activas (no anuladas) desde el repositorio,
-     * las convierte a DTOs de respuesta y retorna una lista con todos los resultados.
+     * Implementación: Obtiene todas las cuentas activas (no anuladas) como proyección
+     * directamente en DTOs de respuesta.
      */
     @Override
     @Transactional(readOnly = true)
     public List<AccountResponse> getActiveAccounts() {
-        List<Account> accounts = accountRepository.findByActiveTrue();
-        List<AccountResponse> responses = new ArrayList<>();
-        for (Account account : accounts) {
-            responses.add(MapperUtil.mapAccountToResponse(account));
+        return accountRepository.findActiveResponses();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Pide una cuenta más que el límite para saber si hay una página siguiente
+     * sin ejecutar un COUNT. La consulta filtra por id > afterId, por lo que su costo no depende
+     * de la posición de la página (a diferencia de OFFSET).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AccountPageResponse getAccountsPage(Long afterId, int limit, Boolean active) {
+        if (limit < 1 || limit > maxBatchSize) {
+            throw new BatchSizeExceededException(limit, maxBatchSize);
         }
-        return responses;
+        long from = afterId != null ? afterId : 0L;
+        List<AccountResponse> accounts = accountRepository.findPage(from, active, PageRequest.of(0, limit + 1));
+
+        boolean hasMore = accounts.size() > limit;
+        List<AccountResponse> responses = new ArrayList<>(accounts.subList(0, Math.min(limit, accounts.size())));
+        Long nextAfterId = hasMore ? responses.get(responses.size() - 1).getId() : null;
+        return new AccountPageResponse(responses, nextAfterId, hasMore);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Retorna los contadores en memoria de AccountAggregates, sin acceder a la base de datos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AccountAggregatesResponse getAggregates() {
+        return accountAggregates.getSnapshot();
     }
 
     /**
@@ -118,26 +216,89 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public AccountResponse updateAccount(Long id, AccountRequest request) {
+        return updateAccount(id, request, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Busca la cuenta, verifica su versión, verifica que el nuevo número
+     * identificatorio no exista (si cambió), actualiza los campos y guarda los cambios en la base de datos.
+     */
+    @Override
+    public AccountResponse updateAccount(Long id, AccountRequest request, Long expectedVersion) {
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
         }
         Account account = accountOptional.get();
+        checkVersion(account, expectedVersion);
 
         // Verificar si el número identificatorio cambió y ya existe
         if (!account.getIdentificationNumber().equals(request.getIdentificationNumber())) {
-            if (accountRepository.existsByIdentificationNumber(request.getIdentificationNumber())) {
+            if (isIdentificationNumberTaken(request.getIdentificationNumber())) {
                 throw AccountAlreadyExistsException.forIdentificationNumber(request.getIdentificationNumber());
             }
         }
 
+        double oldBalance = account.getCurrentBalance();
         account.setIdentificationNumber(request.getIdentificationNumber());
         account.setMercadoPagoAccountId(request.getMercadoPagoAccountId());
         if (request.getCurrentBalance() != null) {
             account.setCurrentBalance(request.getCurrentBalance());
         }
 
-        Account updatedAccount = accountRepository.save(account);
+        Account updatedAccount = accountRepository.saveAndFlush(account);
+        registerBalanceChange(oldBalance, updatedAccount.getCurrentBalance());
+        registerInReadModel(updatedAccount);
+        accountOutbox.accountChanged(AccountEventType.ACCOUNT_UPDATED, updatedAccount);
+        return MapperUtil.mapAccountToResponse(updatedAccount);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Busca la cuenta, verifica su versión y asigna solo los campos presentes
+     * cuyo valor cambió. La unicidad del número identificatorio se verifica solo si cambia.
+     * Con @DynamicUpdate el UPDATE incluye únicamente las columnas modificadas; si no cambió
+     * ninguna, no se guarda ni se registra un evento en el outbox.
+     */
+    @Override
+    public AccountResponse patchAccount(Long id, AccountPatchRequest request, Long expectedVersion) {
+        Optional<Account> accountOptional = accountRepository.findById(id);
+        if (accountOptional.isEmpty()) {
+            throw new AccountNotFoundException(id);
+        }
+        Account account = accountOptional.get();
+        checkVersion(account, expectedVersion);
+
+        boolean changed = false;
+        String identificationNumber = request.getIdentificationNumber();
+        if (identificationNumber != null && !identificationNumber.equals(account.getIdentificationNumber())) {
+            if (isIdentificationNumberTaken(identificationNumber)) {
+                throw AccountAlreadyExistsException.forIdentificationNumber(identificationNumber);
+            }
+            account.setIdentificationNumber(identificationNumber);
+            changed = true;
+        }
+        String mercadoPagoAccountId = request.getMercadoPagoAccountId();
+        if (mercadoPagoAccountId != null && !mercadoPagoAccountId.equals(account.getMercadoPagoAccountId())) {
+            account.setMercadoPagoAccountId(mercadoPagoAccountId);
+            changed = true;
+        }
+        double oldBalance = account.getCurrentBalance();
+        if (request.getCurrentBalance() != null && request.getCurrentBalance() != oldBalance) {
+            account.setCurrentBalance(request.getCurrentBalance());
+            changed = true;
+        }
+        if (!changed) {
+            return MapperUtil.mapAccountToResponse(account);
+        }
+
+        Account updatedAccount = accountRepository.saveAndFlush(account);
+        registerBalanceChange(oldBalance, updatedAccount.getCurrentBalance());
+        registerInReadModel(updatedAccount);
+        accountOutbox.accountChanged(AccountEventType.ACCOUNT_UPDATED, updatedAccount);
         return MapperUtil.mapAccountToResponse(updatedAccount);
     }
 
@@ -149,14 +310,36 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public AccountResponse cancelAccount(Long id) {
+        return cancelAccount(id, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Busca la cuenta, verifica su versión y llama al método cancel() de la entidad.
+     */
+    @Override
+    public AccountResponse cancelAccount(Long id, Long expectedVersion) {
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
         }
         Account account = accountOptional.get();
+        checkVersion(account, expectedVersion);
 
+        boolean wasActive = account.getActive();
         account.cancel();
-        Account cancelledAccount = accountRepository.save(account);
+        if (wasActive) {
+            TransactionUtil.afterCommit(() -> {
+                accountAggregates.accountCancelled();
+                auditJournal.accountCancelled(id);
+            });
+        }
+        Account cancelledAccount = accountRepository.saveAndFlush(account);
+        registerInReadModel(cancelledAccount);
+        if (wasActive) {
+            accountOutbox.accountChanged(AccountEventType.ACCOUNT_CANCELLED, cancelledAccount);
+        }
         return MapperUtil.mapAccountToResponse(cancelledAccount);
     }
 
@@ -168,20 +351,38 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public BalanceResponse loadBalance(Long id, BalanceRequest request) {
+        return loadBalance(id, request, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Verifica la versión de la cuenta y luego carga el saldo como loadBalance(id, request).
+     */
+    @Override
+    public BalanceResponse loadBalance(Long id, BalanceRequest request, Long expectedVersion) {
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
-            throw new AccountNotFoundException(id);
+            throw accountNotFoundOrArchived(id);
         }
         Account account = accountOptional.get();
+        checkVersion(account, expectedVersion);
 
         if (!account.getActive()) {
             throw new AccountInactiveException(id);
         }
 
-        account.setCurrentBalance(account.getCurrentBalance() + request.getAmount());
-        Account updatedAccount = accountRepository.save(account);
+        double oldBalance = account.getCurrentBalance();
+        account.setCurrentBalance(oldBalance + request.getAmount());
+        Account updatedAccount = accountRepository.saveAndFlush(account);
+        registerBalanceChange(oldBalance, updatedAccount.getCurrentBalance());
+        registerInReadModel(updatedAccount);
+        accountOutbox.accountChanged(AccountEventType.BALANCE_CHANGED, updatedAccount);
+        double amount = request.getAmount();
+        double newBalance = updatedAccount.getCurrentBalance();
+        TransactionUtil.afterCommit(() -> auditJournal.balanceLoaded(id, amount, newBalance));
 
-        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance());
+        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance(), updatedAccount.getVersion());
     }
 
     /**
@@ -192,11 +393,22 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public BalanceResponse deductBalance(Long id, Double amount) {
+        return deductBalance(id, amount, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Verifica la versión de la cuenta y luego descuenta el saldo como deductBalance(id, amount).
+     */
+    @Override
+    public BalanceResponse deductBalance(Long id, Double amount, Long expectedVersion) {
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
-            throw new AccountNotFoundException(id);
+            throw accountNotFoundOrArchived(id);
         }
         Account account = accountOptional.get();
+        checkVersion(account, expectedVersion);
 
         if (!account.getActive()) {
             throw new AccountInactiveException(id);
@@ -206,26 +418,81 @@ public class AccountServiceImpl implements AccountService {
             throw new InsufficientBalanceException(account.getCurrentBalance(), amount);
         }
 
-        account.setCurrentBalance(account.getCurrentBalance() - amount);
-        Account updatedAccount = accountRepository.save(account);
+        double oldBalance = account.getCurrentBalance();
+        account.setCurrentBalance(oldBalance - amount);
+        Account updatedAccount = accountRepository.saveAndFlush(account);
+        registerBalanceChange(oldBalance, updatedAccount.getCurrentBalance());
+        registerInReadModel(updatedAccount);
+        accountOutbox.accountChanged(AccountEventType.BALANCE_CHANGED, updatedAccount);
+        double newBalance = updatedAccount.getCurrentBalance();
+        TransactionUtil.afterCommit(() -> auditJournal.balanceDeducted(id, amount, newBalance));
 
-        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance());
+        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance(), updatedAccount.getVersion());
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Busca la cuenta y retorna solo el saldo actual en un DTO BalanceResponse.
+     * Implementación: Si el modelo de lectura fuera del heap está cargado y contiene la cuenta,
+     * responde desde él sin acceder a la base de datos. La versión se lee antes y después del saldo;
+     * si cambió en el medio (escritura concurrente), el saldo puede no corresponder a la versión
+     * y se consulta la base de datos. Si no, obtiene solo el saldo actual y la versión como
+     * proyección en un DTO BalanceResponse, buscando en el archivo si la cuenta no está en la tabla principal.
      */
     @Override
     @Transactional(readOnly = true)
     public BalanceResponse getBalance(Long id) {
-        Optional<Account> accountOptional = accountRepository.findById(id);
-        if (accountOptional.isEmpty()) {
+        if (readModel.isLoaded()) {
+            long version = readModel.getVersion(id);
+            long balanceInCents = readModel.getBalanceInCents(id);
+            if (version != OffHeapAccountReadModel.MISSING_VERSION
+                    && balanceInCents != OffHeapAccountReadModel.MISSING_BALANCE
+                    && readModel.getVersion(id) == version) {
+                return new BalanceResponse(id, balanceInCents / 100.0, version);
+            }
+        }
+        Optional<BalanceResponse> balanceOptional = accountRepository.findBalanceById(id)
+                .or(() -> archivedAccountRepository.findBalanceById(id));
+        if (balanceOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
         }
-        Account account = accountOptional.get();
-        return new BalanceResponse(account.getId(), account.getCurrentBalance());
+        return balanceOptional.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Si el modelo de lectura fuera del heap está cargado y contiene la cuenta,
+     * responde desde él. Si no, consulta solo la columna version, en la tabla principal y luego en el archivo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getAccountVersion(Long id) {
+        if (readModel.isLoaded()) {
+            long version = readModel.getVersion(id);
+            if (version != OffHeapAccountReadModel.MISSING_VERSION) {
+                return version;
+            }
+        }
+        Optional<Long> versionOptional = accountRepository.findVersionById(id)
+                .or(() -> archivedAccountRepository.findVersionById(id));
+        if (versionOptional.isEmpty()) {
+            throw new AccountNotFoundException(id);
+        }
+        return versionOptional.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Resuelve todas las cuentas con una única consulta IN
+     * y retorna el saldo de cada una en el orden en que fueron solicitadas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BalanceResponse> getBalances(List<Long> ids) {
+        return findInRequestOrder(ids, accountRepository::findBalancesByIdIn,
+                archivedAccountRepository::findBalancesByIdIn, BalanceResponse::getAccountId);
     }
 
     /**
@@ -233,29 +500,157 @@ public class AccountServiceImpl implements AccountService {
      * 
      * Implementación: Busca la cuenta y retorna el estado activo (true/false).
      * Usado por otros microservicios para validar si una cuenta puede ser utilizada.
+     * Las cuentas archivadas están anuladas, por lo que retornan false.
+     * Si el modelo de lectura fuera del heap está cargado y contiene la cuenta, responde desde él.
      */
     @Override
     @Transactional(readOnly = true)
     public boolean isAccountActive(Long id) {
-        Optional<Account> accountOptional = accountRepository.findById(id);
-        if (accountOptional.isEmpty()) {
+        if (readModel.isLoaded()) {
+            int state = readModel.getActiveState(id);
+            if (state != OffHeapAccountReadModel.STATE_MISSING) {
+                return state == OffHeapAccountReadModel.STATE_ACTIVE;
+            }
+        }
+        Optional<Boolean> activeOptional = accountRepository.findActiveById(id);
+        if (activeOptional.isEmpty()) {
+            if (archivedAccountRepository.existsById(id)) {
+                return false;
+            }
             throw new AccountNotFoundException(id);
         }
-        Account account = accountOptional.get();
-        return account.getActive();
+        return activeOptional.get();
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Verifica que la cuenta exista y la elimina de la base de datos.
+     * Implementación: Busca la cuenta y la elimina de la base de datos. Se carga la entidad
+     * (en lugar de solo verificar que exista) para descontar su estado y saldo de los agregados.
      */
     @Override
     public void deleteAccount(Long id) {
-        if (!accountRepository.existsById(id)) {
+        Optional<Account> accountOptional = accountRepository.findById(id);
+        if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
         }
-        accountRepository.deleteById(id);
+        Account account = accountOptional.get();
+
+        boolean active = account.getActive();
+        double balance = account.getCurrentBalance();
+        long version = account.getVersion();
+        accountRepository.delete(account);
+        accountOutbox.accountDeleted(id);
+        TransactionUtil.afterCommit(() -> {
+            accountAggregates.accountDeleted(active, balance);
+            readModel.remove(id, version);
+        });
+    }
+
+    /**
+     * Verifica si un número identificatorio pertenece a una cuenta, vigente o archivada.
+     * 
+     * @param identificationNumber Número identificatorio a verificar
+     * @return true si ya está en uso
+     */
+    private boolean isIdentificationNumberTaken(String identificationNumber) {
+        return accountRepository.existsByIdentificationNumber(identificationNumber)
+                || archivedAccountRepository.existsByIdentificationNumber(identificationNumber);
+    }
+
+    /**
+     * Obtiene la excepción para una operación de saldo sobre una cuenta que no está en la tabla principal:
+     * si la cuenta fue archivada está anulada (AccountInactiveException); si no, no existe.
+     * 
+     * @param id ID de la cuenta
+     * @return Excepción a lanzar
+     */
+    private RuntimeException accountNotFoundOrArchived(Long id) {
+        if (archivedAccountRepository.existsById(id)) {
+            return new AccountInactiveException(id);
+        }
+        return new AccountNotFoundException(id);
+    }
+
+    /**
+     * Verifica que la versión de una cuenta sea la esperada por una actualización condicional.
+     * 
+     * @param account Cuenta a modificar
+     * @param expectedVersion Versión esperada (null si la actualización no es condicional)
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    private void checkVersion(Account account, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != account.getVersion().longValue()) {
+            throw new VersionMismatchException("Account", account.getId(), expectedVersion, account.getVersion());
+        }
+    }
+
+    /**
+     * Registra un cambio de saldo en los agregados luego del commit de la transacción.
+     * 
+     * @param oldBalance Saldo anterior
+     * @param newBalance Saldo nuevo
+     */
+    private void registerBalanceChange(double oldBalance, double newBalance) {
+        if (oldBalance != newBalance) {
+            TransactionUtil.afterCommit(() -> accountAggregates.balanceChanged(oldBalance, newBalance));
+        }
+    }
+
+    /**
+     * Registra el saldo, estado y versión de una cuenta en el modelo de lectura luego del commit de la transacción.
+     * 
+     * @param account Cuenta guardada
+     */
+    private void registerInReadModel(Account account) {
+        long id = account.getId();
+        double balance = account.getCurrentBalance();
+        boolean active = account.getActive();
+        long version = account.getVersion();
+        TransactionUtil.afterCommit(() -> readModel.put(id, balance, active, version));
     }
 
+    /**
+     * Busca varios elementos con una única consulta IN y los ordena según el orden de los IDs solicitados.
+     * Los IDs que no se encuentran se buscan en el archivo con una segunda consulta IN.
+     * Los IDs duplicados se ignoran y los inexistentes se omiten.
+     * 
+     * @param ids IDs de las cuentas a buscar
+     * @param query Consulta IN que resuelve los IDs (sin orden garantizado)
+     * @param archiveQuery Consulta IN equivalente sobre las cuentas archivadas
+     * @param idOf Obtiene el ID de cuenta de cada resultado
+     * @return Lista de resultados en el orden solicitado
+     * @throws BatchSizeExceededException si se solicitan más IDs que el máximo configurado
+     */
+    private <T> List<T> findInRequestOrder(List<Long> ids, Function<Set<Long>, List<T>> query,
+                                           Function<Set<Long>, List<T>> archiveQuery, Function<T, Long> idOf) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new BatchSizeExceededException(uniqueIds.size(), maxBatchSize);
+        }
+        if (uniqueIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, T> resultsById = new HashMap<>();
+        for (T result : query.apply(uniqueIds)) {
+            resultsById.put(idOf.apply(result), result);
+        }
+        if (resultsById.size() < uniqueIds.size()) {
+            Set<Long> missingIds = new LinkedHashSet<>(uniqueIds);
+            missingIds.removeAll(resultsById.keySet());
+            for (T result : archiveQuery.apply(missingIds)) {
+                resultsById.put(idOf.apply(result), result);
+            }
+        }
+
+        List<T> results = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            T result = resultsById.get(id);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
 }
@@ -3,29 +3,47 @@ package com.tudai.monopatines.accounts.accounts_service.service;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountUserResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountsByUserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationResult;
+import com.tudai.monopatines.accounts.accounts_service.dto.MembershipIndexStatsResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.UsersByAccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.entity.Account;
 import com.tudai.monopatines.accounts.accounts_service.entity.AccountUser;
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.BatchSizeExceededException;
 import com.tudai.monopatines.accounts.accounts_service.exception.UserNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.index.AccountMembershipIndex;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountEventType;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountOutbox;
 import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
 import com.tudai.monopatines.accounts.accounts_service.repository.AccountUserRepository;
 import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
-import com.tudai.monopatines.accounts.accounts_service.util.MapperUtil;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio para gestionar la relación many-to-many entre cuentas y usuarios.
  * Permite asociar y desasociar usuarios de cuentas, y consultar las relaciones existentes.
  * 
+ * Cada asociación y desasociación registra un evento en el outbox (AccountOutbox)
+ * dentro de la misma transacción.
+ * 
  */
 @Service
 @Transactional
@@ -35,6 +53,13 @@ public class AccountUserService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final RoleService roleService;
+    private final AccountMembershipIndex membershipIndex;
+    private final AccountOutbox accountOutbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBatchSize;
+
+    private static final String INSERT_ACCOUNT_USER_SQL =
+            "INSERT INTO account_user (account_id, user_id, associated_at) VALUES (?, ?, ?)";
 
     /**
      * Constructor del servicio.
@@ -43,15 +68,27 @@ public class AccountUserService {
      * @param accountRepository Repositorio para acceder a la base de datos de cuentas
      * @param userRepository Repositorio para acceder a la base de datos de usuarios
      * @param roleService Servicio para gestionar roles
+     * @param membershipIndex Índice en memoria de las asociaciones cuenta-usuario
+     * @param accountOutbox Outbox donde se registran las asociaciones y desasociaciones
+     * @param jdbcTemplate Template JDBC para las inserciones batch de asociaciones
+     * @param maxBatchSize Cantidad máxima de usuarios aceptada por la asociación masiva
      */
     public AccountUserService(AccountUserRepository accountUserRepository,
                               AccountRepository accountRepository,
                               UserRepository userRepository,
-                              RoleService roleService) {
+                              RoleService roleService,
+                              AccountMembershipIndex membershipIndex,
+                              AccountOutbox accountOutbox,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${accounts.batch.max-size:100}") int maxBatchSize) {
         this.accountUserRepository = accountUserRepository;
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
         this.roleService = roleService;
+        this.membershipIndex = membershipIndex;
+        this.accountOutbox = accountOutbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
@@ -98,6 +135,8 @@ public class AccountUserService {
 
         AccountUser accountUser = new AccountUser(account, user);
         AccountUser savedAccountUser = accountUserRepository.save(accountUser);
+        TransactionUtil.afterCommit(() -> membershipIndex.add(accountId, userId));
+        accountOutbox.membershipChanged(AccountEventType.USER_ASSOCIATED, accountId, List.of(userId));
 
         AccountUserResponse response = new AccountUserResponse();
         response.setAccountId(accountId);
@@ -107,6 +146,80 @@ public class AccountUserService {
         return response;
     }
 
+    /**
+     * Asocia varios usuarios a una cuenta en una sola operación.
+     * 
+     * Pensado para dar de alta cuentas familiares o corporativas. La operación trabaja por
+     * conjuntos: valida todos los usuarios con una única consulta IN, obtiene las asociaciones
+     * ya existentes con otra consulta y las asociaciones nuevas se insertan con un único batch
+     * JDBC, todo dentro de la misma transacción. Los usuarios inexistentes o ya asociados no
+     * interrumpen la operación; se informan en el resultado individual de cada usuario.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userIds IDs de los usuarios a asociar (los repetidos se procesan una sola vez)
+     * @return BulkAssociationResponse con el resultado de cada usuario, en el orden del request
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws BatchSizeExceededException si se solicitan más usuarios que el máximo configurado
+     */
+    public BulkAssociationResponse associateUsersToAccount(Long accountId, List<Long> userIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(userIds);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new BatchSizeExceededException(uniqueIds.size(), maxBatchSize);
+        }
+
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+
+        Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(uniqueIds));
+        Set<Long> alreadyAssociated = existingUsers.isEmpty()
+                ? Set.of()
+                : new HashSet<>(accountUserRepository.findAssociatedUserIds(accountId, existingUsers));
+
+        List<BulkAssociationResult> results = new ArrayList<>(uniqueIds.size());
+        List<Long> toInsert = new ArrayList<>();
+        for (Long userId : uniqueIds) {
+            BulkAssociationResult.Status status;
+            if (!existingUsers.contains(userId)) {
+                status = BulkAssociationResult.Status.USER_NOT_FOUND;
+            } else if (alreadyAssociated.contains(userId)) {
+                status = BulkAssociationResult.Status.ALREADY_ASSOCIATED;
+            } else {
+                status = BulkAssociationResult.Status.ASSOCIATED;
+                toInsert.add(userId);
+            }
+            results.add(new BulkAssociationResult(userId, status));
+        }
+
+        LocalDateTime associatedAt = LocalDateTime.now();
+        if (!toInsert.isEmpty()) {
+            Timestamp timestamp = Timestamp.valueOf(associatedAt);
+            jdbcTemplate.batchUpdate(INSERT_ACCOUNT_USER_SQL, toInsert, toInsert.size(), (ps, userId) -> {
+                ps.setLong(1, accountId);
+                ps.setLong(2, userId);
+                ps.setTimestamp(3, timestamp);
+            });
+            TransactionUtil.afterCommit(() -> {
+                for (Long userId : toInsert) {
+                    membershipIndex.add(accountId, userId);
+                }
+            });
+            accountOutbox.membershipChanged(AccountEventType.USER_ASSOCIATED, accountId, toInsert);
+        }
+
+        int notFound = uniqueIds.size() - existingUsers.size();
+        BulkAssociationResponse response = new BulkAssociationResponse();
+        response.setAccountId(accountId);
+        response.setAssociatedAt(associatedAt);
+        response.setAssociatedCount(toInsert.size());
+        response.setAlreadyAssociatedCount(alreadyAssociated.size());
+        response.setNotFoundCount(notFound);
+        response.setResults(results);
+        response.setMessage(toInsert.size() + " usuario(s) asociado(s) a la cuenta, "
+                + alreadyAssociated.size() + " ya asociado(s), " + notFound + " no encontrado(s)");
+        return response;
+    }
+
     /**
      * Desasocia un usuario de una cuenta.
      * 
@@ -149,6 +262,8 @@ public class AccountUserService {
 
         LocalDateTime associatedAt = accountUserToDelete.getAssociatedAt();
         accountUserRepository.delete(accountUserToDelete);
+        TransactionUtil.afterCommit(() -> membershipIndex.remove(accountId, userId));
+        accountOutbox.membershipChanged(AccountEventType.USER_DISASSOCIATED, accountId, List.of(userId));
 
         AccountUserResponse response = new AccountUserResponse();
         response.setAccountId(accountId);
@@ -158,6 +273,36 @@ public class AccountUserService {
         return response;
     }
 
+    /**
+     * Verifica si un usuario está asociado a una cuenta (puede usar sus créditos).
+     * 
+     * Se consulta en el inicio de cada viaje, por lo que se resuelve con el índice en memoria
+     * sin acceder a la base de datos. Solo si el índice todavía no terminó su carga inicial
+     * se consulta la tabla account_user.
+     * 
+     * @param accountId ID de la cuenta
+     * @param userId ID del usuario
+     * @return true si el usuario está asociado a la cuenta, false en caso contrario
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isUserAssociatedToAccount(Long accountId, Long userId) {
+        if (membershipIndex.isLoaded()) {
+            return membershipIndex.isMember(accountId, userId);
+        }
+        return accountUserRepository.existsByAccountIdAndUserId(accountId, userId);
+    }
+
+    /**
+     * Obtiene las estadísticas del índice en memoria de asociaciones,
+     * incluyendo la memoria estimada por millón de asociaciones.
+     * 
+     * @return MembershipIndexStatsResponse con las estadísticas del índice
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public MembershipIndexStatsResponse getMembershipIndexStats() {
+        return membershipIndex.getStats();
+    }
+
     /**
      * Obtiene todos los usuarios asociados a una cuenta.
      * 
@@ -171,21 +316,19 @@ public class AccountUserService {
     @Transactional(readOnly = true)
     public UsersByAccountResponse getUsersByAccount(Long accountId) {
         // Verificar que la cuenta existe
-        Optional<Account> accountOptional = accountRepository.findById(accountId);
-        if (accountOptional.isEmpty()) {
+        if (!accountRepository.existsById(accountId)) {
             throw new AccountNotFoundException(accountId);
         }
 
-        List<AccountUser> allAccountUsers = accountUserRepository.findAll();
-        List<UserResponse> responses = new ArrayList<>();
-        for (AccountUser au : allAccountUsers) {
-            if (au.getAccount().getId().equals(accountId)) {
-                UserResponse userResponse = MapperUtil.mapUserToResponse(au.getUser());
-                // Obtener roles para incluir en la respuesta
-                List<String> roles = roleService.getRolesByUserId(au.getUser().getId());
-                userResponse.setRoles(roles);
-                responses.add(userResponse);
-            }
+        // Usuarios de la cuenta como proyección al DTO y sus roles con una única consulta
+        List<UserResponse> responses = accountUserRepository.findUserResponsesByAccountId(accountId);
+        List<Long> userIds = new ArrayList<>();
+        for (UserResponse userResponse : responses) {
+            userIds.add(userResponse.getId());
+        }
+        Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(userIds);
+        for (UserResponse userResponse : responses) {
+            userResponse.setRoles(rolesByUserId.getOrDefault(userResponse.getId(), new ArrayList<>()));
         }
 
         String message;
@@ -215,18 +358,12 @@ public class AccountUserService {
     @Transactional(readOnly = true)
     public AccountsByUserResponse getAccountsByUser(Long userId) {
         // Verificar que el usuario existe
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
 
-        List<AccountUser> allAccountUsers = accountUserRepository.findAll();
-        List<AccountResponse> responses = new ArrayList<>();
-        for (AccountUser au : allAccountUsers) {
-            if (au.getUser().getId().equals(userId)) {
-                responses.add(MapperUtil.mapAccountToResponse(au.getAccount()));
-            }
-        }
+        // Cuentas del usuario como proyección al DTO
+        List<AccountResponse> responses = accountUserRepository.findAccountResponsesByUserId(userId);
 
         String message;
         if (responses.isEmpty()) {
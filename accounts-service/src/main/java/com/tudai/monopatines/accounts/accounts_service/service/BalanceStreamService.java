@@ -0,0 +1,381 @@
+package com.tudai.monopatines.accounts.accounts_service.service;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceUpdateResponse;
+import com.tudai.monopatines.accounts.accounts_service.exception.BalanceStreamLimitExceededException;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountEventType;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxEvent;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxRelay;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de streams de saldo (server-sent events) por cuenta.
+ * 
+ * Al conectarse, el cliente recibe el saldo y el estado actuales de la cuenta y luego un evento
+ * por cada cambio publicado por el OutboxRelay (cargas y descuentos, actualizaciones y anulación),
+ * incluidos los hechos en otras instancias. Si la cuenta se elimina, se envía un evento "deleted"
+ * y el stream se cierra.
+ * 
+ * Un stream abierto no ocupa un hilo: es una respuesta asincrónica de Tomcat que solo usa
+ * una conexión y su SseEmitter. Cada stream tiene su propia cola de envíos pendientes, acotada a
+ * accounts.balance-stream.max-pending-events. El relay y el heartbeat solo encolan, y un pool de
+ * accounts.balance-stream.sender-threads hilos ("balance-stream-sender-N") vacía las colas, un stream
+ * por vez en cada hilo. Un cliente lento bloquea solo el hilo que le está escribiendo; si su cola se
+ * llena, el stream se cierra (el cliente se vuelve a conectar y recibe el saldo actual) en lugar de
+ * acumular eventos o frenar a los demás.
+ * 
+ * Cada accounts.balance-stream.heartbeat-interval-ms se envía un comentario a los streams sin envíos
+ * pendientes, para que los proxies no cierren las conexiones inactivas y para detectar los clientes
+ * desconectados. Los streams se cierran luego de accounts.balance-stream.timeout-ms; el cliente se
+ * vuelve a conectar (y vuelve a autenticarse en el gateway).
+ * 
+ * El id de cada evento es el offset del outbox. Un cambio anterior a la foto inicial no se
+ * envía después de ella, y la foto no se envía si ya se envió un cambio posterior.
+ * 
+ */
+@Service
+public class BalanceStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceStreamService.class);
+
+    static final String BALANCE_EVENT = "balance";
+    static final String DELETED_EVENT = "deleted";
+
+    private final AccountService accountService;
+    private final OutboxRelay outboxRelay;
+    private final long timeoutMs;
+    private final int maxConnections;
+    private final int maxPendingEvents;
+    private final Map<Long, Set<Connection>> connectionsByAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ExecutorService sender;
+    private OutboxRelay.Subscription subscription;
+
+    /**
+     * Constructor del servicio.
+     * 
+     * @param accountService Servicio de cuentas, para la foto inicial del saldo y el estado
+     * @param outboxRelay Relay del outbox, del que se reciben los cambios de las cuentas
+     * @param timeoutMs Duración máxima de un stream, en milisegundos
+     * @param maxConnections Cantidad máxima de streams abiertos en la instancia
+     * @param maxPendingEvents Cantidad máxima de envíos pendientes por stream antes de cerrarlo
+     * @param senderThreads Cantidad de hilos que escriben los eventos en los streams
+     */
+    public BalanceStreamService(AccountService accountService,
+                                OutboxRelay outboxRelay,
+                                @Value("${accounts.balance-stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${accounts.balance-stream.max-connections:40000}") int maxConnections,
+                                @Value("${accounts.balance-stream.max-pending-events:64}") int maxPendingEvents,
+                                @Value("${accounts.balance-stream.sender-threads:4}") int senderThreads) {
+        this.accountService = accountService;
+        this.outboxRelay = outboxRelay;
+        this.timeoutMs = timeoutMs;
+        this.maxConnections = maxConnections;
+        this.maxPendingEvents = maxPendingEvents;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "balance-stream-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Se suscribe a los eventos nuevos del relay al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = outboxRelay.subscribe(-1, this::onEvents);
+    }
+
+    /**
+     * Abre un stream de saldo para una cuenta y le envía el saldo y el estado actuales.
+     * 
+     * @param accountId ID de la cuenta
+     * @return SseEmitter del stream
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws BalanceStreamLimitExceededException si la instancia ya tiene accounts.balance-stream.max-connections streams abiertos
+     */
+    public SseEmitter open(Long accountId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(accountId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Registra el SseEmitter de un stream y le envía la foto inicial de la cuenta.
+     * 
+     * La conexión se registra antes de leer la foto, para no perder los cambios confirmados
+     * entre la lectura y el registro.
+     */
+    Connection register(Long accountId, SseEmitter emitter) {
+        if (openConnections.incrementAndGet() > maxConnections) {
+            openConnections.decrementAndGet();
+            throw new BalanceStreamLimitExceededException(maxConnections);
+        }
+        Connection connection = new Connection(accountId, emitter);
+        connectionsByAccount.compute(accountId, (id, connections) -> {
+            Set<Connection> updated = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        try {
+            // Los eventos con offset menor o igual ya están confirmados y los incluye la foto
+            long snapshotOffset = outboxRelay.getLastRelayedOffset();
+            BalanceUpdateResponse snapshot = new BalanceUpdateResponse(accountId,
+                    accountService.getBalance(accountId).getCurrentBalance(),
+                    accountService.isAccountActive(accountId));
+            connection.enqueue(new PendingSend(snapshotOffset, BALANCE_EVENT, snapshot));
+        } catch (RuntimeException e) {
+            unregister(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Recibe un batch de eventos del relay y los encola en los streams abiertos de cada cuenta.
+     * Se ejecuta en el hilo del relay: no envía ni bloquea.
+     * 
+     * @param events Eventos del outbox, en orden de offset
+     */
+    void onEvents(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            if (!isBalanceEvent(event.type())) {
+                continue;
+            }
+            Set<Connection> connections = connectionsByAccount.get(event.accountId());
+            if (connections == null) {
+                continue;
+            }
+            PendingSend send = event.type() == AccountEventType.ACCOUNT_DELETED
+                    ? new PendingSend(event.offset(), DELETED_EVENT, event.accountId())
+                    : new PendingSend(event.offset(), BALANCE_EVENT,
+                            new BalanceUpdateResponse(event.accountId(), event.currentBalance(), event.active()));
+            for (Connection connection : connections) {
+                connection.enqueue(send);
+            }
+        }
+    }
+
+    /**
+     * Encola un comentario en los streams abiertos sin envíos pendientes.
+     * Se ejecuta cada accounts.balance-stream.heartbeat-interval-ms.
+     */
+    @Scheduled(fixedDelayString = "${accounts.balance-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Connection> connections : connectionsByAccount.values()) {
+            for (Connection connection : connections) {
+                connection.enqueue(PendingSend.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de streams abiertos en la instancia.
+     * 
+     * @return Cantidad de streams abiertos
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Cierra los streams abiertos y la suscripción al relay al detener la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (subscription != null) {
+            subscription.close();
+        }
+        for (Set<Connection> connections : connectionsByAccount.values()) {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        sender.shutdown();
+    }
+
+    private void unregister(Connection connection) {
+        if (connection.closed.getAndSet(true)) {
+            return;
+        }
+        openConnections.decrementAndGet();
+        connectionsByAccount.computeIfPresent(connection.accountId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static boolean isBalanceEvent(AccountEventType type) {
+        return type == AccountEventType.BALANCE_CHANGED
+                || type == AccountEventType.ACCOUNT_UPDATED
+                || type == AccountEventType.ACCOUNT_CANCELLED
+                || type == AccountEventType.ACCOUNT_DELETED;
+    }
+
+    /**
+     * Envío pendiente de un stream: un evento con su offset, o el comentario del heartbeat.
+     */
+    private record PendingSend(long offset, String name, Object data) {
+
+        private static final PendingSend HEARTBEAT = new PendingSend(Long.MIN_VALUE, null, null);
+    }
+
+    /**
+     * Stream abierto de una cuenta.
+     * 
+     * Los envíos se encolan desde cualquier hilo sin bloquear. Mientras la cola tiene envíos,
+     * un único hilo del pool la vacía (draining), de modo que los eventos de un stream se escriben
+     * en orden y de a uno. El SseEmitter solo se completa desde ese hilo o cuando no hay
+     * un envío en curso, para que el cierre de un stream lento no bloquee a quien lo cierra.
+     */
+    final class Connection {
+
+        private final long accountId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Envíos pendientes y estado del vaciado, protegidos por el lock de la conexión.
+         */
+        private final ArrayDeque<PendingSend> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean completing;
+
+        /**
+         * Offset del último evento enviado. Solo lo usa el hilo que vacía la cola.
+         */
+        private long lastOffset = Long.MIN_VALUE;
+
+        private Connection(long accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Encola un envío y, si la cola no se está vaciando, la vacía en un hilo del pool.
+         * 
+         * Si la cola está llena el cliente no consume los eventos: el stream se quita del servicio,
+         * se descartan los envíos pendientes y se completa cuando termina el envío en curso.
+         * El heartbeat solo se encola si no hay envíos pendientes.
+         */
+        private void enqueue(PendingSend send) {
+            synchronized (this) {
+                if (completing || (send == PendingSend.HEARTBEAT && draining)) {
+                    return;
+                }
+                if (pending.size() >= maxPendingEvents) {
+                    log.debug("Balance stream of account {} closed: {} events pending", accountId, pending.size());
+                    unregister(this);
+                    pending.clear();
+                    completing = true;
+                    return;
+                }
+                pending.add(send);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        /**
+         * Cierra el stream y lo quita del servicio. Los envíos ya encolados se envían antes de completarlo.
+         */
+        void close() {
+            unregister(this);
+            synchronized (this) {
+                if (completing) {
+                    return;
+                }
+                completing = true;
+                if (draining) {
+                    // El hilo que vacía la cola completa el stream al terminar
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+
+        /**
+         * Envía los envíos pendientes hasta vaciar la cola; luego completa el stream si se cerró.
+         */
+        private void drain() {
+            while (true) {
+                PendingSend send;
+                synchronized (this) {
+                    send = pending.poll();
+                    if (send == null) {
+                        draining = false;
+                        if (!completing) {
+                            return;
+                        }
+                    }
+                }
+                if (send == null) {
+                    emitter.complete();
+                    return;
+                }
+                if (!write(send)) {
+                    synchronized (this) {
+                        pending.clear();
+                        completing = true;
+                        draining = false;
+                    }
+                    return;
+                }
+                if (DELETED_EVENT.equals(send.name())) {
+                    synchronized (this) {
+                        pending.clear();
+                    }
+                    close();
+                }
+            }
+        }
+
+        /**
+         * Escribe un envío. Un evento con offset anterior o igual al último enviado se descarta.
+         * 
+         * @return true si se escribió o se descartó; false si el cliente se desconectó
+         */
+        private boolean write(PendingSend send) {
+            try {
+                if (send == PendingSend.HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (send.offset() > lastOffset) {
+                    emitter.send(SseEmitter.event().id(Long.toString(send.offset())).name(send.name()).data(send.data()));
+                    lastOffset = send.offset();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Balance stream of account {} closed: {}", accountId, e.getMessage());
+                unregister(this);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.tudai.monopatines.accounts.accounts_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.accounts.accounts_service.aggregates.AccountAggregates;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportRowError;
+import com.tudai.monopatines.accounts.accounts_service.index.UserSearchIndex;
+import com.tudai.monopatines.accounts.accounts_service.readmodel.OffHeapAccountReadModel;
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.repository.ArchivedAccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
+import com.tudai.monopatines.accounts.accounts_service.util.ImportRecordReader;
+import com.tudai.monopatines.accounts.accounts_service.util.ImportRecordReader.ImportRecord;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Servicio para importar cuentas y usuarios de forma masiva (migración de usuarios del sistema anterior).
+ * 
+ * Las entidades Account y User usan IDs IDENTITY, por lo que Hibernate no puede agrupar sus
+ * INSERT en batches. Esta importación no pasa por JPA para escribir: lee el archivo en streaming,
+ * lo procesa en chunks de tamaño configurable y, por cada chunk:
+ * - valida cada fila con las mismas restricciones que los endpoints de alta,
+ * - verifica la unicidad de todo el chunk con una única consulta IN,
+ * - inserta las filas válidas con un único batch JDBC,
+ * - confirma el chunk en su propia transacción.
+ * 
+ * Las filas rechazadas no interrumpen la importación y se informan con su número de línea.
+ * 
+ */
+@Service
+public class BulkImportService {
+
+    private static final String INSERT_ACCOUNT_SQL =
+            "INSERT INTO accounts (identification_number, mercado_pago_account_id, current_balance, active, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (first_name, last_name, email, phone_number, password, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DEFAULT_ROLES_SQL =
+            "INSERT INTO user_roles (user_id, role_id, assigned_at) "
+                    + "SELECT u.id, :roleId, :assignedAt FROM users u WHERE u.email IN (:emails)";
+
+    private static final String SELECT_IMPORTED_ACCOUNTS_SQL =
+            "SELECT id, current_balance, version FROM accounts WHERE identification_number IN (:identificationNumbers)";
+
+    private static final String SELECT_IMPORTED_USERS_SQL =
+            "SELECT id, email, first_name, last_name FROM users WHERE email IN (:emails)";
+
+    private final AccountRepository accountRepository;
+    private final ArchivedAccountRepository archivedAccountRepository;
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final AccountAggregates accountAggregates;
+    private final UserSearchIndex userSearchIndex;
+    private final OffHeapAccountReadModel readModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Constructor del servicio.
+     * 
+     * @param accountRepository Repositorio para verificar números identificatorios existentes
+     * @param archivedAccountRepository Repositorio para verificar números identificatorios de cuentas archivadas
+     * @param userRepository Repositorio para verificar emails existentes
+     * @param roleService Servicio para obtener el rol por defecto de los usuarios importados
+     * @param accountAggregates Agregados de cuentas, actualizados luego del commit de cada chunk
+     * @param userSearchIndex Índice de búsqueda de usuarios, actualizado luego del commit de cada chunk
+     * @param readModel Modelo de lectura de cuentas, actualizado luego del commit de cada chunk
+     * @param jdbcTemplate Template JDBC para los INSERT batch
+     * @param transactionManager Administrador de transacciones (una transacción por chunk)
+     * @param validator Validador de Bean Validation (mismas restricciones que los DTOs de alta)
+     * @param objectMapper ObjectMapper para parsear las líneas NDJSON
+     * @param chunkSize Cantidad de filas por chunk
+     * @param maxReportedErrors Cantidad máxima de filas rechazadas detalladas en la respuesta
+     */
+    public BulkImportService(AccountRepository accountRepository,
+                             ArchivedAccountRepository archivedAccountRepository,
+                             UserRepository userRepository,
+                             RoleService roleService,
+                             AccountAggregates accountAggregates,
+                             UserSearchIndex userSearchIndex,
+                             OffHeapAccountReadModel readModel,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${accounts.import.chunk-size:1000}") int chunkSize,
+                             @Value("${accounts.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.accountRepository = accountRepository;
+        this.archivedAccountRepository = archivedAccountRepository;
+        this.userRepository = userRepository;
+        this.roleService = roleService;
+        this.accountAggregates = accountAggregates;
+        this.userSearchIndex = userSearchIndex;
+        this.readModel = readModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importa cuentas desde un archivo CSV o NDJSON.
+     * 
+     * Campos: identificationNumber, mercadoPagoAccountId y currentBalance (opcional, por defecto 0).
+     * Las cuentas se crean activas.
+     * 
+     * @param inputStream Cuerpo del request con el archivo
+     * @param format Formato del archivo
+     * @return ImportResponse con los totales, la tasa de filas por segundo y las filas rechazadas
+     */
+    public ImportResponse importAccounts(InputStream inputStream, ImportRecordReader.Format format) {
+        return runImport(inputStream, format, new AccountImportTarget());
+    }
+
+    /**
+     * Importa usuarios desde un archivo CSV o NDJSON.
+     * 
+     * Campos: firstName, lastName, email, phoneNumber y password (ya hasheado, igual que en el alta).
+     * A cada usuario importado se le asigna ROLE_USER.
+     * 
+     * @param inputStream Cuerpo del request con el archivo
+     * @param format Formato del archivo
+     * @return ImportResponse con los totales, la tasa de filas por segundo y las filas rechazadas
+     */
+    public ImportResponse importUsers(InputStream inputStream, ImportRecordReader.Format format) {
+        try {
+            return runImport(inputStream, format, new UserImportTarget());
+        } finally {
+            // Los roles se insertan con JDBC: Hibernate no invalida la cache de roles por usuario
+            roleService.evictCachedUserRoles();
+        }
+    }
+
+    /**
+     * Lee el archivo en streaming y procesa sus filas en chunks.
+     */
+    private <T> ImportResponse runImport(InputStream inputStream, ImportRecordReader.Format format,
+                                         ImportTarget<T> target) {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+
+        try (ImportRecordReader reader = new ImportRecordReader(inputStream, format, objectMapper)) {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, target, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, target, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading import file", e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        ImportResponse response = new ImportResponse();
+        response.setProcessedRows(result.processed);
+        response.setImportedRows(result.imported);
+        response.setFailedRows(result.failed);
+        response.setCommittedChunks(result.committedChunks);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.processed * 1_000_000_000.0 / elapsedNanos);
+        response.setErrors(result.errors);
+        response.setErrorsTruncated(result.failed > result.errors.size());
+        return response;
+    }
+
+    /**
+     * Valida un chunk, verifica la unicidad de sus claves con una única consulta
+     * e inserta las filas válidas en una transacción.
+     */
+    private <T> void processChunk(List<ImportRecord> records, ImportTarget<T> target, ImportResult result) {
+        result.processed += records.size();
+
+        // Validación individual y duplicados dentro del propio chunk
+        Map<String, ParsedRow<T>> rowsByKey = new LinkedHashMap<>();
+        for (ImportRecord record : records) {
+            if (record.error() != null) {
+                result.reject(record.line(), null, record.error());
+                continue;
+            }
+            T row;
+            try {
+                row = target.parse(record);
+            } catch (IllegalArgumentException e) {
+                result.reject(record.line(), null, e.getMessage());
+                continue;
+            }
+            String key = target.key(row);
+            String violations = validate(row);
+            if (violations != null) {
+                result.reject(record.line(), key, violations);
+            } else if (rowsByKey.containsKey(key)) {
+                result.reject(record.line(), key, "Duplicated in import file (line " + rowsByKey.get(key).line + ")");
+            } else {
+                rowsByKey.put(key, new ParsedRow<>(record.line(), row));
+            }
+        }
+        if (rowsByKey.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing;
+        try {
+            existing = transactionTemplate.execute(status -> {
+                Set<String> existingKeys = new HashSet<>(target.findExistingKeys(rowsByKey.keySet()));
+                List<T> toInsert = new ArrayList<>(rowsByKey.size());
+                for (Map.Entry<String, ParsedRow<T>> entry : rowsByKey.entrySet()) {
+                    if (!existingKeys.contains(entry.getKey())) {
+                        toInsert.add(entry.getValue().row);
+                    }
+                }
+                if (!toInsert.isEmpty()) {
+                    target.insert(toInsert, Timestamp.valueOf(LocalDateTime.now()));
+                }
+                return existingKeys;
+            });
+        } catch (DataAccessException e) {
+            // Por ejemplo, una clave insertada concurrentemente por otro request: se descarta el chunk completo
+            for (Map.Entry<String, ParsedRow<T>> entry : rowsByKey.entrySet()) {
+                result.reject(entry.getValue().line, entry.getKey(),
+                        "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        for (Map.Entry<String, ParsedRow<T>> entry : rowsByKey.entrySet()) {
+            if (existing.contains(entry.getKey())) {
+                result.reject(entry.getValue().line, entry.getKey(), target.alreadyExistsMessage());
+            } else {
+                result.imported++;
+            }
+        }
+        result.committedChunks++;
+    }
+
+    /**
+     * Valida una fila con las restricciones de Bean Validation de su DTO.
+     * 
+     * @return Violaciones separadas por "; " (ordenadas) o null si la fila es válida
+     */
+    private String validate(Object row) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            messages.add(violation.getMessage());
+        }
+        return String.join("; ", messages);
+    }
+
+    /**
+     * Operaciones específicas de cada tipo de entidad importada.
+     */
+    private interface ImportTarget<T> {
+
+        T parse(ImportRecord record);
+
+        String key(T row);
+
+        Collection<String> findExistingKeys(Collection<String> keys);
+
+        String alreadyExistsMessage();
+
+        void insert(List<T> rows, Timestamp now);
+    }
+
+    private class AccountImportTarget implements ImportTarget<AccountRequest> {
+
+        @Override
+        public AccountRequest parse(ImportRecord record) {
+            AccountRequest request = new AccountRequest();
+            request.setIdentificationNumber(record.get("identificationNumber"));
+            request.setMercadoPagoAccountId(record.get("mercadoPagoAccountId"));
+            String balance = record.get("currentBalance");
+            try {
+                request.setCurrentBalance(balance != null ? Double.valueOf(balance) : 0.0);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid current balance: " + balance);
+            }
+            return request;
+        }
+
+        @Override
+        public String key(AccountRequest row) {
+            return row.getIdentificationNumber();
+        }
+
+        @Override
+        public Collection<String> findExistingKeys(Collection<String> keys) {
+            List<String> existing = new ArrayList<>(accountRepository.findExistingIdentificationNumbers(keys));
+            existing.addAll(archivedAccountRepository.findExistingIdentificationNumbers(keys));
+            return existing;
+        }
+
+        @Override
+        public String alreadyExistsMessage() {
+            return "Account with this identification number already exists";
+        }
+
+        @Override
+        public void insert(List<AccountRequest> rows, Timestamp now) {
+            jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.getIdentificationNumber());
+                ps.setString(2, row.getMercadoPagoAccountId());
+                ps.setDouble(3, row.getCurrentBalance());
+                ps.setBoolean(4, true);
+                ps.setTimestamp(5, now);
+            });
+
+            double[] balances = rows.stream().mapToDouble(AccountRequest::getCurrentBalance).toArray();
+            TransactionUtil.afterCommit(() -> {
+                for (double balance : balances) {
+                    accountAggregates.accountCreated(true, balance);
+                }
+            });
+
+            if (readModel.isEnabled()) {
+                // Los IDs se generan en el INSERT batch: se leen para registrar las cuentas en el modelo de lectura
+                List<String> identificationNumbers = rows.stream().map(AccountRequest::getIdentificationNumber).toList();
+                List<Object[]> imported = namedParameterJdbcTemplate.query(SELECT_IMPORTED_ACCOUNTS_SQL,
+                        new MapSqlParameterSource("identificationNumbers", identificationNumbers),
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getDouble(2), rs.getLong(3)});
+                TransactionUtil.afterCommit(() -> {
+                    for (Object[] account : imported) {
+                        readModel.put((Long) account[0], (Double) account[1], true, (Long) account[2]);
+                    }
+                });
+            }
+        }
+    }
+
+    private class UserImportTarget implements ImportTarget<CreateUserRequest> {
+
+        @Override
+        public CreateUserRequest parse(ImportRecord record) {
+            CreateUserRequest request = new CreateUserRequest();
+            request.setFirstName(record.get("firstName"));
+            request.setLastName(record.get("lastName"));
+            request.setEmail(record.get("email"));
+            request.setPhoneNumber(record.get("phoneNumber"));
+            request.setPassword(record.get("password"));
+            return request;
+        }
+
+        @Override
+        public String key(CreateUserRequest row) {
+            return row.getEmail();
+        }
+
+        @Override
+        public Collection<String> findExistingKeys(Collection<String> keys) {
+            return userRepository.findExistingEmails(keys);
+        }
+
+        @Override
+        public String alreadyExistsMessage() {
+            return "User with this email already exists";
+        }
+
+        @Override
+        public void insert(List<CreateUserRequest> rows, Timestamp now) {
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.getFirstName());
+                ps.setString(2, row.getLastName());
+                ps.setString(3, row.getEmail());
+                ps.setString(4, row.getPhoneNumber());
+                ps.setString(5, row.getPassword());
+                ps.setTimestamp(6, now);
+            });
+
+            // Asignar ROLE_USER a todos los usuarios del chunk con un único INSERT ... SELECT
+            List<String> emails = new ArrayList<>(rows.size());
+            for (CreateUserRequest row : rows) {
+                emails.add(row.getEmail());
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("roleId", roleService.getDefaultRoleId())
+                    .addValue("assignedAt", now)
+                    .addValue("emails", emails);
+            namedParameterJdbcTemplate.update(INSERT_DEFAULT_ROLES_SQL, params);
+
+            // Los IDs se generan en el INSERT batch: se leen para registrar los usuarios en el índice de búsqueda
+            List<Object[]> imported = namedParameterJdbcTemplate.query(SELECT_IMPORTED_USERS_SQL, params,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)});
+            TransactionUtil.afterCommit(() -> {
+                for (Object[] user : imported) {
+                    userSearchIndex.put((Long) user[0], (String) user[1], (String) user[2], (String) user[3]);
+                }
+            });
+        }
+    }
+
+    /**
+     * Fila válida de un chunk junto con su número de línea.
+     */
+    private static class ParsedRow<T> {
+        private final long line;
+        private final T row;
+
+        private ParsedRow(long line, T row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Acumulador de los totales y errores de una importación.
+     */
+    private class ImportResult {
+        private long processed;
+        private long imported;
+        private long failed;
+        private int committedChunks;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        private void reject(long line, String key, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(line, key, message));
+            }
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.tudai.monopatines.accounts.accounts_service.service;
 
+import com.tudai.monopatines.accounts.accounts_service.audit.AuditJournal;
 import com.tudai.monopatines.accounts.accounts_service.entity.Role;
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
 import com.tudai.monopatines.accounts.accounts_service.entity.UserRole;
 import com.tudai.monopatines.accounts.accounts_service.repository.RoleRepository;
 import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
 import com.tudai.monopatines.accounts.accounts_service.repository.UserRoleRepository;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,9 +31,22 @@ import java.util.Optional;
 @Transactional
 public class RoleService {
 
+    /**
+     * Rol asignado por defecto a todos los usuarios nuevos.
+     */
+    public static final String DEFAULT_ROLE = "ROLE_USER";
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditJournal auditJournal;
+
+    /**
+     * ID del rol por defecto, cacheado para no consultarlo en cada registro.
+     * Solo se cachea una vez confirmada la transacción que lo leyó o creó.
+     */
+    private volatile Long defaultRoleId;
 
     /**
      * Constructor del servicio.
@@ -31,13 +54,19 @@ public class RoleService {
      * @param roleRepository Repositorio para acceder a la base de datos de roles
      * @param userRepository Repositorio para acceder a la base de datos de usuarios
      * @param userRoleRepository Repositorio para acceder a la tabla de relaciones usuario-rol
+     * @param entityManagerFactory Fábrica de EntityManager (acceso a la cache de segundo nivel)
+     * @param auditJournal Journal de auditoría de los cambios de roles
      */
     public RoleService(RoleRepository roleRepository,
                        UserRepository userRepository,
-                       UserRoleRepository userRoleRepository) {
+                       UserRoleRepository userRoleRepository,
+                       EntityManagerFactory entityManagerFactory,
+                       AuditJournal auditJournal) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditJournal = auditJournal;
     }
 
     /**
@@ -51,18 +80,76 @@ public class RoleService {
      */
     @Transactional(readOnly = true)
     public List<String> getRolesByUserId(Long userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
-            return new ArrayList<>();
+        // Una única consulta por los nombres de los roles (vacía si el usuario no existe)
+        return userRoleRepository.findRoleNamesByUserId(userId);
+    }
+
+    /**
+     * Obtiene los roles asignados a un conjunto de usuarios.
+     * 
+     * Resuelve los roles de todos los usuarios con una única consulta,
+     * evitando una consulta por usuario en los listados.
+     * 
+     * @param userIds IDs de los usuarios
+     * @return Mapa de ID de usuario a lista de nombres de roles (los usuarios sin roles no aparecen)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getRolesByUserIds(Collection<Long> userIds) {
+        Map<Long, List<String>> rolesByUserId = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return rolesByUserId;
         }
 
-        List<UserRole> userRoles = userRoleRepository.findByUserId(userId);
-        List<String> roles = new ArrayList<>();
-        for (UserRole userRole : userRoles) {
-            if (userRole.getRole() != null) {
-                roles.add(userRole.getRole().getName());
-            }
+        for (Object[] row : userRoleRepository.findRoleNamesByUserIdIn(userIds)) {
+            rolesByUserId.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
         }
+        return rolesByUserId;
+    }
+
+    /**
+     * Carga en cache el ID del rol por defecto al iniciar el servicio, creándolo si no existe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initDefaultRole() {
+        Long roleId = createRoleIfNotExists(DEFAULT_ROLE).getId();
+        TransactionUtil.afterCommit(() -> defaultRoleId = roleId);
+    }
+
+    /**
+     * Obtiene el ID del rol por defecto.
+     * 
+     * Si todavía no está cacheado, lo busca (o lo crea si no existe) y lo cachea
+     * una vez confirmada la transacción actual.
+     * 
+     * @return ID del rol por defecto (ROLE_USER)
+     */
+    public Long getDefaultRoleId() {
+        Long roleId = defaultRoleId;
+        if (roleId == null) {
+            roleId = createRoleIfNotExists(DEFAULT_ROLE).getId();
+            Long createdRoleId = roleId;
+            TransactionUtil.afterCommit(() -> defaultRoleId = createdRoleId);
+        }
+        return roleId;
+    }
+
+    /**
+     * Asigna el rol por defecto a un usuario recién creado.
+     * 
+     * Pensado para el registro de usuarios: no verifica que el usuario exista ni que ya
+     * tenga el rol (un usuario nuevo no tiene roles), y utiliza el ID cacheado del rol
+     * por defecto como referencia, por lo que solo ejecuta el INSERT en user_roles.
+     * 
+     * @param user Usuario recién persistido
+     * @return Lista con los nombres de los roles del usuario
+     */
+    public List<String> assignDefaultRole(User user) {
+        Role role = roleRepository.getReferenceById(getDefaultRoleId());
+        userRoleRepository.save(new UserRole(user, role));
+        Long userId = user.getId();
+        TransactionUtil.afterCommit(() -> auditJournal.roleAssigned(userId, DEFAULT_ROLE));
+        List<String> roles = new ArrayList<>();
+        roles.add(DEFAULT_ROLE);
         return roles;
     }
 
@@ -70,7 +157,8 @@ public class RoleService {
      * Asigna un rol a un usuario.
      * 
      * Crea una relación entre el usuario y el rol especificado.
-     * Si el rol no existe, lo crea primero.
+     * Si el rol no existe, lo crea primero. Si la asignación es nueva, incrementa la versión
+     * del usuario (los roles forman parte de su representación y de su ETag).
      * 
      * @param userId ID del usuario
      * @param roleName Nombre del rol (ej: "ROLE_USER", "ROLE_ADMIN")
@@ -95,13 +183,15 @@ public class RoleService {
         if (!userRoleRepository.existsByUserAndRole(user, role)) {
             UserRole userRole = new UserRole(user, role);
             userRoleRepository.save(userRole);
+            userRepository.incrementVersion(userId);
+            TransactionUtil.afterCommit(() -> auditJournal.roleAssigned(userId, roleName));
         }
     }
 
     /**
      * Elimina un rol de un usuario.
      * 
-     * Elimina la relación entre el usuario y el rol especificado.
+     * Elimina la relación entre el usuario y el rol especificado e incrementa la versión del usuario.
      * 
      * @param userId ID del usuario
      * @param roleName Nombre del rol a eliminar
@@ -122,9 +212,33 @@ public class RoleService {
         Optional<UserRole> userRoleOptional = userRoleRepository.findByUserAndRole(user, role);
         if (userRoleOptional.isPresent()) {
             userRoleRepository.delete(userRoleOptional.get());
+            userRepository.incrementVersion(userId);
+            TransactionUtil.afterCommit(() -> auditJournal.roleRemoved(userId, roleName));
         }
     }
 
+    /**
+     * Elimina todos los roles asignados a un usuario.
+     * Se usa antes de eliminar el usuario (user_roles referencia a users).
+     * 
+     * @param userId ID del usuario
+     */
+    public void removeAllRolesFromUser(Long userId) {
+        userRoleRepository.deleteAll(userRoleRepository.findByUserId(userId));
+    }
+
+    /**
+     * Descarta los roles por usuario guardados en la cache de segundo nivel.
+     * 
+     * Hibernate invalida la cache cuando escribe en user_roles, pero no ve los INSERT
+     * hechos con JDBC (importación masiva); quien los hace debe llamar a este método.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void evictCachedUserRoles() {
+        entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictQueryRegion(UserRoleRepository.USER_ROLES_CACHE_REGION);
+    }
+
     /**
      * Crea un rol si no existe.
      * 
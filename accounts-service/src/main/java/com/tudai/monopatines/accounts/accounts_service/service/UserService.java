@@ -2,7 +2,9 @@ package com.tudai.monopatines.accounts.accounts_service.service;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UpdateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserSearchResponse;
 
 import java.util.List;
 
@@ -41,6 +43,29 @@ public interface UserService {
      */
     UserResponse getUserByEmail(String email);
 
+    /**
+     * Obtiene varios usuarios por sus IDs, incluyendo sus roles.
+     * Los usuarios y sus roles se resuelven con una consulta cada uno.
+     * 
+     * @param ids IDs de los usuarios a buscar (los duplicados se ignoran)
+     * @return Lista de UserResponse en el orden solicitado; los IDs inexistentes se omiten
+     * @throws BatchSizeExceededException si se solicitan más IDs que el máximo configurado
+     */
+    List<UserResponse> getUsersByIds(List<Long> ids);
+
+    /**
+     * Busca usuarios cuyo email, nombre o apellido empiece con el prefijo indicado.
+     * La búsqueda no distingue mayúsculas ni acentos.
+     * 
+     * @param prefix Prefijo de una palabra a buscar
+     * @param cursor Cursor devuelto por la página anterior (null para la primera página)
+     * @param limit Cantidad máxima de usuarios de la página
+     * @return UserSearchResponse con los usuarios encontrados y el cursor para pedir la página siguiente
+     * @throws BatchSizeExceededException si limit supera el máximo configurado
+     * @throws SearchIndexUnavailableException si el índice de búsqueda todavía se está cargando
+     */
+    UserSearchResponse searchUsers(String prefix, String cursor, int limit);
+
     /**
      * Obtiene todos los usuarios, incluyendo sus roles.
      * 
@@ -59,6 +84,43 @@ public interface UserService {
      */
     UserResponse updateUser(Long id, UpdateUserRequest request);
 
+    /**
+     * Actualiza los datos de un usuario existente si su versión es la esperada (If-Match).
+     * 
+     * @param id ID del usuario a actualizar
+     * @param request Datos actualizados del usuario (sin password)
+     * @param expectedVersion Versión esperada del usuario (null para no verificarla)
+     * @return UserResponse con el usuario actualizado
+     * @throws UserNotFoundException si no se encuentra el usuario
+     * @throws UserAlreadyExistsException si el nuevo email ya existe
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    UserResponse updateUser(Long id, UpdateUserRequest request, Long expectedVersion);
+
+    /**
+     * Modifica solo los campos presentes de un usuario (JSON Merge Patch) si su versión es la esperada.
+     * Si ningún campo cambia, no se escribe en la base de datos y la versión se mantiene.
+     * 
+     * @param id ID del usuario a modificar
+     * @param request Campos a modificar (los null se conservan)
+     * @param expectedVersion Versión esperada del usuario (null para no verificarla)
+     * @return UserResponse con el usuario modificado
+     * @throws UserNotFoundException si no se encuentra el usuario
+     * @throws UserAlreadyExistsException si el nuevo email ya existe
+     * @throws VersionMismatchException si la versión actual no es la esperada
+     */
+    UserResponse patchUser(Long id, UserPatchRequest request, Long expectedVersion);
+
+    /**
+     * Obtiene solo la versión de un usuario, sin cargar sus datos ni sus roles.
+     * Se utiliza para responder If-None-Match.
+     * 
+     * @param id ID del usuario
+     * @return Versión actual del usuario
+     * @throws UserNotFoundException si no se encuentra el usuario
+     */
+    long getUserVersion(Long id);
+
     /**
      * Elimina un usuario del sistema.
      * 
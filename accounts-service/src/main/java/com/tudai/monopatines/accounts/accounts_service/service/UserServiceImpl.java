@@ -2,18 +2,31 @@ package com.tudai.monopatines.accounts.accounts_service.service;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UpdateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserSearchResponse;
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
+import com.tudai.monopatines.accounts.accounts_service.exception.BatchSizeExceededException;
+import com.tudai.monopatines.accounts.accounts_service.exception.SearchIndexUnavailableException;
 import com.tudai.monopatines.accounts.accounts_service.exception.UserAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_service.exception.UserNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.VersionMismatchException;
+import com.tudai.monopatines.accounts.accounts_service.index.UserSearchIndex;
 import com.tudai.monopatines.accounts.accounts_service.repository.UserRepository;
 import com.tudai.monopatines.accounts.accounts_service.util.MapperUtil;
+import com.tudai.monopatines.accounts.accounts_service.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación del servicio para gestionar usuarios.
@@ -26,31 +39,35 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleService roleService;
+    private final UserSearchIndex userSearchIndex;
+    private final int maxBatchSize;
 
     /**
      * Constructor del servicio.
      * 
      * @param userRepository Repositorio para acceder a la base de datos de usuarios
      * @param roleService Servicio para gestionar roles
+     * @param userSearchIndex Índice de búsqueda de usuarios, actualizado luego de cada commit
+     * @param maxBatchSize Cantidad máxima de IDs aceptada por las consultas batch
      */
-    public UserServiceImpl(UserRepository userRepository, RoleService roleService) {
+    public UserServiceImpl(UserRepository userRepository, RoleService roleService, UserSearchIndex userSearchIndex,
+                           @Value("${accounts.batch.max-size:100}") int maxBatchSize) {
         this.userRepository = userRepository;
         this.roleService = roleService;
+        this.userSearchIndex = userSearchIndex;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Verifica que no exista un usuario con el mismo email (debe ser único),
-     * crea un nuevo usuario y lo guarda en la base de datos.
+     * Implementación: Crea el usuario y le asigna el rol por defecto con solo dos INSERT
+     * (users y user_roles). La unicidad del email no se consulta previamente: la garantiza
+     * la restricción única de la columna y la violación se traduce a UserAlreadyExistsException.
+     * Los roles de la respuesta se arman sin volver a consultarlos.
      */
     @Override
     public UserResponse createUser(CreateUserRequest request) {
-        // Verificar si ya existe un usuario con el mismo email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw UserAlreadyExistsException.forEmail(request.getEmail());
-        }
-
         // Validar que el password esté presente al crear un usuario
         if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
             throw new IllegalArgumentException("Password is required when creating a user");
@@ -64,13 +81,17 @@ public class UserServiceImpl implements UserService {
         
         user.setPassword(request.getPassword());
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // El INSERT se ejecuta en save() (ID IDENTITY), la única restricción posible es el email
+            throw UserAlreadyExistsException.forEmail(request.getEmail());
+        }
         
         // Asignar ROLE_USER por defecto a todos los usuarios nuevos
-        roleService.assignRoleToUser(savedUser.getId(), "ROLE_USER");
-        
-        // Obtener roles para incluir en la respuesta
-        List<String> roles = roleService.getRolesByUserId(savedUser.getId());
+        List<String> roles = roleService.assignDefaultRole(savedUser);
+        registerInSearchIndex(savedUser);
         UserResponse response = MapperUtil.mapUserToResponse(savedUser);
         response.setRoles(roles);
         return response;
@@ -79,60 +100,90 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Busca el usuario en la base de datos por ID, obtiene sus roles
-     * y lo convierte a DTO de respuesta incluyendo los roles.
+     * Implementación: Obtiene el usuario por ID como proyección directamente en el DTO
+     * de respuesta y le agrega sus roles.
      */
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        Optional<User> userOptional = userRepository.findById(id);
+        Optional<UserResponse> userOptional = userRepository.findResponseById(id);
         if (userOptional.isEmpty()) {
             throw new UserNotFoundException(id);
         }
-        User user = userOptional.get();
-        List<String> roles = roleService.getRolesByUserId(id);
-        UserResponse response = MapperUtil.mapUserToResponse(user);
-        response.setRoles(roles);
+        UserResponse response = userOptional.get();
+        response.setRoles(roleService.getRolesByUserId(id));
         return response;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Busca el usuario en la base de datos por email (único), obtiene sus roles
-     * y lo convierte a DTO de respuesta incluyendo los roles.
+     * Implementación: Obtiene el usuario por email (único) como proyección directamente
+     * en el DTO de respuesta y le agrega sus roles.
      */
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        Optional<User> userOptional = userRepository.findByEmail(email);
+        Optional<UserResponse> userOptional = userRepository.findResponseByEmail(email);
         if (userOptional.isEmpty()) {
             throw new UserNotFoundException("User with email " + email + " not found");
         }
-        User user = userOptional.get();
-        List<String> roles = roleService.getRolesByUserId(user.getId());
-        UserResponse response = MapperUtil.mapUserToResponse(user);
-        response.setRoles(roles);
+        UserResponse response = userOptional.get();
+        response.setRoles(roleService.getRolesByUserId(response.getId()));
         return response;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Obtiene todos los usuarios desde el repositorio,
-     * obtiene los roles de cada usuario, los mapea a DTOs de respuesta
-     * y retorna una lista con todos los resultados incluyendo los roles.
+     * Implementación: Resuelve los usuarios con una única consulta IN (proyección al DTO) y sus roles
+     * con una segunda consulta para todo el batch, y los devuelve en el orden solicitado.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    public List<UserResponse> getUsersByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new BatchSizeExceededException(uniqueIds.size(), maxBatchSize);
+        }
         List<UserResponse> responses = new ArrayList<>();
-        for (User user : users) {
-            UserResponse response = MapperUtil.mapUserToResponse(user);
-            List<String> roles = roleService.getRolesByUserId(user.getId());
-            response.setRoles(roles);
-            responses.add(response);
+        if (uniqueIds.isEmpty()) {
+            return responses;
+        }
+
+        Map<Long, UserResponse> usersById = new HashMap<>();
+        for (UserResponse user : userRepository.findResponsesByIdIn(uniqueIds)) {
+            usersById.put(user.getId(), user);
+        }
+        Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(usersById.keySet());
+
+        for (Long id : uniqueIds) {
+            UserResponse response = usersById.get(id);
+            if (response != null) {
+                response.setRoles(rolesByUserId.getOrDefault(id, new ArrayList<>()));
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Obtiene todos los usuarios como proyección directamente en DTOs
+     * de respuesta y agrega los roles de todos ellos con una única consulta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> getAllUsers() {
+        List<UserResponse> responses = userRepository.findAllResponses();
+        List<Long> userIds = new ArrayList<>();
+        for (UserResponse response : responses) {
+            userIds.add(response.getId());
+        }
+        Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(userIds);
+        for (UserResponse response : responses) {
+            response.setRoles(rolesByUserId.getOrDefault(response.getId(), new ArrayList<>()));
         }
         return responses;
     }
@@ -146,11 +197,25 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserResponse updateUser(Long id, UpdateUserRequest request) {
+        return updateUser(id, request, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Verifica la versión del usuario y luego lo actualiza como updateUser(id, request).
+     * Se guarda con saveAndFlush para que la respuesta incluya la versión nueva.
+     */
+    @Override
+    public UserResponse updateUser(Long id, UpdateUserRequest request, Long expectedVersion) {
         Optional<User> userOptional = userRepository.findById(id);
         if (userOptional.isEmpty()) {
             throw new UserNotFoundException(id);
         }
         User user = userOptional.get();
+        if (expectedVersion != null && expectedVersion != user.getVersion().longValue()) {
+            throw new VersionMismatchException("User", id, expectedVersion, user.getVersion());
+        }
 
         // Verificar si el email cambió y ya existe
         if (!user.getEmail().equals(request.getEmail())) {
@@ -164,7 +229,8 @@ public class UserServiceImpl implements UserService {
         user.setEmail(request.getEmail());
         user.setPhoneNumber(request.getPhoneNumber());
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userRepository.saveAndFlush(user);
+        registerInSearchIndex(updatedUser);
         
         // Obtener roles para incluir en la respuesta
         List<String> roles = roleService.getRolesByUserId(updatedUser.getId());
@@ -176,14 +242,115 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Verifica que el usuario exista y lo elimina de la base de datos.
+     * Implementación: Busca el usuario, verifica su versión y asigna solo los campos presentes
+     * cuyo valor cambió. La unicidad del email se verifica solo si cambia. Con @DynamicUpdate
+     * el UPDATE incluye únicamente las columnas modificadas; si no cambió ninguna, no se guarda.
+     */
+    @Override
+    public UserResponse patchUser(Long id, UserPatchRequest request, Long expectedVersion) {
+        Optional<User> userOptional = userRepository.findById(id);
+        if (userOptional.isEmpty()) {
+            throw new UserNotFoundException(id);
+        }
+        User user = userOptional.get();
+        if (expectedVersion != null && expectedVersion != user.getVersion().longValue()) {
+            throw new VersionMismatchException("User", id, expectedVersion, user.getVersion());
+        }
+
+        boolean changed = false;
+        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw UserAlreadyExistsException.forEmail(request.getEmail());
+            }
+            user.setEmail(request.getEmail());
+            changed = true;
+        }
+        if (request.getFirstName() != null && !request.getFirstName().equals(user.getFirstName())) {
+            user.setFirstName(request.getFirstName());
+            changed = true;
+        }
+        if (request.getLastName() != null && !request.getLastName().equals(user.getLastName())) {
+            user.setLastName(request.getLastName());
+            changed = true;
+        }
+        if (request.getPhoneNumber() != null && !request.getPhoneNumber().equals(user.getPhoneNumber())) {
+            user.setPhoneNumber(request.getPhoneNumber());
+            changed = true;
+        }
+
+        User patchedUser = user;
+        if (changed) {
+            patchedUser = userRepository.saveAndFlush(user);
+            registerInSearchIndex(patchedUser);
+        }
+
+        List<String> roles = roleService.getRolesByUserId(patchedUser.getId());
+        UserResponse response = MapperUtil.mapUserToResponse(patchedUser);
+        response.setRoles(roles);
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Consulta solo la columna version del usuario.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getUserVersion(Long id) {
+        Optional<Long> versionOptional = userRepository.findVersionById(id);
+        if (versionOptional.isEmpty()) {
+            throw new UserNotFoundException(id);
+        }
+        return versionOptional.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Verifica que el usuario exista, elimina sus roles y lo elimina de la base de datos.
      */
     @Override
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
+        roleService.removeAllRolesFromUser(id);
         userRepository.deleteById(id);
+        TransactionUtil.afterCommit(() -> userSearchIndex.remove(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Resuelve los IDs de la página con el índice en memoria (sin acceder a la base
+     * de datos) y luego obtiene esos usuarios y sus roles con una consulta IN cada uno.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserSearchResponse searchUsers(String prefix, String cursor, int limit) {
+        if (limit < 1 || limit > maxBatchSize) {
+            throw new BatchSizeExceededException(limit, maxBatchSize);
+        }
+        if (!userSearchIndex.isLoaded()) {
+            throw new SearchIndexUnavailableException("User search index is still loading");
+        }
+        UserSearchIndex.SearchPage page = userSearchIndex.search(prefix, cursor, limit);
+        List<UserResponse> users = getUsersByIds(page.userIds());
+        return new UserSearchResponse(users, page.nextCursor(), page.nextCursor() != null);
+    }
+
+    /**
+     * Registra los datos de búsqueda del usuario en el índice luego del commit de la transacción.
+     * 
+     * @param user Usuario creado o actualizado
+     */
+    private void registerInSearchIndex(User user) {
+        long id = user.getId();
+        String email = user.getEmail();
+        String firstName = user.getFirstName();
+        String lastName = user.getLastName();
+        TransactionUtil.afterCommit(() -> userSearchIndex.put(id, email, firstName, lastName));
     }
 
 }
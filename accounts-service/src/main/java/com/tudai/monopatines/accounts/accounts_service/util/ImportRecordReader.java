@@ -0,0 +1,209 @@
+package com.tudai.monopatines.accounts.accounts_service.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector en streaming de registros para las importaciones masivas.
+ * 
+ * Lee un registro por vez desde el cuerpo del request, sin cargar el archivo completo
+ * en memoria. Soporta dos formatos:
+ * - CSV: la primera línea es el encabezado con los nombres de los campos; admite valores
+ *   entre comillas dobles (con "" como comilla escapada), sin saltos de línea dentro de un valor.
+ * - NDJSON: un objeto JSON por línea, con los mismos nombres de campos que los endpoints de alta.
+ * 
+ * Las líneas vacías se ignoran en ambos formatos.
+ * 
+ */
+public class ImportRecordReader implements AutoCloseable {
+
+    /**
+     * Formato del archivo a importar.
+     */
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Resuelve el formato a partir del Content-Type del request.
+         * 
+         * @param contentType Content-Type del request
+         * @return Formato correspondiente
+         * @throws IllegalArgumentException si el Content-Type no es text/csv ni application/x-ndjson
+         */
+        public static Format fromContentType(String contentType) {
+            String mediaType = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase();
+            if (mediaType.equals("text/csv")) {
+                return CSV;
+            }
+            if (mediaType.equals("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (expected text/csv or application/x-ndjson)");
+        }
+    }
+
+    /**
+     * Registro leído: número de línea en el archivo y valores por nombre de campo.
+     * 
+     * @param line Número de línea (comenzando en 1)
+     * @param values Valores del registro por nombre de campo (null si la línea no pudo parsearse)
+     * @param error Descripción del error de parseo, o null si la línea es válida
+     */
+    public record ImportRecord(long line, Map<String, String> values, String error) {
+
+        /**
+         * Obtiene el valor de un campo, sin espacios al inicio ni al final.
+         * 
+         * @param field Nombre del campo
+         * @return Valor del campo o null si no está presente o está vacío
+         */
+        public String get(String field) {
+            String value = values.get(field);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim();
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    /**
+     * Constructor del lector.
+     * 
+     * @param inputStream Cuerpo del request (codificado en UTF-8)
+     * @param format Formato del archivo
+     * @param objectMapper ObjectMapper utilizado para parsear las líneas NDJSON
+     */
+    public ImportRecordReader(InputStream inputStream, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lee el siguiente registro.
+     * 
+     * @return Registro leído o null si se llegó al final del archivo
+     * @throws IOException si falla la lectura del cuerpo del request
+     * @throws IllegalArgumentException si el encabezado CSV no puede parsearse (el archivo completo es inválido)
+     */
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank() || (format == Format.CSV && header == null && readHeader(line)));
+
+        return format == Format.CSV ? parseCsvRecord(line) : parseJsonRecord(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader(String line) {
+        List<String> fields = splitCsvLine(line);
+        if (fields == null) {
+            throw new IllegalArgumentException("Invalid CSV header (line " + lineNumber + "): Unterminated quoted value");
+        }
+        header = new ArrayList<>();
+        for (String field : fields) {
+            header.add(field.trim());
+        }
+        return true;
+    }
+
+    private ImportRecord parseCsvRecord(String line) {
+        List<String> fields = splitCsvLine(line);
+        if (fields == null) {
+            return new ImportRecord(lineNumber, null, "Unterminated quoted value");
+        }
+        if (fields.size() != header.size()) {
+            return new ImportRecord(lineNumber, null,
+                    "Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            values.put(header.get(i), fields.get(i));
+        }
+        return new ImportRecord(lineNumber, values, null);
+    }
+
+    private ImportRecord parseJsonRecord(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return new ImportRecord(lineNumber, null, "Expected a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            if (!field.getValue().isNull()) {
+                values.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return new ImportRecord(lineNumber, values, null);
+    }
+
+    /**
+     * Separa una línea CSV en sus valores.
+     * 
+     * @param line Línea CSV
+     * @return Lista de valores, o null si la línea tiene comillas sin cerrar
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
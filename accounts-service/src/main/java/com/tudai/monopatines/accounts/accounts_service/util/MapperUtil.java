@@ -33,6 +33,7 @@ public class MapperUtil {
         response.setActive(account.getActive());
         response.setCreatedAt(account.getCreatedAt());
         response.setCancelledAt(account.getCancelledAt());
+        response.setVersion(account.getVersion());
         return response;
     }
 
@@ -57,6 +58,7 @@ public class MapperUtil {
         response.setEmail(user.getEmail());
         response.setPhoneNumber(user.getPhoneNumber());
         response.setCreatedAt(user.getCreatedAt());
+        response.setVersion(user.getVersion());
         return response;
     }
 }
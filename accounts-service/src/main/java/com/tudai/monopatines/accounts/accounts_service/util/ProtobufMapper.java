@@ -0,0 +1,212 @@
+package com.tudai.monopatines.accounts.accounts_service.util;
+
+import com.google.protobuf.Message;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountUserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountsByUserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserSearchResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UsersByAccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.exception.GlobalExceptionHandler;
+import com.tudai.monopatines.accounts.grpc.AccountBalanceList;
+import com.tudai.monopatines.accounts.grpc.AccountBalanceResponse;
+import com.tudai.monopatines.accounts.grpc.AccountList;
+import com.tudai.monopatines.accounts.grpc.UserList;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Clase utilitaria para mapear los DTOs de respuesta de la API REST a mensajes protobuf
+ * (definidos en rest_messages.proto).
+ * 
+ * Se utiliza para responder con application/x-protobuf. Los campos nulos se envían con el valor
+ * por defecto de protobuf (0, false o cadena vacía) y las fechas como milisegundos desde epoch,
+ * salvo created_at de UserResponse, que se reutiliza del servicio gRPC en formato ISO 8601.
+ * 
+ */
+public class ProtobufMapper {
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(
+            AccountResponse.class, BalanceResponse.class, UserResponse.class,
+            AccountPageResponse.class, UserSearchResponse.class, AccountUserResponse.class,
+            UsersByAccountResponse.class, AccountsByUserResponse.class, GlobalExceptionHandler.ErrorResponse.class);
+
+    private static final Set<Class<?>> SUPPORTED_LIST_ELEMENT_TYPES = Set.of(
+            AccountResponse.class, BalanceResponse.class, UserResponse.class);
+
+    /**
+     * Indica si un DTO tiene representación protobuf.
+     * 
+     * @param type Clase del DTO
+     * @return true si se puede mapear con {@link #toMessage(Object)}
+     */
+    public static boolean isSupported(Class<?> type) {
+        return SUPPORTED_TYPES.contains(type);
+    }
+
+    /**
+     * Indica si las listas de un DTO tienen representación protobuf.
+     * 
+     * @param elementType Clase de los elementos de la lista
+     * @return true si una List de ese tipo se puede mapear con {@link #toMessage(Object)}
+     */
+    public static boolean isSupportedListElement(Class<?> elementType) {
+        return SUPPORTED_LIST_ELEMENT_TYPES.contains(elementType);
+    }
+
+    /**
+     * Mapea un DTO de respuesta (o una lista de AccountResponse, BalanceResponse o UserResponse)
+     * a su mensaje protobuf.
+     * 
+     * @param body DTO de respuesta
+     * @return Mensaje protobuf equivalente
+     * @throws IllegalArgumentException si el DTO no tiene representación protobuf
+     */
+    public static Message toMessage(Object body) {
+        if (body instanceof AccountResponse account) {
+            return mapAccount(account);
+        }
+        if (body instanceof BalanceResponse balance) {
+            return mapBalance(balance);
+        }
+        if (body instanceof UserResponse user) {
+            return mapUser(user);
+        }
+        if (body instanceof List<?> list) {
+            return mapList(list);
+        }
+        if (body instanceof AccountPageResponse page) {
+            return com.tudai.monopatines.accounts.grpc.AccountPageResponse.newBuilder()
+                    .addAllAccounts(page.getAccounts().stream().map(ProtobufMapper::mapAccount).toList())
+                    .setNextAfterId(orZero(page.getNextAfterId()))
+                    .setHasMore(page.isHasMore())
+                    .build();
+        }
+        if (body instanceof UserSearchResponse search) {
+            return com.tudai.monopatines.accounts.grpc.UserSearchResponse.newBuilder()
+                    .addAllUsers(search.getUsers().stream().map(ProtobufMapper::mapUser).toList())
+                    .setNextCursor(orEmpty(search.getNextCursor()))
+                    .setHasMore(search.isHasMore())
+                    .build();
+        }
+        if (body instanceof AccountUserResponse association) {
+            return com.tudai.monopatines.accounts.grpc.AccountUserResponse.newBuilder()
+                    .setAccountId(orZero(association.getAccountId()))
+                    .setUserId(orZero(association.getUserId()))
+                    .setAssociatedAt(toEpochMilli(association.getAssociatedAt()))
+                    .setMessage(orEmpty(association.getMessage()))
+                    .build();
+        }
+        if (body instanceof UsersByAccountResponse users) {
+            return com.tudai.monopatines.accounts.grpc.UsersByAccountResponse.newBuilder()
+                    .setAccountId(orZero(users.getAccountId()))
+                    .addAllUsers(users.getUsers().stream().map(ProtobufMapper::mapUser).toList())
+                    .setMessage(orEmpty(users.getMessage()))
+                    .setCount(users.getCount() != null ? users.getCount() : 0)
+                    .build();
+        }
+        if (body instanceof AccountsByUserResponse accounts) {
+            return com.tudai.monopatines.accounts.grpc.AccountsByUserResponse.newBuilder()
+                    .setUserId(orZero(accounts.getUserId()))
+                    .addAllAccounts(accounts.getAccounts().stream().map(ProtobufMapper::mapAccount).toList())
+                    .setMessage(orEmpty(accounts.getMessage()))
+                    .setCount(accounts.getCount() != null ? accounts.getCount() : 0)
+                    .build();
+        }
+        if (body instanceof GlobalExceptionHandler.ErrorResponse error) {
+            return com.tudai.monopatines.accounts.grpc.ErrorResponse.newBuilder()
+                    .setTimestamp(toEpochMilli(error.getTimestamp()))
+                    .setStatus(error.getStatus())
+                    .setError(orEmpty(error.getError()))
+                    .setMessage(orEmpty(error.getMessage()))
+                    .build();
+        }
+        throw new IllegalArgumentException("No protobuf representation for " + body.getClass().getName());
+    }
+
+    /**
+     * Mapea una lista según el tipo de sus elementos. Una lista vacía se serializa igual
+     * (cero bytes) cualquiera sea su tipo.
+     */
+    private static Message mapList(List<?> list) {
+        if (list.isEmpty()) {
+            return AccountList.getDefaultInstance();
+        }
+        Object first = list.get(0);
+        if (first instanceof AccountResponse) {
+            AccountList.Builder builder = AccountList.newBuilder();
+            list.forEach(account -> builder.addAccounts(mapAccount((AccountResponse) account)));
+            return builder.build();
+        }
+        if (first instanceof BalanceResponse) {
+            AccountBalanceList.Builder builder = AccountBalanceList.newBuilder();
+            list.forEach(balance -> builder.addBalances(mapBalance((BalanceResponse) balance)));
+            return builder.build();
+        }
+        if (first instanceof UserResponse) {
+            UserList.Builder builder = UserList.newBuilder();
+            list.forEach(user -> builder.addUsers(mapUser((UserResponse) user)));
+            return builder.build();
+        }
+        throw new IllegalArgumentException("No protobuf representation for lists of " + first.getClass().getName());
+    }
+
+    private static com.tudai.monopatines.accounts.grpc.AccountResponse mapAccount(AccountResponse account) {
+        return com.tudai.monopatines.accounts.grpc.AccountResponse.newBuilder()
+                .setId(orZero(account.getId()))
+                .setIdentificationNumber(orEmpty(account.getIdentificationNumber()))
+                .setMercadoPagoAccountId(orEmpty(account.getMercadoPagoAccountId()))
+                .setCurrentBalance(account.getCurrentBalance() != null ? account.getCurrentBalance() : 0.0)
+                .setActive(Boolean.TRUE.equals(account.getActive()))
+                .setCreatedAt(toEpochMilli(account.getCreatedAt()))
+                .setCancelledAt(toEpochMilli(account.getCancelledAt()))
+                .setVersion(orZero(account.getVersion()))
+                .build();
+    }
+
+    private static AccountBalanceResponse mapBalance(BalanceResponse balance) {
+        return AccountBalanceResponse.newBuilder()
+                .setAccountId(orZero(balance.getAccountId()))
+                .setCurrentBalance(balance.getCurrentBalance() != null ? balance.getCurrentBalance() : 0.0)
+                .setVersion(orZero(balance.getVersion()))
+                .build();
+    }
+
+    private static com.tudai.monopatines.accounts.grpc.UserResponse mapUser(UserResponse user) {
+        com.tudai.monopatines.accounts.grpc.UserResponse.Builder builder =
+                com.tudai.monopatines.accounts.grpc.UserResponse.newBuilder()
+                        .setId(orZero(user.getId()))
+                        .setFirstName(orEmpty(user.getFirstName()))
+                        .setLastName(orEmpty(user.getLastName()))
+                        .setEmail(orEmpty(user.getEmail()))
+                        .setPhoneNumber(orEmpty(user.getPhoneNumber()))
+                        .setVersion(orZero(user.getVersion()));
+        if (user.getCreatedAt() != null) {
+            builder.setCreatedAt(user.getCreatedAt().format(ISO_FORMATTER));
+        }
+        if (user.getRoles() != null) {
+            builder.addAllRoles(user.getRoles());
+        }
+        return builder.build();
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,36 @@
+package com.tudai.monopatines.accounts.accounts_service.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Clase utilitaria para ejecutar acciones en función del resultado de la transacción actual.
+ * 
+ * Se utiliza para mantener estructuras en memoria (índices, contadores) sincronizadas
+ * con la base de datos: los cambios solo se aplican si la transacción se confirma,
+ * de modo que un rollback nunca deja la memoria con datos que no existen en la base.
+ * 
+ */
+public class TransactionUtil {
+
+    /**
+     * Ejecuta la acción luego de que la transacción actual se confirme (commit).
+     * 
+     * Si no hay una transacción activa con sincronización, la acción se ejecuta inmediatamente.
+     * Si la transacción termina en rollback, la acción no se ejecuta.
+     * 
+     * @param action Acción a ejecutar luego del commit
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
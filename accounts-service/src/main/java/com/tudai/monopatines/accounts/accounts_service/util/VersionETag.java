@@ -0,0 +1,177 @@
+package com.tudai.monopatines.accounts.accounts_service.util;
+
+import com.tudai.monopatines.accounts.accounts_service.converter.ProtobufResponseHttpMessageConverter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase utilitaria para los ETag respaldados por la versión (@Version) de cuentas y usuarios.
+ * 
+ * El ETag de un recurso es su versión entre comillas, con un sufijo por formato de respuesta:
+ * "3" en JSON, "3-cbor" en CBOR y "3-protobuf" en protobuf. Es un ETag fuerte: dos respuestas
+ * con el mismo ETag tienen los mismos bytes, porque toda modificación incrementa la versión y
+ * cada formato tiene su propio ETag. Las respuestas negociadas llevan Vary: Accept.
+ * 
+ * If-Match compara solo la versión: cualquiera de los ETag de la versión actual cumple la condición.
+ * 
+ */
+public class VersionETag {
+
+    /**
+     * Versión que no corresponde a ningún recurso: se usa para los If-Match que no son
+     * una versión válida, de modo que la actualización falle con 412.
+     */
+    public static final long NO_VERSION = -1L;
+
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String PROTOBUF_SUFFIX = "-protobuf";
+
+    /**
+     * Formatos que pueden producir los controllers, en el orden de los converters (ver ContentNegotiationConfig).
+     */
+    private static final List<MediaType> PRODUCIBLE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            new MediaType("application", "*+json"),
+            MediaType.APPLICATION_CBOR,
+            ProtobufResponseHttpMessageConverter.PROTOBUF);
+
+    /**
+     * Obtiene el ETag de una versión en JSON.
+     * 
+     * @param version Versión del recurso
+     * @return ETag fuerte (versión entre comillas)
+     */
+    public static String of(long version) {
+        return of(version, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Obtiene el ETag de una versión en un formato de respuesta.
+     * 
+     * @param version Versión del recurso
+     * @param contentType Formato de la respuesta (JSON si es null)
+     * @return ETag fuerte (versión y sufijo del formato entre comillas)
+     */
+    public static String of(long version, MediaType contentType) {
+        return "\"" + version + suffix(contentType) + "\"";
+    }
+
+    /**
+     * Resuelve el formato en que se responde a un header Accept, con el mismo criterio que
+     * la negociación de Spring MVC sobre los formatos de los converters.
+     * 
+     * Se usa para responder 304 sin escribir el cuerpo. Si no coincide con el formato que
+     * Spring elige (por ejemplo, porque el tipo de la respuesta no tiene representación
+     * protobuf), el ETag de la respuesta 200 lo corrige NegotiatedResponseAdvice.
+     * 
+     * @param accept Valor del header Accept (JSON si es null o inválido)
+     * @return Formato de la respuesta
+     */
+    public static MediaType representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType producible : PRODUCIBLE_TYPES) {
+                if (requested.isCompatibleWith(producible)) {
+                    MediaType produced = producible.copyQualityValue(requested);
+                    compatible.add(requested.isLessSpecific(produced) ? produced : requested);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        for (MediaType mediaType : compatible) {
+            if (mediaType.isConcrete()) {
+                return mediaType;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Indica si un header If-None-Match incluye un ETag.
+     * 
+     * @param ifNoneMatch Valor del header (lista de ETags separados por coma, o *)
+     * @param etag ETag actual del recurso en el formato de la respuesta
+     * @return true si el cliente ya tiene la versión actual en ese formato (corresponde responder 304)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            // If-None-Match usa comparación débil: W/"3" equivale a "3"
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene la versión esperada de un header If-Match.
+     * 
+     * @param ifMatch Valor del header (un ETag fuerte, de cualquier formato, o *)
+     * @return Versión esperada, null si no hay condición (header ausente o *), o {@link #NO_VERSION}
+     *         si el valor no es el ETag fuerte de una versión
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return version(ifMatch.trim());
+    }
+
+    /**
+     * Obtiene la versión de un ETag fuerte, de cualquier formato.
+     * 
+     * @param tag ETag (versión y sufijo del formato entre comillas)
+     * @return Versión, o {@link #NO_VERSION} si el ETag no corresponde a una versión
+     */
+    public static long version(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        int end = tag.length() - 1;
+        if (tag.endsWith(CBOR_SUFFIX + "\"")) {
+            end -= CBOR_SUFFIX.length();
+        } else if (tag.endsWith(PROTOBUF_SUFFIX + "\"")) {
+            end -= PROTOBUF_SUFFIX.length();
+        }
+        try {
+            return Long.parseLong(tag, 1, end, 10);
+        } catch (NumberFormatException e) {
+            return NO_VERSION;
+        }
+    }
+
+    private static String suffix(MediaType contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) && contentType.isConcrete()) {
+            return CBOR_SUFFIX;
+        }
+        if (ProtobufResponseHttpMessageConverter.PROTOBUF.isCompatibleWith(contentType) && contentType.isConcrete()) {
+            return PROTOBUF_SUFFIX;
+        }
+        return "";
+    }
+}
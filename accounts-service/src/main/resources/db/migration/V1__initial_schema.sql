@@ -0,0 +1,84 @@
+-- Esquema inicial de accounts-service.
+-- Replica el esquema que generaba Hibernate con ddl-auto=update (mismos tipos y nombres de
+-- restricciones), de modo que las bases existentes puedan marcarse como baseline en la version 1
+-- (spring.flyway.baseline-on-migrate) y las nuevas se creen identicas.
+
+create table accounts (
+    active bit not null,
+    current_balance float(53) not null,
+    cancelled_at datetime(6),
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    identification_number varchar(255) not null,
+    mercado_pago_account_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255),
+    phone_number varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles (
+    id bigint not null auto_increment,
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table account_user (
+    account_id bigint not null,
+    associated_at datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    assigned_at datetime(6) not null,
+    id bigint not null auto_increment,
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table accounts
+    add constraint UK7sgjn2dfmyouwq6r0uletf7ng unique (identification_number);
+
+alter table users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table roles
+    add constraint UKofx66keruapi6vyqpv6f2or37 unique (name);
+
+alter table account_user
+    add constraint UKoo8ip5eupd8rcdtari2mky5j0 unique (account_id, user_id);
+
+alter table user_roles
+    add constraint UKa9dydk3dj4qb8cvmjijqnrg5t unique (user_id, role_id);
+
+alter table account_user
+    add constraint FK1g1m7vaq8nyf33shkii5ts1jd
+    foreign key (account_id)
+    references accounts (id);
+
+alter table account_user
+    add constraint FKks9eu44dgbs0wm9yokfi6bsyf
+    foreign key (user_id)
+    references users (id);
+
+alter table user_roles
+    add constraint FKh8ciramu9cc9q3qcqiv4ue8a6
+    foreign key (role_id)
+    references roles (id);
+
+alter table user_roles
+    add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+    foreign key (user_id)
+    references users (id);
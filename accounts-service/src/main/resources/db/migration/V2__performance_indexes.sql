@@ -0,0 +1,16 @@
+-- Indices para las consultas mas frecuentes de los repositorios.
+--
+-- Ya cubiertos por restricciones unicas existentes (no se agregan):
+-- - account_user(account_id, ...): usuarios de una cuenta, existsByAccountIdAndUserId,
+--   findAssociatedUserIds (prefijo de UKoo8ip5eupd8rcdtari2mky5j0).
+-- - user_roles(user_id, ...): UserRoleRepository.findByUserId / findByUserIdInFetchRole
+--   (prefijo de UKa9dydk3dj4qb8cvmjijqnrg5t).
+-- - accounts(identification_number) y users(email): busquedas y verificaciones de unicidad.
+
+-- Cuentas de un usuario (AccountUserRepository, getAccountsByUser). Incluye account_id para
+-- resolver la consulta solo con el indice, sin leer las filas de account_user.
+create index idx_account_user_user_account on account_user (user_id, account_id);
+
+-- Cuentas activas/anuladas (AccountRepository.findByActiveTrue / findByActiveFalse),
+-- ordenadas por id para recorrerlas por keyset.
+create index idx_accounts_active_id on accounts (active, id);
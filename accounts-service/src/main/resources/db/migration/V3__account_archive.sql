@@ -0,0 +1,37 @@
+-- Tablas de archivo para las cuentas anuladas (AccountArchiver).
+--
+-- Las cuentas anuladas hace mas de accounts.archive.retention-days se mueven, junto con sus
+-- asociaciones, desde accounts/account_user a estas tablas. Conservan el mismo ID, por lo que
+-- las lecturas por ID pueden buscar en el archivo cuando la cuenta no esta en la tabla principal.
+-- No tienen claves foraneas: los usuarios pueden eliminarse sin afectar el historial archivado.
+
+create table accounts_archive (
+    active bit not null,
+    current_balance float(53) not null,
+    archived_at datetime(6) not null,
+    cancelled_at datetime(6),
+    created_at datetime(6) not null,
+    id bigint not null,
+    identification_number varchar(255) not null,
+    mercado_pago_account_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table account_user_archive (
+    account_id bigint not null,
+    archived_at datetime(6) not null,
+    associated_at datetime(6) not null,
+    id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Verificacion de unicidad del numero identificatorio en altas e importaciones.
+alter table accounts_archive
+    add constraint uk_accounts_archive_identification_number unique (identification_number);
+
+-- Asociaciones archivadas de una cuenta.
+create index idx_account_user_archive_account on account_user_archive (account_id);
+
+-- Busqueda de cuentas a archivar (active = false AND cancelled_at < limite).
+create index idx_accounts_active_cancelled_at on accounts (active, cancelled_at);
@@ -0,0 +1,20 @@
+-- Outbox de eventos de cuentas (AccountOutbox / OutboxRelay).
+--
+-- AccountService y AccountUserService insertan una fila por cada cambio en la misma transaccion
+-- que el cambio, por lo que un evento existe si y solo si el cambio se confirmo. El ID es el
+-- offset del evento: OutboxRelay publica las filas en orden de ID y los consumidores del stream
+-- gRPC WatchAccounts retoman desde el ultimo offset recibido.
+
+create table account_outbox (
+    active bit,
+    current_balance float(53),
+    account_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    event_type varchar(32) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Limpieza de eventos vencidos (created_at < limite de retencion).
+create index idx_account_outbox_created_at on account_outbox (created_at);
@@ -0,0 +1,16 @@
+-- Version de cuentas y usuarios (@Version de JPA).
+--
+-- Respalda los ETag de GET /api/accounts/{id}, /api/accounts/{id}/balance y /api/accounts/users/{id}
+-- (If-None-Match se resuelve consultando solo la version) y el control de concurrencia optimista
+-- de los PUT (If-Match). Cada UPDATE de la fila incrementa la version; la de un usuario tambien
+-- se incrementa al asignarle o quitarle un rol, porque los roles forman parte de UserResponse.
+-- Las cuentas archivadas conservan la version que tenian al archivarse.
+
+alter table accounts
+    add column version bigint not null default 0;
+
+alter table accounts_archive
+    add column version bigint not null default 0;
+
+alter table users
+    add column version bigint not null default 0;
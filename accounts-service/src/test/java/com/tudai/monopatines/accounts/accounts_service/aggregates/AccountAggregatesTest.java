@@ -0,0 +1,110 @@
+package com.tudai.monopatines.accounts.accounts_service.aggregates;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para los agregados de cuentas en memoria.
+ * 
+ */
+@DisplayName("Tests de AccountAggregates")
+class AccountAggregatesTest {
+
+    private static final double[] BOUNDS = {0, 1000, 5000};
+
+    @Test
+    @DisplayName("Deberia actualizar los contadores con cada operacion")
+    void deberiaActualizarContadoresConCadaOperacion() {
+        // Given
+        AccountAggregates aggregates = new AccountAggregates(null, BOUNDS);
+
+        // When
+        aggregates.accountCreated(true, 0.0);
+        aggregates.accountCreated(true, 500.0);
+        aggregates.accountCreated(true, 2000.0);
+        aggregates.balanceChanged(500.0, 7000.5);
+        aggregates.accountCancelled();
+        aggregates.accountDeleted(true, 0.0);
+
+        // Then
+        AccountAggregatesResponse snapshot = aggregates.getSnapshot();
+        assertEquals(9000.5, snapshot.getTotalBalance());
+        assertEquals(1L, snapshot.getActiveAccounts());
+        assertEquals(1L, snapshot.getCancelledAccounts());
+        assertEquals(2L, snapshot.getTotalAccounts());
+        assertEquals(4, snapshot.getBalanceBuckets().size());
+        assertEquals(0L, snapshot.getBalanceBuckets().get(0).getAccounts());
+        assertEquals(0L, snapshot.getBalanceBuckets().get(1).getAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(2).getAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(3).getAccounts());
+        assertNull(snapshot.getBalanceBuckets().get(3).getTo());
+        assertNull(snapshot.getLastReconciledAt());
+    }
+
+    @Test
+    @DisplayName("Deberia incluir el limite superior en cada rango de saldo")
+    void deberiaIncluirLimiteSuperiorEnCadaRango() {
+        // Given
+        AccountAggregates aggregates = new AccountAggregates(null, BOUNDS);
+
+        // When
+        aggregates.accountCreated(true, 1000.0);
+        aggregates.accountCreated(true, 1000.01);
+
+        // Then
+        AccountAggregatesResponse snapshot = aggregates.getSnapshot();
+        assertEquals(1L, snapshot.getBalanceBuckets().get(1).getAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(2).getAccounts());
+        assertEquals(0.0, snapshot.getBalanceBuckets().get(1).getFrom());
+        assertEquals(1000.0, snapshot.getBalanceBuckets().get(1).getTo());
+    }
+
+    @Test
+    @DisplayName("Deberia corregir los contadores al reconciliar contra la base de datos")
+    void deberiaCorregirContadoresAlReconciliar() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(migratedDataSource());
+        jdbcTemplate.update("INSERT INTO accounts (identification_number, mercado_pago_account_id, current_balance, active, created_at) "
+                + "VALUES ('ACC001', 'MP1', 150.25, TRUE, CURRENT_TIMESTAMP), "
+                + "('ACC002', 'MP2', 6000, TRUE, CURRENT_TIMESTAMP), "
+                + "('ACC003', 'MP3', 0, FALSE, CURRENT_TIMESTAMP)");
+        AccountAggregates aggregates = new AccountAggregates(jdbcTemplate, BOUNDS);
+        aggregates.accountCreated(true, 99999.0);
+
+        // When
+        aggregates.reconcile();
+
+        // Then
+        AccountAggregatesResponse snapshot = aggregates.getSnapshot();
+        assertEquals(6150.25, snapshot.getTotalBalance());
+        assertEquals(2L, snapshot.getActiveAccounts());
+        assertEquals(1L, snapshot.getCancelledAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(0).getAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(1).getAccounts());
+        assertEquals(0L, snapshot.getBalanceBuckets().get(2).getAccounts());
+        assertEquals(1L, snapshot.getBalanceBuckets().get(3).getAccounts());
+        assertNotNull(snapshot.getLastReconciledAt());
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar limites de rangos que no son crecientes")
+    void deberiaRechazarLimitesNoCrecientes() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountAggregates(null, new double[]{100, 100}));
+    }
+
+    private static JdbcDataSource migratedDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:aggregates_" + UUID.randomUUID()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        return dataSource;
+    }
+}
@@ -0,0 +1,144 @@
+package com.tudai.monopatines.accounts.accounts_service.archive;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.exception.AccountAlreadyExistsException;
+import com.tudai.monopatines.accounts.accounts_service.exception.AccountInactiveException;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountUserService;
+import com.tudai.monopatines.accounts.accounts_service.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para AccountArchiver.
+ * Verifican que las cuentas anuladas se muevan al archivo y se sigan obteniendo por ID.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - AccountArchiver")
+class AccountArchiverIntegrationTest {
+
+    @Autowired
+    private AccountArchiver accountArchiver;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountUserService accountUserService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deberia archivar las cuentas anuladas antes del limite junto con sus asociaciones")
+    void deberiaArchivarCuentasAnuladasAntesDelLimite() throws InterruptedException {
+        Long oldCancelledId = createCancelledAccount("ACC001", LocalDateTime.now().minusDays(400));
+        Long recentCancelledId = createCancelledAccount("ACC002", LocalDateTime.now().minusDays(10));
+        Long activeId = createAccount("ACC003");
+        Long userId = createUser();
+        accountUserService.associateUserToAccount(oldCancelledId, userId);
+        flushAndClear();
+
+        int archived = accountArchiver.archiveCancelledBefore(LocalDateTime.now().minusDays(365));
+
+        assertEquals(1, archived);
+        assertEquals(0, count("SELECT COUNT(*) FROM accounts WHERE id = ?", oldCancelledId));
+        assertEquals(1, count("SELECT COUNT(*) FROM accounts_archive WHERE id = ?", oldCancelledId));
+        assertEquals(0, count("SELECT COUNT(*) FROM account_user WHERE account_id = ?", oldCancelledId));
+        assertEquals(1, count("SELECT COUNT(*) FROM account_user_archive WHERE account_id = ?", oldCancelledId));
+        assertEquals(1, count("SELECT COUNT(*) FROM accounts WHERE id = ?", recentCancelledId));
+        assertEquals(1, count("SELECT COUNT(*) FROM accounts WHERE id = ?", activeId));
+    }
+
+    @Test
+    @DisplayName("Deberia seguir obteniendo una cuenta archivada por ID")
+    void deberiaObtenerCuentaArchivadaPorId() throws InterruptedException {
+        Long accountId = createCancelledAccount("ACC001", LocalDateTime.now().minusDays(400));
+        Long activeId = createAccount("ACC002");
+        flushAndClear();
+        accountArchiver.archiveCancelledBefore(LocalDateTime.now().minusDays(365));
+
+        AccountResponse account = accountService.getAccountById(accountId);
+        assertEquals("ACC001", account.getIdentificationNumber());
+        assertFalse(account.getActive());
+        assertEquals(500.0, accountService.getBalance(accountId).getCurrentBalance());
+        assertFalse(accountService.isAccountActive(accountId));
+
+        List<AccountResponse> accounts = accountService.getAccountsByIds(List.of(accountId, activeId));
+        assertEquals(2, accounts.size());
+        assertEquals(accountId, accounts.get(0).getId());
+        assertEquals(activeId, accounts.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar cargas de saldo y numeros identificatorios repetidos de cuentas archivadas")
+    void deberiaRechazarOperacionesSobreCuentaArchivada() throws InterruptedException {
+        Long accountId = createCancelledAccount("ACC001", LocalDateTime.now().minusDays(400));
+        flushAndClear();
+        accountArchiver.archiveCancelledBefore(LocalDateTime.now().minusDays(365));
+
+        BalanceRequest balanceRequest = new BalanceRequest();
+        balanceRequest.setAmount(100.0);
+        assertThrows(AccountInactiveException.class, () -> accountService.loadBalance(accountId, balanceRequest));
+        assertThrows(AccountAlreadyExistsException.class, () -> createAccount("ACC001"));
+    }
+
+    private Long createAccount(String identificationNumber) {
+        AccountRequest request = new AccountRequest();
+        request.setIdentificationNumber(identificationNumber);
+        request.setMercadoPagoAccountId("MP123456");
+        request.setCurrentBalance(500.0);
+        return accountService.createAccount(request).getId();
+    }
+
+    private Long createCancelledAccount(String identificationNumber, LocalDateTime cancelledAt) {
+        Long id = createAccount(identificationNumber);
+        accountService.cancelAccount(id);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE accounts SET cancelled_at = ? WHERE id = ?", Timestamp.valueOf(cancelledAt), id);
+        return id;
+    }
+
+    private Long createUser() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setFirstName("Juan");
+        request.setLastName("Perez");
+        request.setEmail("juan.perez@example.com");
+        request.setPhoneNumber("+5491112345678");
+        request.setPassword("hashedPassword123");
+        return userService.createUser(request).getId();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
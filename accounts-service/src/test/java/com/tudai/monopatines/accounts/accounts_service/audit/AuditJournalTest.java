@@ -0,0 +1,136 @@
+package com.tudai.monopatines.accounts.accounts_service.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el journal de auditoria.
+ * 
+ */
+@DisplayName("Tests del journal AuditJournal")
+class AuditJournalTest {
+
+    /**
+     * Segmentos de 10 registros para ejercitar el cambio de segmento.
+     */
+    private static final int SEGMENT_SIZE = 10 * AuditRecord.SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deberia escribir los eventos en orden y poder leerlos")
+    void deberiaEscribirYLeerEventos() throws IOException {
+        // Given
+        AuditJournal journal = newJournal();
+        journal.start();
+
+        // When
+        journal.balanceLoaded(1L, 100.0, 150.5);
+        journal.balanceDeducted(1L, 50.25, 100.25);
+        journal.accountCancelled(1L);
+        journal.roleAssigned(7L, "ROLE_ADMIN");
+        journal.roleRemoved(7L, "ROLE_USER");
+        journal.stop();
+
+        // Then
+        List<String> lines = readLines(1L);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).matches("1 \\S+ BALANCE_LOADED actor=0 subject=1 amount=100.0 balance=150.5"));
+        assertTrue(lines.get(1).matches("2 \\S+ BALANCE_DEDUCTED actor=0 subject=1 amount=50.25 balance=100.25"));
+        assertTrue(lines.get(2).matches("3 \\S+ ACCOUNT_CANCELLED actor=0 subject=1"));
+        assertTrue(lines.get(3).matches("4 \\S+ ROLE_ASSIGNED actor=0 subject=7 role=ROLE_ADMIN"));
+        assertTrue(lines.get(4).matches("5 \\S+ ROLE_REMOVED actor=0 subject=7 role=ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Deberia cambiar de segmento y continuar la secuencia al reabrir el journal")
+    void deberiaCambiarDeSegmentoYContinuarSecuencia() throws IOException {
+        // Given - 25 eventos en segmentos de 10 registros
+        AuditJournal journal = newJournal();
+        journal.start();
+        for (long id = 1; id <= 25; id++) {
+            journal.balanceLoaded(id, id, id);
+        }
+        journal.stop();
+
+        // When - se reabre el journal y se agregan 5 eventos
+        AuditJournal reopened = newJournal();
+        reopened.start();
+        for (long id = 26; id <= 30; id++) {
+            reopened.balanceLoaded(id, id, id);
+        }
+        reopened.stop();
+
+        // Then
+        assertEquals(3, AuditSegmentWriter.listSegments(directory).size());
+        List<Long> sequences = new ArrayList<>();
+        List<Long> subjects = new ArrayList<>();
+        AuditJournalReader.read(directory, 1L, record -> {
+            sequences.add(record.getSequence());
+            subjects.add(record.getSubjectId());
+        });
+        assertEquals(30, sequences.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i + 1L, sequences.get(i));
+            assertEquals(i + 1L, subjects.get(i));
+        }
+
+        // Then - lectura desde una secuencia intermedia
+        assertEquals(List.of(28L, 29L, 30L), readSequences(28L));
+    }
+
+    @Test
+    @DisplayName("Deberia registrar los eventos de varios hilos sin perder ninguno")
+    void deberiaRegistrarEventosConcurrentes() throws Exception {
+        // Given - ring buffer de 8 posiciones para forzar la espera de los productores
+        AuditJournal journal = new AuditJournal(true, directory.toString(), 64 * AuditRecord.SIZE, 8, 1000);
+        journal.start();
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t * 1000L;
+            Thread thread = new Thread(() -> {
+                for (long i = 1; i <= 500; i++) {
+                    journal.balanceDeducted(base + i, 1.0, 0.0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        journal.stop();
+
+        // Then
+        List<Long> sequences = readSequences(1L);
+        assertEquals(2000, sequences.size());
+        assertEquals(2000L, sequences.get(sequences.size() - 1));
+    }
+
+    private AuditJournal newJournal() {
+        return new AuditJournal(true, directory.toString(), SEGMENT_SIZE, 16, 1000);
+    }
+
+    private List<String> readLines(long fromSequence) throws IOException {
+        List<String> lines = new ArrayList<>();
+        AuditJournalReader.read(directory, fromSequence, record -> lines.add(record.toString()));
+        return lines;
+    }
+
+    private List<Long> readSequences(long fromSequence) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        AuditJournalReader.read(directory, fromSequence, record -> sequences.add(record.getSequence()));
+        return sequences;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tudai.monopatines.accounts.accounts_service.controller;
+
+import com.tudai.monopatines.accounts.accounts_service.converter.ProtobufResponseHttpMessageConverter;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integracion para los ETag y Vary de las respuestas negociadas de AccountController.
+ * 
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - AccountController")
+class AccountControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    @DisplayName("Deberia responder la misma cuenta en JSON y protobuf con distinto ETag y Vary: Accept")
+    void deberiaResponderDistintoETagPorFormato() throws Exception {
+        // Given
+        AccountResponse account = createAccount();
+        String jsonETag = "\"" + account.getVersion() + "\"";
+        String protobufETag = "\"" + account.getVersion() + "-protobuf\"";
+
+        // When / Then
+        mockMvc.perform(get("/api/accounts/{id}", account.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/accounts/{id}", account.getId()).accept(ProtobufResponseHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ProtobufResponseHttpMessageConverter.PROTOBUF))
+                .andExpect(header().string(HttpHeaders.ETAG, protobufETag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @DisplayName("Deberia responder 304 solo si If-None-Match tiene el ETag del formato pedido")
+    void deberiaResponder304SoloParaElMismoFormato() throws Exception {
+        // Given
+        AccountResponse account = createAccount();
+        String jsonETag = "\"" + account.getVersion() + "\"";
+        String protobufETag = "\"" + account.getVersion() + "-protobuf\"";
+
+        // When / Then: el ETag de JSON no sirve para la respuesta protobuf
+        mockMvc.perform(get("/api/accounts/{id}", account.getId())
+                        .accept(ProtobufResponseHttpMessageConverter.PROTOBUF)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, protobufETag));
+
+        // When / Then
+        mockMvc.perform(get("/api/accounts/{id}", account.getId())
+                        .accept(ProtobufResponseHttpMessageConverter.PROTOBUF)
+                        .header(HttpHeaders.IF_NONE_MATCH, protobufETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, protobufETag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/accounts/{id}/balance", account.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    private AccountResponse createAccount() {
+        AccountRequest request = new AccountRequest();
+        request.setIdentificationNumber("ACC001");
+        request.setMercadoPagoAccountId("MP123456");
+        request.setCurrentBalance(1000.0);
+        return accountService.createAccount(request);
+    }
+}
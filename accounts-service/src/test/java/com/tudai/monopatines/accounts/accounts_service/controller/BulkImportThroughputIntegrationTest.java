@@ -0,0 +1,129 @@
+package com.tudai.monopatines.accounts.accounts_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integracion que comparan la tasa de la importacion masiva con la del alta de a una
+ * fila por vez (POST /api/accounts y POST /api/accounts/users) sobre filas del mismo formato.
+ * Ambos caminos pasan por MockMvc (validacion, controller y servicio) despues de una pasada de
+ * calentamiento. Sin @Transactional: como en produccion, cada alta confirma su propia transaccion
+ * y la importacion una por chunk. Usa su propia base H2 en memoria (las filas quedan confirmadas)
+ * y sin el log de SQL, que de otro modo domina los tiempos. Sin cache de segundo nivel: el
+ * CacheManager de JCache se comparte entre contextos y tendria los roles de la otra base.
+ * 
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-throughput;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "accounts.import.chunk-size=500",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.tudai.monopatines.accounts=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - Tasa de importacion vs. alta de a una fila")
+class BulkImportThroughputIntegrationTest {
+
+    private static final int WARM_UP_ROWS = 200;
+    private static final int ROWS = 2000;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deberia importar cuentas mas rapido que dandolas de alta de a una")
+    void deberiaImportarCuentasMasRapidoQueDeAUna() throws Exception {
+        IntFunction<String> account = i -> "{\"identificationNumber\":\"ACC-%d\",\"mercadoPagoAccountId\":\"MP-%d\",\"currentBalance\":100.0}"
+                .formatted(i, i);
+
+        Rates rates = compare("/api/accounts", "/api/accounts/import", account);
+
+        assertTrue(rates.importRowsPerSecond() > rates.oneByOneRowsPerSecond(), rates.toString());
+    }
+
+    @Test
+    @DisplayName("Deberia importar usuarios mas rapido que dandolos de alta de a uno")
+    void deberiaImportarUsuariosMasRapidoQueDeAUno() throws Exception {
+        IntFunction<String> user = i -> ("{\"firstName\":\"Usuario\",\"lastName\":\"Importado\",\"email\":\"usuario%d@example.com\","
+                + "\"phoneNumber\":\"+54911%08d\",\"password\":\"hashedPassword123\"}").formatted(i, i);
+
+        Rates rates = compare("/api/accounts/users", "/api/accounts/users/import", user);
+
+        assertTrue(rates.importRowsPerSecond() > rates.oneByOneRowsPerSecond(), rates.toString());
+    }
+
+    /**
+     * Da de alta filas del mismo formato por los dos caminos. Cada pasada usa su propio rango de
+     * claves (numero identificatorio o email) para que no haya duplicados.
+     */
+    private Rates compare(String createPath, String importPath, IntFunction<String> row) throws Exception {
+        createOneByOne(createPath, lines(row, 0, WARM_UP_ROWS));
+        importAll(importPath, lines(row, WARM_UP_ROWS, WARM_UP_ROWS));
+
+        double oneByOne = createOneByOne(createPath, lines(row, 2 * WARM_UP_ROWS, ROWS));
+        double imported = importAll(importPath, lines(row, 2 * WARM_UP_ROWS + ROWS, ROWS));
+        return new Rates(oneByOne, imported);
+    }
+
+    private double createOneByOne(String path, List<String> rows) throws Exception {
+        long start = System.nanoTime();
+        for (String row : rows) {
+            mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(row))
+                    .andExpect(status().isCreated());
+        }
+        return rows.size() * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+
+    private double importAll(String path, List<String> rows) throws Exception {
+        long start = System.nanoTime();
+        String body = mockMvc.perform(post(path).contentType(NDJSON).content(String.join("\n", rows)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        double rowsPerSecond = rows.size() * 1_000_000_000.0 / (System.nanoTime() - start);
+
+        JsonNode response = objectMapper.readTree(body);
+        assertEquals(rows.size(), response.get("importedRows").asInt());
+        return rowsPerSecond;
+    }
+
+    private static List<String> lines(IntFunction<String> row, int from, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            lines.add(row.apply(i));
+        }
+        return lines;
+    }
+
+    private record Rates(double oneByOneRowsPerSecond, double importRowsPerSecond) {
+
+        @Override
+        public String toString() {
+            return "Alta de a una: %.0f filas/s, importacion: %.0f filas/s"
+                    .formatted(oneByOneRowsPerSecond, importRowsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.tudai.monopatines.accounts.accounts_service.controller;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integracion para el mapping de GET /api/accounts/users en UserController.
+ * 
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - UserController")
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Deberia obtener un usuario por email")
+    void deberiaObtenerUsuarioPorEmail() throws Exception {
+        // Given
+        Long userId = createUser("juan.perez@example.com");
+
+        // When / Then
+        mockMvc.perform(get("/api/accounts/users").param("email", "juan.perez@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("getUserByEmail"))
+                .andExpect(jsonPath("$.id").value(userId));
+    }
+
+    @Test
+    @DisplayName("Deberia obtener varios usuarios por ID")
+    void deberiaObtenerUsuariosPorIds() throws Exception {
+        // Given
+        Long firstId = createUser("juan.perez@example.com");
+        Long secondId = createUser("ana.gomez@example.com");
+
+        // When / Then
+        mockMvc.perform(get("/api/accounts/users").param("ids", secondId + "," + firstId))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("getUsersByIds"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(secondId))
+                .andExpect(jsonPath("$[1].id").value(firstId));
+    }
+
+    @Test
+    @DisplayName("Deberia atender el GET sin parametros con el handler de busqueda por email")
+    void deberiaAtenderGetSinParametrosConBusquedaPorEmail() throws Exception {
+        mockMvc.perform(get("/api/accounts/users"))
+                .andExpect(handler().methodName("getUserByEmail"));
+    }
+
+    private Long createUser(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setFirstName("Juan");
+        request.setLastName("Perez");
+        request.setEmail(email);
+        request.setPhoneNumber("+5491112345678");
+        request.setPassword("hashedPassword123");
+        return userService.createUser(request).getId();
+    }
+}
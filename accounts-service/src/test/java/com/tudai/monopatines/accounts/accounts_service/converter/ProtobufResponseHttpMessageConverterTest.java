@@ -0,0 +1,127 @@
+package com.tudai.monopatines.accounts.accounts_service.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountAggregatesResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.grpc.AccountBalanceList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el converter de respuestas protobuf.
+ * 
+ */
+@DisplayName("Tests de ProtobufResponseHttpMessageConverter")
+class ProtobufResponseHttpMessageConverterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 10, 12, 30);
+
+    private ProtobufResponseHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new ProtobufResponseHttpMessageConverter();
+    }
+
+    @Test
+    @DisplayName("Deberia escribir una cuenta como mensaje protobuf")
+    void deberiaEscribirCuentaComoProtobuf() throws IOException {
+        // Given
+        AccountResponse account = account(7L);
+
+        // When
+        MockHttpOutputMessage output = write(account, AccountResponse.class);
+
+        // Then
+        com.tudai.monopatines.accounts.grpc.AccountResponse message =
+                com.tudai.monopatines.accounts.grpc.AccountResponse.parseFrom(output.getBodyAsBytes());
+        assertEquals(7L, message.getId());
+        assertEquals("ACC7", message.getIdentificationNumber());
+        assertEquals(1500.5, message.getCurrentBalance());
+        assertTrue(message.getActive());
+        assertEquals(CREATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), message.getCreatedAt());
+        assertEquals(0L, message.getCancelledAt());
+        assertEquals(3L, message.getVersion());
+        assertEquals(ProtobufResponseHttpMessageConverter.PROTOBUF, output.getHeaders().getContentType());
+    }
+
+    @Test
+    @DisplayName("Deberia escribir las listas segun el tipo de sus elementos")
+    void deberiaEscribirListasSegunTipoDeElemento() throws IOException {
+        // Given
+        Type balancesType = new ParameterizedTypeReference<List<BalanceResponse>>() {}.getType();
+        Type stringsType = new ParameterizedTypeReference<List<String>>() {}.getType();
+        List<BalanceResponse> balances = List.of(new BalanceResponse(1L, 10.0, 1L), new BalanceResponse(2L, 20.0, 4L));
+
+        // When
+        MockHttpOutputMessage output = write(balances, balancesType);
+
+        // Then
+        AccountBalanceList message = AccountBalanceList.parseFrom(output.getBodyAsBytes());
+        assertEquals(2, message.getBalancesCount());
+        assertEquals(20.0, message.getBalances(1).getCurrentBalance());
+        assertEquals(4L, message.getBalances(1).getVersion());
+        assertTrue(converter.canWrite(new ParameterizedTypeReference<List<UserResponse>>() {}.getType(), List.class,
+                ProtobufResponseHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(stringsType, List.class, ProtobufResponseHttpMessageConverter.PROTOBUF));
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar los tipos sin representacion protobuf, otros formatos y la lectura")
+    void deberiaRechazarTiposSinRepresentacion() {
+        assertFalse(converter.canWrite(AccountAggregatesResponse.class, AccountAggregatesResponse.class,
+                ProtobufResponseHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(AccountResponse.class, AccountResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(AccountResponse.class, AccountResponse.class,
+                ProtobufResponseHttpMessageConverter.PROTOBUF));
+    }
+
+    @Test
+    @DisplayName("Deberia generar cuerpos mas chicos que JSON en protobuf y en CBOR")
+    void deberiaGenerarCuerposMasChicosQueJson() throws IOException {
+        // Given
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            accounts.add(account(id));
+        }
+        AccountPageResponse page = new AccountPageResponse(accounts, 100L, true);
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+        // When
+        int jsonSize = json.writeValueAsBytes(page).length;
+        int cborSize = cbor.writeValueAsBytes(page).length;
+        int protobufSize = write(page, AccountPageResponse.class).getBodyAsBytes().length;
+
+        // Then
+        assertTrue(cborSize < jsonSize, "CBOR: " + cborSize + " bytes, JSON: " + jsonSize + " bytes");
+        assertTrue(protobufSize < jsonSize / 2, "Protobuf: " + protobufSize + " bytes, JSON: " + jsonSize + " bytes");
+    }
+
+    private MockHttpOutputMessage write(Object body, Type type) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, type, ProtobufResponseHttpMessageConverter.PROTOBUF, output);
+        return output;
+    }
+
+    private static AccountResponse account(long id) {
+        return new AccountResponse(id, "ACC" + id, "MP" + id, 1500.5, true, CREATED_AT, null, 3L);
+    }
+}
@@ -0,0 +1,109 @@
+package com.tudai.monopatines.accounts.accounts_service.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del ruteo de transacciones readOnly a replicas con dos bases H2 en memoria
+ * (una como primario y otra como replica).
+ * 
+ */
+@DisplayName("Tests de ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @Test
+    @DisplayName("Deberia enviar las transacciones readOnly a la replica y las de escritura al primario")
+    void deberiaRutearLecturasAReplicaYEscriturasAPrimario() {
+        ReplicaRoutingDataSource replicas = routing(List.of(named("replica", replica)), null);
+
+        assertEquals("replica", nodeName(replicas, true));
+        assertEquals("primary", nodeName(replicas, false));
+    }
+
+    @Test
+    @DisplayName("Deberia usar el primario si la replica falla")
+    void deberiaUsarPrimarioSiReplicaFalla() {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:inexistente;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource replicas = routing(List.of(named("broken", broken)), null);
+
+        assertEquals("primary", nodeName(replicas, true));
+    }
+
+    @Test
+    @DisplayName("Deberia saltear la replica que fallo y usar la siguiente")
+    void deberiaSaltearReplicaQueFallo() {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:inexistente;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource replicas = routing(
+                List.of(named("broken", broken), named("replica", replica)), null);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", nodeName(replicas, true));
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia usar el primario si la replica supera el retraso tolerado")
+    void deberiaUsarPrimarioSiReplicaEstaAtrasada() {
+        new JdbcTemplate(replica).execute("UPDATE node SET lag_seconds = 60");
+        ReplicaRoutingDataSource replicas = routing(List.of(named("replica", replica)), "SELECT lag_seconds FROM node");
+
+        replicas.refreshReplicationLag();
+        assertEquals("primary", nodeName(replicas, true));
+
+        new JdbcTemplate(replica).execute("UPDATE node SET lag_seconds = 1");
+        replicas.refreshReplicationLag();
+        assertEquals("replica", nodeName(replicas, true));
+    }
+
+    private ReplicaRoutingDataSource routing(List<ReplicaRoutingDataSource.NamedDataSource> replicas, String lagQuery) {
+        return new ReplicaRoutingDataSource(primary, replicas, 5, 30000, lagQuery);
+    }
+
+    /**
+     * Ejecuta una consulta dentro de una transaccion y devuelve el nombre del nodo que la resolvio.
+     */
+    private String nodeName(ReplicaRoutingDataSource replicas, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static ReplicaRoutingDataSource.NamedDataSource named(String name, DataSource dataSource) {
+        return new ReplicaRoutingDataSource.NamedDataSource(name, dataSource);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), lag_seconds BIGINT)");
+        jdbcTemplate.update("INSERT INTO node (name, lag_seconds) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,253 @@
+package com.tudai.monopatines.accounts.accounts_service.grpc;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxRelay;
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.repository.ArchivedAccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountUserService;
+import com.tudai.monopatines.accounts.grpc.AccountActiveResponse;
+import com.tudai.monopatines.accounts.grpc.AccountBalanceResponse;
+import com.tudai.monopatines.accounts.grpc.AccountIdRequest;
+import com.tudai.monopatines.accounts.grpc.AccountStatus;
+import com.tudai.monopatines.accounts.grpc.CheckAccountsRequest;
+import com.tudai.monopatines.accounts.grpc.CheckAccountsResponse;
+import com.tudai.monopatines.accounts.grpc.DeductBalanceRequest;
+import com.tudai.monopatines.accounts.grpc.DeductBalancesRequest;
+import com.tudai.monopatines.accounts.grpc.DeductBalancesResponse;
+import com.tudai.monopatines.accounts.grpc.DeductStatus;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para el servidor gRPC de cuentas.
+ * Llama a los metodos del servicio directamente con un StreamObserver que registra
+ * las respuestas, sin levantar un canal gRPC.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - AccountServiceGrpcImpl")
+class AccountServiceGrpcImplIntegrationTest {
+
+    @Autowired
+    private AccountServiceGrpcImpl grpcService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ArchivedAccountRepository archivedAccountRepository;
+
+    @Autowired
+    private AccountUserService accountUserService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Test
+    @DisplayName("Deberia responder el estado y el saldo de una cuenta")
+    void deberiaResponderEstadoYSaldo() {
+        // Given
+        Long accountId = createAccount("ACC001", 500.0);
+
+        // When
+        RecordingObserver<AccountActiveResponse> active = new RecordingObserver<>();
+        grpcService.isAccountActive(idRequest(accountId), active);
+        RecordingObserver<AccountBalanceResponse> balance = new RecordingObserver<>();
+        grpcService.getBalance(idRequest(accountId), balance);
+
+        // Then
+        assertTrue(active.single().getActive());
+        assertEquals(500.0, balance.single().getCurrentBalance());
+    }
+
+    @Test
+    @DisplayName("Deberia responder NOT_FOUND si la cuenta no existe")
+    void deberiaResponderNotFoundSiLaCuentaNoExiste() {
+        // When
+        RecordingObserver<AccountActiveResponse> active = new RecordingObserver<>();
+        grpcService.isAccountActive(idRequest(999_999L), active);
+        RecordingObserver<AccountBalanceResponse> balance = new RecordingObserver<>();
+        grpcService.getBalance(idRequest(999_999L), balance);
+
+        // Then
+        assertEquals(Status.Code.NOT_FOUND, active.errorCode());
+        assertEquals(Status.Code.NOT_FOUND, balance.errorCode());
+    }
+
+    @Test
+    @DisplayName("Deberia responder FAILED_PRECONDITION si el saldo es insuficiente o la cuenta esta anulada")
+    void deberiaResponderFailedPrecondition() {
+        // Given
+        Long accountId = createAccount("ACC001", 100.0);
+        Long cancelledId = createAccount("ACC002", 100.0);
+        accountService.cancelAccount(cancelledId);
+
+        // When
+        RecordingObserver<AccountBalanceResponse> insufficient = new RecordingObserver<>();
+        grpcService.deductBalance(deductRequest(accountId, 150.0), insufficient);
+        RecordingObserver<AccountBalanceResponse> inactive = new RecordingObserver<>();
+        grpcService.deductBalance(deductRequest(cancelledId, 10.0), inactive);
+
+        // Then
+        assertEquals(Status.Code.FAILED_PRECONDITION, insufficient.errorCode());
+        assertEquals(Status.Code.FAILED_PRECONDITION, inactive.errorCode());
+        assertEquals(100.0, accountService.getBalance(accountId).getCurrentBalance());
+    }
+
+    @Test
+    @DisplayName("Deberia responder ABORTED ante una modificacion concurrente")
+    void deberiaResponderAbortedAnteModificacionConcurrente() {
+        // Given: un AccountService que siempre falla por bloqueo optimista
+        AccountService conflicting = (AccountService) Proxy.newProxyInstance(
+                AccountService.class.getClassLoader(), new Class<?>[]{AccountService.class},
+                (proxy, method, args) -> {
+                    throw new OptimisticLockingFailureException("Account was modified concurrently");
+                });
+        AccountServiceGrpcImpl service = new AccountServiceGrpcImpl(conflicting, accountRepository,
+                archivedAccountRepository, accountUserService, outboxRelay, 100);
+
+        // When
+        RecordingObserver<AccountBalanceResponse> observer = new RecordingObserver<>();
+        service.deductBalance(deductRequest(1L, 10.0), observer);
+
+        // Then
+        assertEquals(Status.Code.ABORTED, observer.errorCode());
+    }
+
+    @Test
+    @DisplayName("Deberia verificar varias cuentas en una sola llamada respetando el orden del request")
+    void deberiaVerificarVariasCuentas() {
+        // Given
+        Long activeId = createAccount("ACC001", 100.0);
+        Long cancelledId = createAccount("ACC002", 50.0);
+        accountService.cancelAccount(cancelledId);
+
+        // When
+        RecordingObserver<CheckAccountsResponse> observer = new RecordingObserver<>();
+        grpcService.checkAccounts(CheckAccountsRequest.newBuilder()
+                .addAccountIds(cancelledId)
+                .addAccountIds(999_999L)
+                .addAccountIds(activeId)
+                .build(), observer);
+
+        // Then
+        List<AccountStatus> accounts = observer.single().getAccountsList();
+        assertEquals(3, accounts.size());
+        assertEquals(cancelledId, accounts.get(0).getAccountId());
+        assertTrue(accounts.get(0).getFound());
+        assertFalse(accounts.get(0).getActive());
+        assertEquals(999_999L, accounts.get(1).getAccountId());
+        assertFalse(accounts.get(1).getFound());
+        assertEquals(activeId, accounts.get(2).getAccountId());
+        assertTrue(accounts.get(2).getActive());
+        assertEquals(100.0, accounts.get(2).getCurrentBalance());
+    }
+
+    @Test
+    @DisplayName("Deberia responder una lista vacia si no se envian cuentas")
+    void deberiaResponderListaVaciaSinCuentas() {
+        // When
+        RecordingObserver<CheckAccountsResponse> observer = new RecordingObserver<>();
+        grpcService.checkAccounts(CheckAccountsRequest.getDefaultInstance(), observer);
+
+        // Then
+        assertEquals(0, observer.single().getAccountsCount());
+    }
+
+    @Test
+    @DisplayName("Deberia aplicar cada descuento del batch de forma independiente")
+    void deberiaAplicarDescuentosIndependientes() {
+        // Given
+        Long accountId = createAccount("ACC001", 100.0);
+
+        // When
+        RecordingObserver<DeductBalancesResponse> observer = new RecordingObserver<>();
+        grpcService.deductBalances(DeductBalancesRequest.newBuilder()
+                .addDeductions(deductRequest(accountId, 30.0))
+                .addDeductions(deductRequest(999_999L, 10.0))
+                .addDeductions(deductRequest(accountId, 500.0))
+                .build(), observer);
+
+        // Then
+        DeductBalancesResponse response = observer.single();
+        assertEquals(DeductStatus.DEDUCT_STATUS_OK, response.getResults(0).getStatus());
+        assertEquals(70.0, response.getResults(0).getCurrentBalance());
+        assertEquals(DeductStatus.DEDUCT_STATUS_ACCOUNT_NOT_FOUND, response.getResults(1).getStatus());
+        assertEquals(DeductStatus.DEDUCT_STATUS_INSUFFICIENT_BALANCE, response.getResults(2).getStatus());
+        assertEquals(70.0, accountService.getBalance(accountId).getCurrentBalance());
+    }
+
+    private Long createAccount(String identificationNumber, double balance) {
+        AccountRequest request = new AccountRequest();
+        request.setIdentificationNumber(identificationNumber);
+        request.setMercadoPagoAccountId("MP-" + identificationNumber);
+        request.setCurrentBalance(balance);
+        return accountService.createAccount(request).getId();
+    }
+
+    private static AccountIdRequest idRequest(Long accountId) {
+        return AccountIdRequest.newBuilder().setAccountId(accountId).build();
+    }
+
+    private static DeductBalanceRequest deductRequest(Long accountId, double amount) {
+        return DeductBalanceRequest.newBuilder().setAccountId(accountId).setAmount(amount).build();
+    }
+
+    /**
+     * StreamObserver que registra las respuestas y el error de una llamada unaria.
+     */
+    private static class RecordingObserver<T> implements StreamObserver<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+
+        T single() {
+            assertNull(error, () -> "Unexpected error: " + error);
+            assertTrue(completed);
+            assertEquals(1, values.size());
+            return values.get(0);
+        }
+
+        Status.Code errorCode() {
+            assertNotNull(error);
+            assertTrue(values.isEmpty());
+            assertFalse(completed);
+            return Status.fromThrowable(error).getCode();
+        }
+    }
+}
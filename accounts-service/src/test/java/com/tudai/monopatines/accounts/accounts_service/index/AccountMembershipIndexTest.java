@@ -0,0 +1,111 @@
+package com.tudai.monopatines.accounts.accounts_service.index;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.MembershipIndexStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el indice en memoria de asociaciones cuenta-usuario.
+ * 
+ */
+@DisplayName("Tests del indice AccountMembershipIndex")
+class AccountMembershipIndexTest {
+
+    private AccountMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AccountMembershipIndex(null);
+    }
+
+    @Test
+    @DisplayName("Deberia encontrar una asociacion registrada")
+    void deberiaEncontrarAsociacionRegistrada() {
+        // Given
+        index.add(1L, 10L);
+        index.add(1L, 5L);
+        index.add(2L, 10L);
+
+        // Then
+        assertTrue(index.isMember(1L, 10L));
+        assertTrue(index.isMember(1L, 5L));
+        assertTrue(index.isMember(2L, 10L));
+        assertFalse(index.isMember(2L, 5L));
+        assertFalse(index.isMember(3L, 10L));
+    }
+
+    @Test
+    @DisplayName("Deberia ignorar asociaciones duplicadas")
+    void deberiaIgnorarAsociacionesDuplicadas() {
+        // Given
+        index.add(1L, 10L);
+        index.add(1L, 10L);
+
+        // When
+        MembershipIndexStatsResponse stats = index.getStats();
+
+        // Then
+        assertEquals(1L, stats.getAssociations());
+        assertEquals(1L, stats.getAccounts());
+        assertEquals(1L, stats.getUsers());
+    }
+
+    @Test
+    @DisplayName("Deberia eliminar una asociacion")
+    void deberiaEliminarAsociacion() {
+        // Given
+        index.add(1L, 10L);
+        index.add(1L, 20L);
+
+        // When
+        index.remove(1L, 10L);
+        index.remove(1L, 99L);
+
+        // Then
+        assertFalse(index.isMember(1L, 10L));
+        assertTrue(index.isMember(1L, 20L));
+        assertEquals(1L, index.getStats().getAssociations());
+    }
+
+    @Test
+    @DisplayName("Deberia liberar las claves sin asociaciones")
+    void deberiaLiberarClavesSinAsociaciones() {
+        // Given
+        index.add(1L, 10L);
+
+        // When
+        index.remove(1L, 10L);
+        MembershipIndexStatsResponse stats = index.getStats();
+
+        // Then
+        assertEquals(0L, stats.getAssociations());
+        assertEquals(0L, stats.getAccounts());
+        assertEquals(0L, stats.getUsers());
+        assertEquals(0L, stats.getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Deberia estimar la memoria por millon de asociaciones")
+    void deberiaEstimarMemoriaPorMillonDeAsociaciones() {
+        // Given: 1000 cuentas con 4 usuarios cada una (4000 usuarios distintos)
+        long userId = 1;
+        for (long accountId = 1; accountId <= 1000; accountId++) {
+            for (int i = 0; i < 4; i++) {
+                index.add(accountId, userId++);
+            }
+        }
+
+        // When
+        MembershipIndexStatsResponse stats = index.getStats();
+
+        // Then
+        long expectedBytes = (1000 + 4000) * AccountMembershipIndex.BYTES_PER_KEY
+                + 2 * 4000 * AccountMembershipIndex.BYTES_PER_ENTRY;
+        assertEquals(4000L, stats.getAssociations());
+        assertEquals(expectedBytes, stats.getEstimatedBytes());
+        assertEquals(expectedBytes * 1_000_000 / 4000, stats.getEstimatedBytesPerMillionAssociations());
+    }
+}
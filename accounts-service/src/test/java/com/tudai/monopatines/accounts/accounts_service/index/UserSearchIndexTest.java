@@ -0,0 +1,116 @@
+package com.tudai.monopatines.accounts.accounts_service.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el indice en memoria de busqueda de usuarios.
+ * 
+ */
+@DisplayName("Tests del indice UserSearchIndex")
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(null);
+    }
+
+    @Test
+    @DisplayName("Deberia encontrar usuarios por prefijo de email, nombre o apellido")
+    void deberiaEncontrarUsuariosPorPrefijo() {
+        // Given
+        index.put(1L, "juan.perez@example.com", "Juan", "Perez");
+        index.put(2L, "maria.gomez@example.com", "Maria Jose", "Gomez");
+        index.put(3L, "pedro@example.com", "Pedro", "Juarez");
+
+        // Then
+        assertEquals(List.of(1L, 3L), sorted(index.search("ju", null, 10).userIds()));
+        assertEquals(List.of(2L), index.search("jos", null, 10).userIds());
+        assertEquals(List.of(2L), index.search("maria.go", null, 10).userIds());
+        assertEquals(List.of(), index.search("x", null, 10).userIds());
+    }
+
+    @Test
+    @DisplayName("Deberia ignorar mayusculas y acentos")
+    void deberiaIgnorarMayusculasYAcentos() {
+        // Given
+        index.put(1L, "jose@example.com", "José", "Núñez");
+
+        // Then
+        assertEquals(List.of(1L), index.search("NUN", null, 10).userIds());
+        assertEquals(List.of(1L), index.search("josé", null, 10).userIds());
+    }
+
+    @Test
+    @DisplayName("Deberia paginar los resultados sin repetir usuarios")
+    void deberiaPaginarSinRepetirUsuarios() {
+        // Given
+        for (long id = 1; id <= 25; id++) {
+            index.put(id, "user" + id + "@example.com", "Ana", "Anaya");
+        }
+
+        // When
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            UserSearchIndex.SearchPage page = index.search("ana", cursor, 10);
+            found.addAll(page.userIds());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(3, pages);
+        assertEquals(25, found.size());
+        assertEquals(25, found.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Deberia actualizar y eliminar los terminos de un usuario")
+    void deberiaActualizarYEliminarTerminos() {
+        // Given
+        index.put(1L, "juan@example.com", "Juan", "Perez");
+
+        // When
+        index.put(1L, "juan@example.com", "Juan", "Lopez");
+
+        // Then
+        assertEquals(List.of(), index.search("perez", null, 10).userIds());
+        assertEquals(List.of(1L), index.search("lop", null, 10).userIds());
+
+        // When
+        index.remove(1L);
+
+        // Then
+        assertEquals(List.of(), index.search("juan", null, 10).userIds());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar un cursor que no corresponde al prefijo")
+    void deberiaRechazarCursorDeOtroPrefijo() {
+        // Given
+        index.put(1L, "ana@example.com", "Ana", "Perez");
+        index.put(2L, "anabel@example.com", "Anabel", "Perez");
+        String cursor = index.search("ana", null, 1).nextCursor();
+
+        // Then
+        assertNotNull(cursor);
+        assertThrows(IllegalArgumentException.class, () -> index.search("per", cursor, 1));
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,228 @@
+package com.tudai.monopatines.accounts.accounts_service.outbox;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.exception.OutboxOffsetOutOfRangeException;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_service.service.AccountUserService;
+import com.tudai.monopatines.accounts.accounts_service.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para el outbox de eventos de cuentas y su relay.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - Outbox de cuentas")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountUserService accountUserService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deberia registrar un evento por cada cambio en la misma transaccion")
+    void deberiaRegistrarEventosEnLaMismaTransaccion() {
+        // Given
+        Long accountId = createAccount("ACC001");
+
+        // When
+        accountService.loadBalance(accountId, balanceRequest(150.0));
+        accountService.cancelAccount(accountId);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT event_type, active, current_balance FROM account_outbox WHERE account_id = ? ORDER BY id", accountId);
+        assertEquals(3, rows.size());
+        assertEquals("ACCOUNT_CREATED", rows.get(0).get("event_type"));
+        assertEquals("BALANCE_CHANGED", rows.get(1).get("event_type"));
+        assertEquals(750.0, ((Number) rows.get(1).get("current_balance")).doubleValue());
+        assertEquals("ACCOUNT_CANCELLED", rows.get(2).get("event_type"));
+        assertEquals(false, rows.get(2).get("active"));
+    }
+
+    @Test
+    @DisplayName("Deberia publicar los eventos nuevos a los suscriptores en orden de offset")
+    void deberiaPublicarEventosNuevosASuscriptores() {
+        // Given
+        List<OutboxEvent> received = new ArrayList<>();
+        OutboxRelay.Subscription subscription = outboxRelay.subscribe(-1L, received::addAll);
+
+        try {
+            // When
+            Long accountId = createAccount("ACC002");
+            Long userId = createUser();
+            accountUserService.associateUserToAccount(accountId, userId);
+            outboxRelay.poll();
+
+            // Then
+            assertEquals(2, received.size());
+            assertEquals(AccountEventType.ACCOUNT_CREATED, received.get(0).type());
+            assertEquals(accountId, received.get(0).accountId());
+            assertEquals(true, received.get(0).active());
+            assertEquals(AccountEventType.USER_ASSOCIATED, received.get(1).type());
+            assertEquals(userId, received.get(1).userId());
+            assertTrue(received.get(1).offset() > received.get(0).offset());
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia retomar desde un offset sin repetir eventos")
+    void deberiaRetomarDesdeUnOffset() {
+        // Given - tres eventos ya publicados por el relay
+        Long accountId = createAccount("ACC003");
+        accountService.loadBalance(accountId, balanceRequest(10.0));
+        accountService.loadBalance(accountId, balanceRequest(20.0));
+        outboxRelay.poll();
+        long firstOffset = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM account_outbox WHERE account_id = ?", Long.class, accountId);
+
+        // When - se retoma desde el primer evento y luego ocurre un cambio nuevo
+        List<OutboxEvent> received = new ArrayList<>();
+        OutboxRelay.Subscription subscription = outboxRelay.subscribe(firstOffset, received::addAll);
+        try {
+            accountService.loadBalance(accountId, balanceRequest(30.0));
+            outboxRelay.poll();
+
+            // Then
+            assertEquals(3, received.size());
+            assertEquals(List.of(610.0, 630.0, 660.0),
+                    received.stream().map(OutboxEvent::currentBalance).toList());
+            assertTrue(received.stream().allMatch(event -> event.offset() > firstOffset));
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar un offset cuyos eventos siguientes ya se eliminaron")
+    void deberiaRechazarOffsetVencido() {
+        // Given
+        createAccount("ACC004");
+        createAccount("ACC005");
+        long firstOffset = jdbcTemplate.queryForObject("SELECT MIN(id) FROM account_outbox", Long.class);
+        jdbcTemplate.update("DELETE FROM account_outbox WHERE id = ?", firstOffset);
+
+        // When & Then
+        assertThrows(OutboxOffsetOutOfRangeException.class,
+                () -> outboxRelay.subscribe(firstOffset - 1, events -> { }));
+    }
+
+    @Test
+    @DisplayName("Deberia esperar un hueco y publicar en orden si se completa antes del timeout")
+    void deberiaEsperarUnHuecoQueSeCompletaAntesDelTimeout() {
+        // Given - relay con timeout de hueco de 1 minuto, iniciado en el ultimo offset existente
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, 500, 60_000, 72, 600_000);
+        relay.init();
+        long start = relay.getLastRelayedOffset();
+        List<OutboxEvent> received = new ArrayList<>();
+        relay.subscribe(-1L, received::addAll);
+
+        // When - la transaccion del offset start + 2 se confirma antes que la de start + 1
+        insertEvent(start + 2, 2L);
+
+        // Then - el relay espera el hueco
+        assertEquals(0, relay.poll());
+        assertTrue(received.isEmpty());
+
+        // When - se confirma la transaccion de start + 1
+        insertEvent(start + 1, 1L);
+
+        // Then
+        assertEquals(2, relay.poll());
+        assertEquals(List.of(start + 1, start + 2), received.stream().map(OutboxEvent::offset).toList());
+    }
+
+    @Test
+    @DisplayName("Deberia publicar un evento confirmado despues de saltear su hueco")
+    void deberiaPublicarEventoConfirmadoDespuesDeSaltearSuHueco() throws InterruptedException {
+        // Given - relay con timeout de hueco de 100 ms, iniciado en el ultimo offset existente
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, 500, 100, 72, 600_000);
+        relay.init();
+        long start = relay.getLastRelayedOffset();
+        List<OutboxEvent> received = new ArrayList<>();
+        relay.subscribe(-1L, received::addAll);
+
+        // When - la transaccion del offset start + 2 se confirma y la de start + 1 sigue abierta
+        insertEvent(start + 2, 2L);
+        assertEquals(0, relay.poll());
+        Thread.sleep(150);
+
+        // Then - luego del timeout el relay saltea el hueco
+        assertEquals(1, relay.poll());
+        assertEquals(List.of(start + 2), received.stream().map(OutboxEvent::offset).toList());
+
+        // When - la transaccion de start + 1 se confirma despues del timeout
+        insertEvent(start + 1, 1L);
+
+        // Then - el evento se publica una sola vez, aunque su offset sea menor al ultimo publicado
+        assertEquals(1, relay.poll());
+        assertEquals(0, relay.poll());
+        assertEquals(List.of(start + 2, start + 1), received.stream().map(OutboxEvent::offset).toList());
+        assertEquals(1L, received.get(1).accountId());
+        assertEquals(start + 2, relay.getLastRelayedOffset());
+    }
+
+    /**
+     * Inserta un evento con un offset dado, como si lo confirmara otra transaccion.
+     */
+    private void insertEvent(long offset, long accountId) {
+        jdbcTemplate.update("INSERT INTO account_outbox (id, event_type, account_id, active, current_balance, created_at) "
+                        + "VALUES (?, 'BALANCE_CHANGED', ?, true, 100.0, ?)",
+                offset, accountId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Long createAccount(String identificationNumber) {
+        AccountRequest request = new AccountRequest();
+        request.setIdentificationNumber(identificationNumber);
+        request.setMercadoPagoAccountId("MP123456");
+        request.setCurrentBalance(600.0);
+        return accountService.createAccount(request).getId();
+    }
+
+    private Long createUser() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setFirstName("Juan");
+        request.setLastName("Perez");
+        request.setEmail("juan.perez@example.com");
+        request.setPhoneNumber("+5491112345678");
+        request.setPassword("hashedPassword123");
+        return userService.createUser(request).getId();
+    }
+
+    private BalanceRequest balanceRequest(double amount) {
+        BalanceRequest request = new BalanceRequest();
+        request.setAmount(amount);
+        return request;
+    }
+}
@@ -0,0 +1,154 @@
+package com.tudai.monopatines.accounts.accounts_service.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el modelo de lectura de cuentas fuera del heap.
+ * 
+ */
+@DisplayName("Tests del modelo OffHeapAccountReadModel")
+class OffHeapAccountReadModelTest {
+
+    private OffHeapAccountReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new OffHeapAccountReadModel(null, true, 16);
+    }
+
+    @Test
+    @DisplayName("Deberia obtener saldo y estado de las cuentas registradas")
+    void deberiaObtenerSaldoYEstado() {
+        // Given
+        readModel.put(1L, 150.25, true, 0L);
+        readModel.put(2L, 0.0, false, 0L);
+
+        // Then
+        assertEquals(15025L, readModel.getBalanceInCents(1L));
+        assertEquals(OffHeapAccountReadModel.STATE_ACTIVE, readModel.getActiveState(1L));
+        assertEquals(0L, readModel.getBalanceInCents(2L));
+        assertEquals(OffHeapAccountReadModel.STATE_INACTIVE, readModel.getActiveState(2L));
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, readModel.getBalanceInCents(3L));
+        assertEquals(OffHeapAccountReadModel.STATE_MISSING, readModel.getActiveState(3L));
+        assertEquals(0L, readModel.getVersion(1L));
+        assertEquals(OffHeapAccountReadModel.MISSING_VERSION, readModel.getVersion(3L));
+    }
+
+    @Test
+    @DisplayName("Deberia ignorar una actualizacion con version anterior a la registrada")
+    void deberiaIgnorarActualizacionConVersionAnterior() {
+        // Given
+        readModel.put(1L, 100.0, true, 2L);
+
+        // When
+        readModel.put(1L, 80.0, true, 1L);
+
+        // Then
+        assertEquals(10000L, readModel.getBalanceInCents(1L));
+        assertEquals(2L, readModel.getVersion(1L));
+    }
+
+    @Test
+    @DisplayName("Deberia actualizar el registro existente de una cuenta")
+    void deberiaActualizarRegistroExistente() {
+        // Given
+        readModel.put(1L, 100.0, true, 0L);
+
+        // When
+        readModel.put(1L, 40.5, false, 1L);
+
+        // Then
+        assertEquals(4050L, readModel.getBalanceInCents(1L));
+        assertEquals(OffHeapAccountReadModel.STATE_INACTIVE, readModel.getActiveState(1L));
+    }
+
+    @Test
+    @DisplayName("Deberia dejar de informar las cuentas eliminadas")
+    void deberiaDejarDeInformarCuentasEliminadas() {
+        // Given
+        readModel.put(1L, 100.0, true, 3L);
+
+        // When
+        readModel.remove(1L, 3L);
+
+        // Then
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, readModel.getBalanceInCents(1L));
+        assertEquals(OffHeapAccountReadModel.STATE_MISSING, readModel.getActiveState(1L));
+        assertEquals(OffHeapAccountReadModel.MISSING_VERSION, readModel.getVersion(1L));
+
+        // When - la cuenta vuelve a registrarse con una version posterior
+        readModel.put(1L, 5.0, true, 4L);
+
+        // Then
+        assertEquals(500L, readModel.getBalanceInCents(1L));
+        assertEquals(4L, readModel.getVersion(1L));
+    }
+
+    @Test
+    @DisplayName("No deberia volver a registrar una cuenta eliminada con una version anterior o igual")
+    void noDeberiaVolverARegistrarCuentaEliminadaConVersionAnterior() {
+        // Given
+        readModel.put(1L, 100.0, true, 3L);
+        readModel.remove(1L, 3L);
+
+        // When - llegan tarde los afterCommit de actualizaciones anteriores a la eliminacion
+        readModel.put(1L, 80.0, true, 2L);
+        readModel.put(1L, 90.0, true, 3L);
+
+        // Then
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, readModel.getBalanceInCents(1L));
+        assertEquals(OffHeapAccountReadModel.STATE_MISSING, readModel.getActiveState(1L));
+        assertEquals(OffHeapAccountReadModel.MISSING_VERSION, readModel.getVersion(1L));
+    }
+
+    @Test
+    @DisplayName("No deberia registrar una cuenta eliminada antes de que la carga la lea")
+    void noDeberiaRegistrarCuentaEliminadaAntesDeLaCarga() {
+        // Given - la cuenta se elimina mientras la carga inicial tiene su fila en memoria
+        readModel.remove(5L, 1L);
+
+        // When - la carga registra la fila leida antes de la eliminacion
+        readModel.put(5L, 20.0, true, 1L);
+
+        // Then
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, readModel.getBalanceInCents(5L));
+        assertEquals(OffHeapAccountReadModel.STATE_MISSING, readModel.getActiveState(5L));
+    }
+
+    @Test
+    @DisplayName("Deberia crecer al superar la capacidad inicial sin perder registros")
+    void deberiaCrecerSinPerderRegistros() {
+        // Given
+        for (long id = 1; id <= 1000; id++) {
+            readModel.put(id * 7919, id, id % 2 == 0, 0L);
+        }
+
+        // Then
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(id * 100, readModel.getBalanceInCents(id * 7919));
+            int expectedState = id % 2 == 0 ? OffHeapAccountReadModel.STATE_ACTIVE : OffHeapAccountReadModel.STATE_INACTIVE;
+            assertEquals(expectedState, readModel.getActiveState(id * 7919));
+        }
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, readModel.getBalanceInCents(1L));
+    }
+
+    @Test
+    @DisplayName("No deberia registrar cuentas si el modelo esta deshabilitado")
+    void noDeberiaRegistrarCuentasSiEstaDeshabilitado() {
+        // Given
+        OffHeapAccountReadModel disabled = new OffHeapAccountReadModel(null, false, 16);
+
+        // When
+        disabled.put(1L, 100.0, true, 0L);
+        disabled.load();
+
+        // Then
+        assertFalse(disabled.isLoaded());
+        assertEquals(OffHeapAccountReadModel.MISSING_BALANCE, disabled.getBalanceInCents(1L));
+        assertEquals(OffHeapAccountReadModel.STATE_MISSING, disabled.getActiveState(1L));
+    }
+}
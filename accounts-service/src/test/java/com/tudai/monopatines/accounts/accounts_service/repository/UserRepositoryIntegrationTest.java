@@ -1,6 +1,9 @@
 package com.tudai.monopatines.accounts.accounts_service.repository;
 
 import com.tudai.monopatines.accounts.accounts_service.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,9 @@ class UserRepositoryIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
 
     @BeforeEach
@@ -149,5 +155,33 @@ class UserRepositoryIntegrationTest {
         Optional<User> deletedUser = userRepository.findById(userId);
         assertFalse(deletedUser.isPresent());
     }
-}
 
+    @Test
+    @DisplayName("Deberia cargar el usuario sin leer la contraseña hasta que se accede a ella")
+    void deberiaCargarUsuarioSinLeerContrasena() {
+        Long id = userRepository.save(testUser).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        User user = userRepository.findById(id).orElseThrow();
+
+        assertFalse(Hibernate.isPropertyInitialized(user, "password"));
+        assertEquals("hashedPassword123", user.getPassword());
+        assertEquals(Optional.of("hashedPassword123"), userRepository.findPasswordById(id));
+        assertEquals(Optional.of("hashedPassword123"), userRepository.findPasswordByEmail("juan.perez@example.com"));
+    }
+
+    @Test
+    @DisplayName("Deberia registrar solo los atributos modificados (dirty tracking)")
+    void deberiaRegistrarSoloAtributosModificados() {
+        Long id = userRepository.save(testUser).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        User user = userRepository.findById(id).orElseThrow();
+        user.setFirstName("Maria");
+
+        assertInstanceOf(SelfDirtinessTracker.class, user);
+        assertArrayEquals(new String[]{"firstName"}, ((SelfDirtinessTracker) user).$$_hibernate_getDirtyAttributes());
+    }
+}
@@ -1,5 +1,7 @@
 package com.tudai.monopatines.accounts.accounts_service.service;
 
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
@@ -7,7 +9,13 @@ import com.tudai.monopatines.accounts.accounts_service.dto.BalanceResponse;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountInactiveException;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.BatchSizeExceededException;
 import com.tudai.monopatines.accounts.accounts_service.exception.InsufficientBalanceException;
+import com.tudai.monopatines.accounts.accounts_service.exception.VersionMismatchException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +24,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +43,12 @@ class AccountServiceIntegrationTest {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private AccountRequest testAccountRequest;
 
     @BeforeEach
@@ -239,5 +254,210 @@ class AccountServiceIntegrationTest {
             accountService.getAccountById(createdAccount.getId());
         });
     }
-}
 
+    @Test
+    @DisplayName("Deberia obtener varias cuentas por ID en el orden solicitado")
+    void deberiaObtenerVariasCuentasPorIdEnOrdenSolicitado() {
+        AccountResponse account1 = accountService.createAccount(testAccountRequest);
+        AccountRequest request2 = new AccountRequest();
+        request2.setIdentificationNumber("ACC002");
+        request2.setMercadoPagoAccountId("MP654321");
+        AccountResponse account2 = accountService.createAccount(request2);
+
+        List<AccountResponse> accounts = accountService.getAccountsByIds(
+                List.of(account2.getId(), 999L, account1.getId(), account2.getId()));
+
+        assertEquals(2, accounts.size());
+        assertEquals(account2.getId(), accounts.get(0).getId());
+        assertEquals(account1.getId(), accounts.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deberia obtener el saldo de varias cuentas")
+    void deberiaObtenerSaldoDeVariasCuentas() {
+        AccountResponse account1 = accountService.createAccount(testAccountRequest);
+        AccountRequest request2 = new AccountRequest();
+        request2.setIdentificationNumber("ACC002");
+        request2.setMercadoPagoAccountId("MP654321");
+        request2.setCurrentBalance(250.0);
+        AccountResponse account2 = accountService.createAccount(request2);
+
+        List<BalanceResponse> balances = accountService.getBalances(List.of(account1.getId(), account2.getId()));
+
+        assertEquals(2, balances.size());
+        assertEquals(1000.0, balances.get(0).getCurrentBalance());
+        assertEquals(250.0, balances.get(1).getCurrentBalance());
+    }
+
+    @Test
+    @DisplayName("Deberia lanzar excepcion si se solicitan mas IDs que el maximo permitido")
+    void deberiaLanzarExcepcionSiSeSuperaElMaximoDeIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 101; i++) {
+            ids.add(i);
+        }
+
+        assertThrows(BatchSizeExceededException.class, () -> {
+            accountService.getAccountsByIds(ids);
+        });
+    }
+
+    @Test
+    @DisplayName("Deberia paginar las cuentas por ID y filtrar por estado")
+    void deberiaPaginarCuentasPorId() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            AccountRequest request = new AccountRequest();
+            request.setIdentificationNumber("PAGE00" + i);
+            request.setMercadoPagoAccountId("MP-PAGE00" + i);
+            ids.add(accountService.createAccount(request).getId());
+        }
+        accountService.cancelAccount(ids.get(1));
+
+        AccountPageResponse first = accountService.getAccountsPage(ids.get(0) - 1, 2, null);
+        AccountPageResponse second = accountService.getAccountsPage(first.getNextAfterId(), 2, null);
+        AccountPageResponse active = accountService.getAccountsPage(ids.get(0) - 1, 10, true);
+
+        assertEquals(List.of(ids.get(0), ids.get(1)), first.getAccounts().stream().map(AccountResponse::getId).toList());
+        assertTrue(first.isHasMore());
+        assertEquals(ids.get(1), first.getNextAfterId());
+        assertEquals(List.of(ids.get(2)), second.getAccounts().stream().map(AccountResponse::getId).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextAfterId());
+        assertEquals(List.of(ids.get(0), ids.get(2)), active.getAccounts().stream().map(AccountResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deberia lanzar excepcion si el limite de la pagina supera el maximo")
+    void deberiaLanzarExcepcionSiLimiteDePaginaSuperaMaximo() {
+        assertThrows(BatchSizeExceededException.class, () -> {
+            accountService.getAccountsPage(null, 101, null);
+        });
+    }
+
+    @Test
+    @DisplayName("Deberia resolver las consultas de lectura sin cargar entidades")
+    void deberiaResolverConsultasDeLecturaSinCargarEntidades() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AccountResponse account = accountService.getAccountById(created.getId());
+        List<AccountResponse> accounts = accountService.getAllAccounts();
+        BalanceResponse balance = accountService.getBalance(created.getId());
+        boolean active = accountService.isAccountActive(created.getId());
+
+        assertEquals("ACC001", account.getIdentificationNumber());
+        assertEquals(created.getId(), account.getId());
+        assertEquals(1, accounts.size());
+        assertEquals(1000.0, balance.getCurrentBalance());
+        assertTrue(active);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deberia incrementar la version de la cuenta en cada modificacion")
+    void deberiaIncrementarVersionEnCadaModificacion() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        BalanceRequest balanceRequest = new BalanceRequest();
+        balanceRequest.setAmount(100.0);
+
+        BalanceResponse loaded = accountService.loadBalance(created.getId(), balanceRequest);
+        BalanceResponse deducted = accountService.deductBalance(created.getId(), 50.0);
+        AccountResponse cancelled = accountService.cancelAccount(created.getId());
+
+        assertEquals(0L, created.getVersion());
+        assertEquals(1L, loaded.getVersion());
+        assertEquals(2L, deducted.getVersion());
+        assertEquals(3L, cancelled.getVersion());
+        assertEquals(3L, accountService.getAccountVersion(created.getId()));
+        assertEquals(3L, accountService.getBalance(created.getId()).getVersion());
+    }
+
+    @Test
+    @DisplayName("Deberia aplicar la modificacion condicional solo si la version es la esperada")
+    void deberiaAplicarModificacionCondicionalSoloConVersionEsperada() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        BalanceRequest balanceRequest = new BalanceRequest();
+        balanceRequest.setAmount(100.0);
+        accountService.loadBalance(created.getId(), balanceRequest, created.getVersion());
+
+        VersionMismatchException exception = assertThrows(VersionMismatchException.class, () -> {
+            accountService.deductBalance(created.getId(), 50.0, created.getVersion());
+        });
+
+        assertEquals(1L, exception.getCurrentVersion());
+        assertEquals(1100.0, accountService.getBalance(created.getId()).getCurrentBalance());
+        BalanceResponse deducted = accountService.deductBalance(created.getId(), 50.0, 1L);
+        assertEquals(1050.0, deducted.getCurrentBalance());
+    }
+
+    @Test
+    @DisplayName("Deberia obtener la version de una cuenta sin cargar la entidad")
+    void deberiaObtenerVersionSinCargarEntidad() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long version = accountService.getAccountVersion(created.getId());
+
+        assertEquals(0L, version);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccountVersion(999999L));
+    }
+
+    @Test
+    @DisplayName("Deberia modificar solo los campos enviados en el patch")
+    void deberiaModificarSoloLosCamposEnviadosEnElPatch() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        AccountPatchRequest patch = new AccountPatchRequest();
+        patch.setMercadoPagoAccountId("MP999");
+
+        AccountResponse patched = accountService.patchAccount(created.getId(), patch, created.getVersion());
+
+        assertEquals("ACC001", patched.getIdentificationNumber());
+        assertEquals("MP999", patched.getMercadoPagoAccountId());
+        assertEquals(1000.0, patched.getCurrentBalance());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Deberia no escribir la cuenta si el patch no cambia ningun campo")
+    void deberiaNoEscribirCuentaSiElPatchNoCambiaNada() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AccountResponse patched = accountService.patchAccount(created.getId(),
+                new AccountPatchRequest("ACC001", "MP123456", 1000.0), null);
+        entityManager.flush();
+
+        assertEquals(0L, patched.getVersion());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0L, accountService.getAccountVersion(created.getId()));
+    }
+
+    @Test
+    @DisplayName("Deberia verificar la unicidad del numero identificatorio solo si cambia en el patch")
+    void deberiaVerificarUnicidadSoloSiCambiaEnElPatch() {
+        AccountResponse created = accountService.createAccount(testAccountRequest);
+        accountService.createAccount(new AccountRequest("ACC002", "MP654321", 0.0));
+
+        AccountResponse patched = accountService.patchAccount(created.getId(),
+                new AccountPatchRequest("ACC001", null, 250.0), null);
+
+        assertEquals(250.0, patched.getCurrentBalance());
+        assertThrows(AccountAlreadyExistsException.class, () -> {
+            accountService.patchAccount(created.getId(), new AccountPatchRequest("ACC002", null, null), null);
+        });
+        assertThrows(VersionMismatchException.class, () -> {
+            accountService.patchAccount(created.getId(), new AccountPatchRequest(null, "MP1", null), 0L);
+        });
+    }
+}
@@ -3,6 +3,8 @@ package com.tudai.monopatines.accounts.accounts_service.service;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountUserResponse;
 import com.tudai.monopatines.accounts.accounts_service.dto.AccountsByUserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.BulkAssociationResult;
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UsersByAccountResponse;
 import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
@@ -15,6 +17,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -151,5 +155,43 @@ class AccountUserServiceIntegrationTest {
         assertEquals(0, response.getCount());
         assertEquals("El usuario no tiene cuentas asociadas", response.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Deberia asociar varios usuarios a una cuenta informando el resultado de cada uno")
+    void deberiaAsociarVariosUsuariosACuenta() {
+        CreateUserRequest userRequest = new CreateUserRequest();
+        userRequest.setFirstName("Maria");
+        userRequest.setLastName("Gomez");
+        userRequest.setEmail("maria.gomez@example.com");
+        userRequest.setPhoneNumber("+5491187654321");
+        userRequest.setPassword("hashedPassword456");
+        Long secondUserId = userService.createUser(userRequest).getId();
+        accountUserService.associateUserToAccount(testAccountId, testUserId);
+
+        BulkAssociationResponse response = accountUserService.associateUsersToAccount(
+                testAccountId, List.of(testUserId, secondUserId, 999999L, secondUserId));
+
+        assertEquals(testAccountId, response.getAccountId());
+        assertEquals(1, response.getAssociatedCount());
+        assertEquals(1, response.getAlreadyAssociatedCount());
+        assertEquals(1, response.getNotFoundCount());
+        assertEquals(3, response.getResults().size());
+        assertEquals(testUserId, response.getResults().get(0).getUserId());
+        assertEquals(BulkAssociationResult.Status.ALREADY_ASSOCIATED, response.getResults().get(0).getStatus());
+        assertEquals(secondUserId, response.getResults().get(1).getUserId());
+        assertEquals(BulkAssociationResult.Status.ASSOCIATED, response.getResults().get(1).getStatus());
+        assertEquals(999999L, response.getResults().get(2).getUserId());
+        assertEquals(BulkAssociationResult.Status.USER_NOT_FOUND, response.getResults().get(2).getStatus());
+
+        UsersByAccountResponse users = accountUserService.getUsersByAccount(testAccountId);
+        assertEquals(2, users.getUsers().size());
+    }
+
+    @Test
+    @DisplayName("Deberia lanzar excepcion si la cuenta no existe al asociar varios usuarios")
+    void deberiaLanzarExcepcionSiCuentaNoExisteAlAsociarVariosUsuarios() {
+        assertThrows(AccountNotFoundException.class, () -> {
+            accountUserService.associateUsersToAccount(999L, List.of(testUserId));
+        });
+    }
+}
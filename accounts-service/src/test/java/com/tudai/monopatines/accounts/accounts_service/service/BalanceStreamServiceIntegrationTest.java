@@ -0,0 +1,283 @@
+package com.tudai.monopatines.accounts.accounts_service.service;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.BalanceUpdateResponse;
+import com.tudai.monopatines.accounts.accounts_service.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.outbox.AccountEventType;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxEvent;
+import com.tudai.monopatines.accounts.accounts_service.outbox.OutboxRelay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para los streams de saldo por server-sent events.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - Stream de saldo")
+class BalanceStreamServiceIntegrationTest {
+
+    @Autowired
+    private BalanceStreamService balanceStreamService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Value("${accounts.balance-stream.max-pending-events}")
+    private int maxPendingEvents;
+
+    @Test
+    @DisplayName("Deberia enviar el saldo y el estado actuales al conectarse")
+    void deberiaEnviarFotoInicialAlConectarse() throws InterruptedException {
+        // Given
+        Long accountId = createAccount("STR001");
+        CapturingEmitter emitter = new CapturingEmitter();
+
+        // When
+        balanceStreamService.register(accountId, emitter).close();
+
+        // Then
+        CapturedEvent event = emitter.next();
+        assertEquals(BalanceStreamService.BALANCE_EVENT, event.name());
+        BalanceUpdateResponse snapshot = (BalanceUpdateResponse) event.data();
+        assertEquals(accountId, snapshot.getAccountId());
+        assertEquals(600.0, snapshot.getCurrentBalance());
+        assertTrue(snapshot.getActive());
+    }
+
+    @Test
+    @DisplayName("Deberia enviar los cambios de saldo y de estado publicados por el relay")
+    void deberiaEnviarCambiosPublicadosPorElRelay() throws InterruptedException {
+        // Given
+        Long accountId = createAccount("STR002");
+        CapturingEmitter emitter = new CapturingEmitter();
+        BalanceStreamService.Connection connection = balanceStreamService.register(accountId, emitter);
+
+        try {
+            emitter.next();
+
+            // When
+            accountService.loadBalance(accountId, balanceRequest(150.0));
+            accountService.cancelAccount(accountId);
+            outboxRelay.poll();
+
+            // Then
+            BalanceUpdateResponse loaded = (BalanceUpdateResponse) emitter.next().data();
+            assertEquals(750.0, loaded.getCurrentBalance());
+            assertTrue(loaded.getActive());
+            BalanceUpdateResponse cancelled = (BalanceUpdateResponse) emitter.next().data();
+            assertFalse(cancelled.getActive());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia cerrar el stream al eliminar la cuenta")
+    void deberiaCerrarElStreamAlEliminarLaCuenta() throws InterruptedException {
+        // Given
+        Long accountId = createAccount("STR003");
+        CapturingEmitter emitter = new CapturingEmitter();
+        int openBefore = balanceStreamService.getOpenConnections();
+        balanceStreamService.register(accountId, emitter);
+        emitter.next();
+
+        // When
+        accountService.deleteAccount(accountId);
+        outboxRelay.poll();
+
+        // Then
+        CapturedEvent event = emitter.next();
+        assertEquals(BalanceStreamService.DELETED_EVENT, event.name());
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(openBefore, balanceStreamService.getOpenConnections());
+    }
+
+    @Test
+    @DisplayName("Deberia lanzar excepcion y no registrar el stream si la cuenta no existe")
+    void deberiaLanzarExcepcionSiLaCuentaNoExiste() {
+        // Given
+        int openBefore = balanceStreamService.getOpenConnections();
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class,
+                () -> balanceStreamService.register(999999L, new CapturingEmitter()));
+        assertEquals(openBefore, balanceStreamService.getOpenConnections());
+    }
+
+    @Test
+    @DisplayName("Deberia seguir enviando a los demas streams mientras un cliente lento bloquea su envio")
+    void deberiaEnviarALosDemasStreamsConUnClienteLento() throws InterruptedException {
+        // Given: el envio de la foto inicial al cliente lento queda bloqueado
+        Long slowAccountId = createAccount("STR004");
+        Long accountId = createAccount("STR005");
+        BlockingEmitter slowEmitter = new BlockingEmitter();
+        BalanceStreamService.Connection slowConnection = balanceStreamService.register(slowAccountId, slowEmitter);
+        CapturingEmitter emitter = new CapturingEmitter();
+        BalanceStreamService.Connection connection = null;
+
+        try {
+            assertTrue(slowEmitter.sendStarted.await(5, TimeUnit.SECONDS));
+            connection = balanceStreamService.register(accountId, emitter);
+            emitter.next();
+
+            // When
+            long offset = outboxRelay.getLastRelayedOffset() + 1000;
+            balanceStreamService.onEvents(List.of(
+                    balanceEvent(offset, slowAccountId, 610.0),
+                    balanceEvent(offset + 1, accountId, 620.0)));
+
+            // Then
+            BalanceUpdateResponse update = (BalanceUpdateResponse) emitter.next().data();
+            assertEquals(accountId, update.getAccountId());
+            assertEquals(620.0, update.getCurrentBalance());
+            assertEquals(1, slowEmitter.sends.get());
+        } finally {
+            slowEmitter.release.countDown();
+            slowConnection.close();
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia cerrar el stream de un cliente lento cuando se llena su cola")
+    void deberiaCerrarElStreamDeUnClienteLentoAlLlenarseSuCola() throws InterruptedException {
+        // Given
+        Long accountId = createAccount("STR006");
+        BlockingEmitter slowEmitter = new BlockingEmitter();
+        balanceStreamService.register(accountId, slowEmitter);
+        assertTrue(slowEmitter.sendStarted.await(5, TimeUnit.SECONDS));
+        int openBefore = balanceStreamService.getOpenConnections();
+
+        // When: llegan mas eventos de los que admite la cola mientras el envio esta bloqueado
+        long offset = outboxRelay.getLastRelayedOffset() + 1000;
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i <= maxPendingEvents; i++) {
+            events.add(balanceEvent(offset + i, accountId, 600.0 + i));
+        }
+        balanceStreamService.onEvents(events);
+
+        // Then: el stream se quita de inmediato y se completa al terminar el envio en curso
+        assertEquals(openBefore - 1, balanceStreamService.getOpenConnections());
+        slowEmitter.release.countDown();
+        assertTrue(slowEmitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, slowEmitter.sends.get());
+    }
+
+    private static OutboxEvent balanceEvent(long offset, long accountId, double currentBalance) {
+        return new OutboxEvent(offset, AccountEventType.BALANCE_CHANGED, accountId, null,
+                true, currentBalance, LocalDateTime.now());
+    }
+
+    private Long createAccount(String identificationNumber) {
+        AccountRequest request = new AccountRequest();
+        request.setIdentificationNumber(identificationNumber);
+        request.setMercadoPagoAccountId("MP123456");
+        request.setCurrentBalance(600.0);
+        return accountService.createAccount(request).getId();
+    }
+
+    private BalanceRequest balanceRequest(double amount) {
+        BalanceRequest request = new BalanceRequest();
+        request.setAmount(amount);
+        return request;
+    }
+
+    /**
+     * Evento enviado por el servicio.
+     */
+    private record CapturedEvent(String name, Object data) {
+    }
+
+    /**
+     * SseEmitter que guarda los eventos enviados en lugar de escribirlos en una respuesta HTTP.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final BlockingQueue<CapturedEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String name = null;
+            Object data = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    int start = text.indexOf("event:");
+                    if (start >= 0) {
+                        name = text.substring(start + 6, text.indexOf('\n', start));
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            if (name != null) {
+                events.add(new CapturedEvent(name, data));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private CapturedEvent next() throws InterruptedException {
+            CapturedEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No se recibio el evento esperado");
+            return event;
+        }
+    }
+
+    /**
+     * SseEmitter de un cliente lento: cada envio queda bloqueado hasta que el test lo libera.
+     */
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final AtomicInteger sends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends.incrementAndGet();
+            sendStarted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
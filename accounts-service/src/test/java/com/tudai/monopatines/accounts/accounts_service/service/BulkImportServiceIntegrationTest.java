@@ -0,0 +1,129 @@
+package com.tudai.monopatines.accounts.accounts_service.service;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.AccountRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.ImportRowError;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_service.util.ImportRecordReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para BulkImportService.
+ * Usa Spring Boot Test con H2 en memoria para probar el servicio completo.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - BulkImportService")
+class BulkImportServiceIntegrationTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("Deberia importar cuentas desde CSV informando las filas rechazadas")
+    void deberiaImportarCuentasDesdeCsv() {
+        AccountRequest existing = new AccountRequest();
+        existing.setIdentificationNumber("ACC-EXISTENTE");
+        existing.setMercadoPagoAccountId("MP000");
+        existing.setCurrentBalance(0.0);
+        accountService.createAccount(existing);
+
+        String csv = """
+                identificationNumber,mercadoPagoAccountId,currentBalance
+                ACC-1,MP001,100.5
+                ACC-2,"MP,002",
+                ACC-3,MP003,abc
+                ACC-1,MP004,10
+                ACC-EXISTENTE,MP005,10
+                ACC-4,MP006,0
+                """;
+
+        ImportResponse response = bulkImportService.importAccounts(stream(csv), ImportRecordReader.Format.CSV);
+
+        assertEquals(6, response.getProcessedRows());
+        assertEquals(3, response.getImportedRows());
+        assertEquals(3, response.getFailedRows());
+        assertEquals(3, response.getCommittedChunks());
+        assertFalse(response.isErrorsTruncated());
+
+        List<ImportRowError> errors = response.getErrors();
+        assertEquals(4, errors.get(0).getLine());
+        assertEquals(5, errors.get(1).getLine());
+        assertEquals("ACC-1", errors.get(1).getKey());
+        assertEquals(6, errors.get(2).getLine());
+        assertEquals("ACC-EXISTENTE", errors.get(2).getKey());
+
+        assertTrue(accountRepository.existsByIdentificationNumber("ACC-1"));
+        assertTrue(accountRepository.existsByIdentificationNumber("ACC-2"));
+        assertTrue(accountRepository.existsByIdentificationNumber("ACC-4"));
+        assertFalse(accountRepository.existsByIdentificationNumber("ACC-3"));
+    }
+
+    @Test
+    @DisplayName("Deberia importar usuarios desde NDJSON asignando ROLE_USER")
+    void deberiaImportarUsuariosDesdeNdjson() {
+        String ndjson = """
+                {"firstName":"Juan","lastName":"Perez","email":"juan.import@example.com","phoneNumber":"+5491112345678","password":"hash1"}
+                {"firstName":"Maria","lastName":"Gomez","email":"no-es-un-email","phoneNumber":"+5491187654321","password":"hash2"}
+
+                {"firstName":"Ana",
+                {"firstName":"Luis","lastName":"Diaz","email":"luis.import@example.com","phoneNumber":"+5491100000000","password":"hash3"}
+                """;
+
+        ImportResponse response = bulkImportService.importUsers(stream(ndjson), ImportRecordReader.Format.NDJSON);
+
+        assertEquals(4, response.getProcessedRows());
+        assertEquals(2, response.getImportedRows());
+        assertEquals(2, response.getFailedRows());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertEquals(4, response.getErrors().get(1).getLine());
+
+        UserResponse imported = userService.getUserByEmail("luis.import@example.com");
+        assertEquals("Luis", imported.getFirstName());
+        assertEquals(List.of("ROLE_USER"), imported.getRoles());
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar el archivo CSV si el encabezado tiene comillas sin cerrar")
+    void deberiaRechazarCsvConEncabezadoInvalido() {
+        String csv = """
+
+                identificationNumber,"mercadoPagoAccountId,currentBalance
+                ACC-1,MP001,100.5
+                """;
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importAccounts(stream(csv), ImportRecordReader.Format.CSV));
+
+        assertEquals("Invalid CSV header (line 2): Unterminated quoted value", exception.getMessage());
+        assertFalse(accountRepository.existsByIdentificationNumber("ACC-1"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.tudai.monopatines.accounts.accounts_service.service;
+
+import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion para RoleService.
+ * Verifican que las lecturas repetidas de roles se resuelvan con la cache de segundo nivel.
+ * 
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Tests de integracion - RoleService")
+class RoleServiceIntegrationTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deberia resolver la busqueda repetida de un rol por nombre desde la cache")
+    void deberiaResolverBusquedaDeRolDesdeCache() {
+        roleService.createRoleIfNotExists(RoleService.DEFAULT_ROLE);
+        statistics.clear();
+
+        roleService.createRoleIfNotExists(RoleService.DEFAULT_ROLE);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deberia resolver los roles repetidos de un usuario desde la cache")
+    void deberiaResolverRolesDeUsuarioDesdeCache() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setFirstName("Juan");
+        request.setLastName("Perez");
+        request.setEmail("juan.cache@example.com");
+        request.setPhoneNumber("+5491112345678");
+        request.setPassword("hashedPassword123");
+        Long userId = userService.createUser(request).getId();
+        try {
+            roleService.getRolesByUserId(userId);
+            statistics.clear();
+
+            List<String> roles = roleService.getRolesByUserId(userId);
+
+            assertEquals(List.of(RoleService.DEFAULT_ROLE), roles);
+            assertEquals(0, statistics.getPrepareStatementCount());
+            assertEquals(1, statistics.getQueryCacheHitCount());
+        } finally {
+            userService.deleteUser(userId);
+        }
+    }
+}
@@ -2,9 +2,18 @@ package com.tudai.monopatines.accounts.accounts_service.service;
 
 import com.tudai.monopatines.accounts.accounts_service.dto.CreateUserRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UpdateUserRequest;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserPatchRequest;
 import com.tudai.monopatines.accounts.accounts_service.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_service.dto.UserSearchResponse;
+import com.tudai.monopatines.accounts.accounts_service.exception.BatchSizeExceededException;
 import com.tudai.monopatines.accounts.accounts_service.exception.UserAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_service.exception.UserNotFoundException;
+import com.tudai.monopatines.accounts.accounts_service.exception.VersionMismatchException;
+import com.tudai.monopatines.accounts.accounts_service.index.UserSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +40,18 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private CreateUserRequest testCreateUserRequest;
 
     @BeforeEach
@@ -68,6 +89,39 @@ class UserServiceIntegrationTest {
         });
     }
 
+    @Test
+    @DisplayName("Deberia registrar un usuario ejecutando solo los INSERT de users y user_roles")
+    void deberiaRegistrarUsuarioConDosSentencias() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        statistics.clear();
+
+        UserResponse response = userService.createUser(testCreateUserRequest);
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of("ROLE_USER"), response.getRoles());
+    }
+
+    @Test
+    @DisplayName("Deberia obtener usuarios con sus roles sin cargar entidades")
+    void deberiaObtenerUsuariosConRolesSinCargarEntidades() {
+        UserResponse created = userService.createUser(testCreateUserRequest);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UserResponse user = userService.getUserById(created.getId());
+        List<UserResponse> users = userService.getAllUsers();
+
+        assertEquals("juan.perez@example.com", user.getEmail());
+        assertEquals(List.of("ROLE_USER"), user.getRoles());
+        assertEquals(1, users.size());
+        assertEquals(List.of("ROLE_USER"), users.get(0).getRoles());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
     @Test
     @DisplayName("Deberia obtener un usuario por ID")
     void deberiaObtenerUsuarioPorId() {
@@ -180,5 +234,124 @@ class UserServiceIntegrationTest {
             userService.getUserById(createdUser.getId());
         });
     }
-}
 
+    @Test
+    @DisplayName("Deberia obtener varios usuarios por ID incluyendo sus roles")
+    void deberiaObtenerVariosUsuariosPorIdIncluyendoRoles() {
+        UserResponse user1 = userService.createUser(testCreateUserRequest);
+        CreateUserRequest request2 = new CreateUserRequest();
+        request2.setFirstName("Maria");
+        request2.setLastName("Gomez");
+        request2.setEmail("maria.gomez@example.com");
+        request2.setPhoneNumber("+5491187654321");
+        request2.setPassword("hashedPassword456");
+        UserResponse user2 = userService.createUser(request2);
+
+        List<UserResponse> users = userService.getUsersByIds(List.of(user2.getId(), 999L, user1.getId()));
+
+        assertEquals(2, users.size());
+        assertEquals(user2.getId(), users.get(0).getId());
+        assertEquals(user1.getId(), users.get(1).getId());
+        for (UserResponse user : users) {
+            assertTrue(user.getRoles().contains("ROLE_USER"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia buscar usuarios por prefijo con el indice en memoria")
+    void deberiaBuscarUsuariosPorPrefijo() {
+        UserResponse user = userService.createUser(testCreateUserRequest);
+        // El indice se actualiza luego del commit, que no ocurre en un test transaccional
+        userSearchIndex.put(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+
+        try {
+            UserSearchResponse response = userService.searchUsers("PER", null, 10);
+
+            assertEquals(1, response.getUsers().size());
+            assertEquals(user.getId(), response.getUsers().get(0).getId());
+            assertTrue(response.getUsers().get(0).getRoles().contains("ROLE_USER"));
+            assertFalse(response.isHasMore());
+            assertNull(response.getNextCursor());
+        } finally {
+            userSearchIndex.remove(user.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Deberia lanzar excepcion si el limite de la busqueda supera el maximo")
+    void deberiaLanzarExcepcionSiLimiteDeBusquedaSuperaMaximo() {
+        assertThrows(BatchSizeExceededException.class, () -> userService.searchUsers("juan", null, 1000));
+    }
+
+    @Test
+    @DisplayName("Deberia incrementar la version del usuario al cambiar sus roles")
+    void deberiaIncrementarVersionAlCambiarRoles() {
+        UserResponse user = userService.createUser(testCreateUserRequest);
+
+        roleService.assignRoleToUser(user.getId(), "ROLE_ADMIN");
+        roleService.assignRoleToUser(user.getId(), "ROLE_ADMIN");
+        long afterAssign = userService.getUserVersion(user.getId());
+        roleService.removeRoleFromUser(user.getId(), "ROLE_ADMIN");
+
+        assertEquals(0L, user.getVersion());
+        assertEquals(1L, afterAssign);
+        assertEquals(2L, userService.getUserVersion(user.getId()));
+        assertThrows(UserNotFoundException.class, () -> userService.getUserVersion(999999L));
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar la actualizacion condicional si el usuario cambio")
+    void deberiaRechazarActualizacionCondicionalSiUsuarioCambio() {
+        UserResponse user = userService.createUser(testCreateUserRequest);
+        UpdateUserRequest updateRequest = new UpdateUserRequest();
+        updateRequest.setFirstName("Juan Carlos");
+        updateRequest.setLastName("Perez");
+        updateRequest.setEmail("juan.perez@example.com");
+        updateRequest.setPhoneNumber("+5491112345678");
+        UserResponse updated = userService.updateUser(user.getId(), updateRequest, user.getVersion());
+
+        assertThrows(VersionMismatchException.class, () -> {
+            userService.updateUser(user.getId(), updateRequest, user.getVersion());
+        });
+
+        assertEquals(1L, updated.getVersion());
+        assertEquals("Juan Carlos", updated.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Deberia modificar solo los campos enviados en el patch del usuario")
+    void deberiaModificarSoloLosCamposDelUsuarioEnviadosEnElPatch() {
+        UserResponse user = userService.createUser(testCreateUserRequest);
+        UserResponse other = userService.createUser(new CreateUserRequest("Ana", "Gomez", "ana@example.com", "+5491100000000", "hashed"));
+        UserPatchRequest patch = new UserPatchRequest();
+        patch.setPhoneNumber("+5491199999999");
+
+        UserResponse patched = userService.patchUser(user.getId(), patch, user.getVersion());
+
+        assertEquals("Juan", patched.getFirstName());
+        assertEquals("juan.perez@example.com", patched.getEmail());
+        assertEquals("+5491199999999", patched.getPhoneNumber());
+        assertEquals(1L, patched.getVersion());
+        assertFalse(patched.getRoles().isEmpty());
+        assertThrows(UserAlreadyExistsException.class, () -> {
+            userService.patchUser(user.getId(), new UserPatchRequest(null, null, other.getEmail(), null), null);
+        });
+    }
+
+    @Test
+    @DisplayName("Deberia no escribir el usuario si el patch no cambia ningun campo")
+    void deberiaNoEscribirUsuarioSiElPatchNoCambiaNada() {
+        UserResponse user = userService.createUser(testCreateUserRequest);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UserResponse patched = userService.patchUser(user.getId(),
+                new UserPatchRequest("Juan", null, "juan.perez@example.com", null), null);
+        entityManager.flush();
+
+        assertEquals(0L, patched.getVersion());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+}
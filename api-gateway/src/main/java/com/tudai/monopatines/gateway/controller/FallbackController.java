@@ -0,0 +1,44 @@
+package com.tudai.monopatines.gateway.controller;
+
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Respuestas de fallback del CircuitBreaker de las rutas.
+ * 
+ * Cuando el circuito de un microservicio esta abierto, o la request falla por timeout o error
+ * de conexion, el filtro CircuitBreaker reenvia la request a /fallback/{service}. La respuesta
+ * es inmediata y tiene el mismo formato de error que el resto del gateway.
+ */
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    /**
+     * Responde HTTP 504 si el microservicio no respondio a tiempo, o HTTP 503 si el circuito
+     * esta abierto o no se pudo conectar.
+     * 
+     * @param service Nombre del microservicio
+     * @param exchange ServerWebExchange con la excepcion que disparo el fallback
+     * @return ResponseEntity con el error
+     */
+    @RequestMapping("/{service}")
+    public ResponseEntity<Map<String, String>> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable error = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (error instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(Map.of("error", "El servicio " + service + " no respondio a tiempo"));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "10")
+                .body(Map.of("error", "El servicio " + service + " no esta disponible, intente nuevamente"));
+    }
+}
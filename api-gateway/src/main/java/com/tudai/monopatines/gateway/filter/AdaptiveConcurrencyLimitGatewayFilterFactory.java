@@ -0,0 +1,226 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limit.VegasLimit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro de ruta que limita la cantidad de requests en curso hacia un microservicio con un
+ * limite adaptativo (algoritmos Gradient2 o Vegas de concurrency-limits).
+ * 
+ * El limite se aprende de la latencia observada: mientras la latencia se mantiene cerca de la
+ * minima medida el limite crece, y cuando el microservicio se pone lento (la latencia sube)
+ * el limite baja. Las requests que superan el limite se rechazan en el momento con HTTP 503,
+ * sin llegar al microservicio, de modo que un servicio lento no acumula requests en espera
+ * ni arrastra la latencia del resto de las rutas.
+ * 
+ * Se configura por ruta en application.yml (filtro AdaptiveConcurrencyLimit) y va antes del
+ * CircuitBreaker: las requests rechazadas por el circuito abierto no se cuentan como muestras
+ * de latencia, y los timeouts y errores de conexion bajan el limite.
+ * 
+ * Cada ruta tiene su propio limitador, que se conserva si las rutas se recargan. Publica las
+ * metricas gateway.concurrency.limit, gateway.concurrency.inflight y gateway.concurrency.rejected
+ * con el tag route.
+ */
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    // Limitador de cada ruta (key: id de la ruta)
+    private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteLimiter routeLimiter = limiters.computeIfAbsent(config.getRouteId(), routeId -> createLimiter(routeId, config));
+        return (exchange, chain) -> {
+            Optional<Limiter.Listener> acquired = routeLimiter.limiter.acquire(null);
+            if (acquired.isEmpty()) {
+                routeLimiter.rejected.increment();
+                return onRejected(exchange, config.getRouteId());
+            }
+            Limiter.Listener listener = acquired.get();
+            return chain.filter(exchange)
+                    .doOnSuccess(ignored -> onCompleted(exchange, listener))
+                    .doOnError(error -> onFailed(error, listener))
+                    .doOnCancel(listener::onIgnore);
+        };
+    }
+
+    /**
+     * Crea el limitador de una ruta y registra sus metricas.
+     * 
+     * @param routeId ID de la ruta
+     * @param config Configuracion del filtro en la ruta
+     * @return Limitador de la ruta
+     */
+    private RouteLimiter createLimiter(String routeId, Config config) {
+        Limit limit = config.getAlgorithm() == Algorithm.VEGAS
+                ? VegasLimit.newBuilder()
+                        .initialLimit(config.getInitialLimit())
+                        .maxConcurrency(config.getMaxLimit())
+                        .build()
+                : Gradient2Limit.newBuilder()
+                        .initialLimit(config.getInitialLimit())
+                        .minLimit(config.getMinLimit())
+                        .maxConcurrency(config.getMaxLimit())
+                        .build();
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder()
+                .named(routeId)
+                .limit(limit)
+                .build();
+
+        Gauge.builder("gateway.concurrency.limit", limiter, SimpleLimiter::getLimit)
+                .description("Limite adaptativo de requests en curso hacia la ruta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, SimpleLimiter::getInflight)
+                .description("Requests en curso hacia la ruta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rechazadas por superar el limite de concurrencia de la ruta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteLimiter(limiter, rejected);
+    }
+
+    /**
+     * Registra el resultado de una request completada. Si el CircuitBreaker respondio con el
+     * fallback, la request no tiene una latencia valida: se ignora si el circuito estaba abierto
+     * y se descarta (baja el limite) si fallo por timeout o error de conexion.
+     */
+    private void onCompleted(ServerWebExchange exchange, Limiter.Listener listener) {
+        Throwable circuitBreakerError = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (circuitBreakerError == null) {
+            listener.onSuccess();
+        } else {
+            onFailed(circuitBreakerError, listener);
+        }
+    }
+
+    private void onFailed(Throwable error, Limiter.Listener listener) {
+        if (error instanceof CallNotPermittedException) {
+            listener.onIgnore();
+        } else {
+            listener.onDropped();
+        }
+    }
+
+    /**
+     * Responde HTTP 503 sin enrutar la request.
+     * 
+     * @param exchange ServerWebExchange
+     * @param routeId ID de la ruta
+     * @return Mono<Void>
+     */
+    private Mono<Void> onRejected(ServerWebExchange exchange, String routeId) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().add("Retry-After", "1");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(
+                ("{\"error\":\"Servicio sobrecargado (" + routeId + "), intente nuevamente\"}").getBytes(StandardCharsets.UTF_8)
+        )));
+    }
+
+    /**
+     * Algoritmo del limite adaptativo.
+     */
+    public enum Algorithm {
+        /** Compara la latencia reciente con un promedio de largo plazo (tolera cambios graduales de latencia). */
+        GRADIENT,
+        /** Estima la cola en el microservicio a partir de la latencia minima observada. */
+        VEGAS
+    }
+
+    /**
+     * Configuracion del filtro en cada ruta.
+     */
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        private Algorithm algorithm = Algorithm.GRADIENT;
+
+        // Limite inicial, antes de tener muestras de latencia
+        private int initialLimit = 20;
+
+        // Limite minimo (solo Gradient2)
+        private int minLimit = 5;
+
+        // Limite maximo de requests en curso
+        private int maxLimit = 200;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    private record RouteLimiter(SimpleLimiter<Void> limiter, Counter rejected) {
+    }
+}
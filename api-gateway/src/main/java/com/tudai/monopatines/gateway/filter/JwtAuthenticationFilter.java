@@ -24,6 +24,12 @@ import java.util.*;
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
+    /**
+     * Atributo del exchange con el ID del usuario autenticado (Long). Lo usan los filtros de ruta
+     * (por ejemplo, el rate limiter) en lugar del header X-User-Id, que el cliente podria enviar.
+     */
+    public static final String USER_ID_ATTRIBUTE = "gateway.userId";
+
     private final JwtUtil jwtUtil;
 
     // Rutas publicas que no requieren autenticacion (formato: "METHOD:path")
@@ -36,7 +42,7 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "POST:/api/accounts/users", 
             "GET:/swagger-ui",
             "GET:/v3/api-docs",
-            "GET:/actuator"
+            "GET:/actuator/health"
     );
 
     // Configuracion de roles requeridos por ruta y metodo HTTP
@@ -46,33 +52,45 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     static {
         // Accounts endpoints
-        ROLE_REQUIREMENTS.put("GET:/api/accounts", List.of("ROLE_ADMIN")); // GET /api/accounts (todos)
+        ROLE_REQUIREMENTS.put("GET:/api/accounts", List.of("ROLE_ADMIN")); // GET /api/accounts (todos) y ?ids={ids}
         ROLE_REQUIREMENTS.put("GET:/api/accounts/active", List.of("ROLE_ADMIN")); // GET /api/accounts/active
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/page", List.of("ROLE_ADMIN")); // GET /api/accounts/page?afterId={id}&limit={n}
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/aggregates", List.of("ROLE_ADMIN")); // GET /api/accounts/aggregates
         ROLE_REQUIREMENTS.put("PUT:/api/accounts/{id}/cancel", List.of("ROLE_ADMIN")); // PUT /api/accounts/{id}/cancel
         ROLE_REQUIREMENTS.put("DELETE:/api/accounts/{id}", List.of("ROLE_ADMIN")); // DELETE /api/accounts/{id}
+        ROLE_REQUIREMENTS.put("POST:/api/accounts/import", List.of("ROLE_ADMIN")); // Importacion masiva de cuentas
         
-        // Accounts - GET/PUT /api/accounts/{id} (usuario o admin)
+        // Accounts - GET/PUT/PATCH /api/accounts/{id} (usuario o admin)
         ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}", List.of("ROLE_USER", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("PUT:/api/accounts/{id}", List.of("ROLE_USER", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("PATCH:/api/accounts/{id}", List.of("ROLE_USER", "ROLE_ADMIN")); // Modificacion parcial (merge patch)
         
         // Balance endpoints
         ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}/balance", List.of("ROLE_USER", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}/balance/stream", List.of("ROLE_USER", "ROLE_ADMIN")); // Server-sent events: se autoriza una vez al conectarse
         ROLE_REQUIREMENTS.put("PUT:/api/accounts/{id}/balance", List.of("ROLE_USER", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("PUT:/api/accounts/{id}/balance/deduct", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}/active", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/balances", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN")); // GET /api/accounts/balances?ids={ids}
         
         // Users endpoints
         ROLE_REQUIREMENTS.put("GET:/api/accounts/users/all", List.of("ROLE_ADMIN")); // GET /api/accounts/users/all
-        ROLE_REQUIREMENTS.put("GET:/api/accounts/users", List.of("ROLE_ADMIN")); // GET /api/accounts/users?email={email}
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/users", List.of("ROLE_ADMIN")); // GET /api/accounts/users?email={email} y ?ids={ids}
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/users/search", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN")); // GET /api/accounts/users/search?q={prefijo}&cursor={cursor}&limit={n}
         ROLE_REQUIREMENTS.put("GET:/api/accounts/users/{id}", List.of("ROLE_USER", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("PUT:/api/accounts/users/{id}", List.of("ROLE_USER", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("PATCH:/api/accounts/users/{id}", List.of("ROLE_USER", "ROLE_ADMIN")); // Modificacion parcial (merge patch)
         ROLE_REQUIREMENTS.put("DELETE:/api/accounts/users/{id}", List.of("ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("POST:/api/accounts/users/import", List.of("ROLE_ADMIN")); // Importacion masiva de usuarios
         
         // Account-User endpoints
         ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}/users", List.of("ROLE_USER", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("GET:/api/accounts/users/{userId}/accounts", List.of("ROLE_USER", "ROLE_ADMIN"));
         ROLE_REQUIREMENTS.put("POST:/api/accounts/{id}/users/{userId}", List.of("ROLE_USER", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("POST:/api/accounts/{id}/users", List.of("ROLE_USER", "ROLE_ADMIN")); // Asociacion masiva
         ROLE_REQUIREMENTS.put("DELETE:/api/accounts/{id}/users/{userId}", List.of("ROLE_USER", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/{id}/users/{id}/membership", List.of("ROLE_USER", "ROLE_EMPLOYEE", "ROLE_ADMIN"));
+        ROLE_REQUIREMENTS.put("GET:/api/accounts/membership/stats", List.of("ROLE_ADMIN"));
     }
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
@@ -132,6 +150,7 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         // NOTA: El email no se incluye porque no esta en el token. Los microservicios pueden consultarlo por userId.
         try {
             Long userId = jwtUtil.getUserIdFromToken(token);
+            exchange.getAttributes().put(USER_ID_ATTRIBUTE, userId);
 
             ServerHttpRequest modifiedRequest = request.mutate()
                     .header("X-User-Id", String.valueOf(userId))
@@ -160,7 +179,8 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
         
         // Verificar prefijos para swagger y docs
-        if (path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.startsWith("/actuator")) {
+        // Del actuator solo health (las metricas se sirven en management.server.port, fuera del gateway)
+        if (path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.startsWith("/actuator/health")) {
             return method == HttpMethod.GET;
         }
         
@@ -170,7 +190,7 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     /**
      * Verifica si el usuario tiene alguno de los roles requeridos para la ruta.
      * 
-     * @param method Metodo HTTP (GET, POST, PUT, DELETE)
+     * @param method Metodo HTTP (GET, POST, PUT, PATCH, DELETE)
      * @param path Ruta completa (ej: /api/accounts/123)
      * @param userRoles Roles del usuario autenticado
      * @return true si el usuario tiene algun rol requerido, false en caso contrario
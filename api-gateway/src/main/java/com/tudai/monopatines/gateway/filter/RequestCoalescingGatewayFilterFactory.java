@@ -0,0 +1,332 @@
+package com.tudai.monopatines.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Filtro de ruta que agrupa los GET identicos concurrentes en una unica llamada al microservicio.
+ * 
+ * Cuando llega un GET igual a otro que todavia esta en curso (mismo path, query, usuario
+ * autenticado y headers que cambian la representacion: Accept, Accept-Encoding, If-None-Match
+ * y roles), no se enruta: espera la respuesta de la primera request y responde con una copia
+ * del mismo status, headers y cuerpo. Asi los picos de requests repetidas (por ejemplo, la app
+ * pidiendo la cuenta y el saldo en varias pantallas al abrirse) llegan una sola vez a
+ * accounts-service.
+ * 
+ * Solo se comparten las respuestas completas de hasta maxBodySize bytes. Si la respuesta es mas
+ * grande, es un stream o la primera request falla o se cancela, las requests que esperaban se
+ * enrutan cada una por su cuenta. Las requests sin usuario autenticado no se agrupan.
+ * 
+ * Se configura por ruta en application.yml (filtro RequestCoalescing) con los paths elegibles.
+ * Tiene orden fijo (ORDER): se ejecuta despues de UserRateLimit (las requests agrupadas cuentan
+ * para el limite del usuario) y antes del resto de los filtros de la ruta, como
+ * AdaptiveConcurrencyLimit (solo la primera ocupa un lugar). Publica las metricas
+ * gateway.coalescing.shared y gateway.coalescing.inflight con el tag route.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    /**
+     * Orden del filtro: antes de NettyWriteResponseFilter, que escribe la respuesta del
+     * microservicio con la respuesta del exchange que recibe (la decorada por este filtro).
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    // Headers de la request que cambian la respuesta y forman parte de la clave
+    private static final List<String> KEY_HEADERS = List.of(
+            HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.IF_NONE_MATCH, "X-User-Roles");
+
+    private final MeterRegistry meterRegistry;
+
+    // Requests en curso de cada ruta (key: id de la ruta)
+    private final Map<String, RouteFlights> flights = new ConcurrentHashMap<>();
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getMaxBodySize() < 0 || config.getMaxKeys() < 1) {
+            throw new IllegalArgumentException("RequestCoalescing requires maxBodySize >= 0 and maxKeys >= 1 (route "
+                    + config.getRouteId() + ")");
+        }
+        List<PathPattern> paths = config.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        RouteFlights routeFlights = flights.computeIfAbsent(config.getRouteId(), this::createFlights);
+        GatewayFilter filter = (exchange, chain) -> {
+            String key = resolveKey(exchange, paths);
+            if (key == null || routeFlights.inFlight.size() >= config.getMaxKeys()) {
+                return chain.filter(exchange);
+            }
+            Flight flight = new Flight();
+            Flight current = routeFlights.inFlight.putIfAbsent(key, flight);
+            if (current != null) {
+                // Ya hay una request igual en curso: se usa su respuesta o, si no se puede compartir, se enruta
+                return current.sink.asMono()
+                        .flatMap(shared -> {
+                            routeFlights.shared.increment();
+                            return writeShared(exchange, shared).thenReturn(Boolean.TRUE);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                        .then();
+            }
+            CapturingResponse response = new CapturingResponse(exchange.getResponse(), config.getMaxBodySize(),
+                    shared -> routeFlights.complete(key, flight, shared));
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> routeFlights.complete(key, flight, null));
+        };
+        return new OrderedGatewayFilter(filter, ORDER);
+    }
+
+    /**
+     * Crea el registro de requests en curso de una ruta y registra sus metricas.
+     * 
+     * @param routeId ID de la ruta
+     * @return Requests en curso de la ruta
+     */
+    private RouteFlights createFlights(String routeId) {
+        Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+                .description("GET en curso hacia la ruta que pueden compartir su respuesta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Counter shared = Counter.builder("gateway.coalescing.shared")
+                .description("Requests respondidas con la respuesta de otra request identica en curso")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteFlights(inFlight, shared);
+    }
+
+    /**
+     * Obtiene la clave de la request: metodo, path, query, usuario y headers que cambian la
+     * respuesta.
+     * 
+     * @param exchange ServerWebExchange
+     * @param paths Paths elegibles de la ruta (todos si esta vacio)
+     * @return Clave de la request, o null si la request no se puede agrupar
+     */
+    private String resolveKey(ServerWebExchange exchange, List<PathPattern> paths) {
+        ServerHttpRequest request = exchange.getRequest();
+        Long userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (request.getMethod() != HttpMethod.GET || userId == null) {
+            return null;
+        }
+        if (!paths.isEmpty() && paths.stream().noneMatch(path -> path.matches(request.getPath().pathWithinApplication()))) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder()
+                .append(request.getMethod().name()).append(' ')
+                .append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        key.append('\n').append(userId);
+        for (String header : KEY_HEADERS) {
+            key.append('\n').append(request.getHeaders().getOrDefault(header, List.of()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Responde con la copia de la respuesta de otra request, sin enrutar la request.
+     * 
+     * @param exchange ServerWebExchange
+     * @param shared Respuesta compartida
+     * @return Mono<Void>
+     */
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Respuesta de la primera request que copia el cuerpo a medida que se escribe al cliente.
+     * Al terminar el cuerpo publica la respuesta para las requests que esperan, salvo que supere
+     * maxBodySize o se escriba como stream (writeAndFlushWith).
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        // Headers que ya tenia la respuesta antes de enrutar (CORS del gateway): no se comparten
+        private final HttpHeaders gatewayHeaders = new HttpHeaders();
+
+        private final int maxBodySize;
+
+        private final Consumer<SharedResponse> onCaptured;
+
+        // Cuerpo copiado (null si no se puede compartir)
+        private ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        CapturingResponse(ServerHttpResponse delegate, int maxBodySize,
+                          Consumer<SharedResponse> onCaptured) {
+            super(delegate);
+            delegate.getHeaders().forEach((name, values) -> gatewayHeaders.put(name, List.copyOf(values)));
+            this.maxBodySize = maxBodySize;
+            this.onCaptured = onCaptured;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > maxBodySize) {
+                this.body = null;
+                return super.writeWith(body);
+            }
+            HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+            HttpHeaders headers = upstreamHeaders();
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(this::capture)
+                    .doOnComplete(() -> {
+                        if (this.body != null) {
+                            onCaptured.accept(new SharedResponse(status, headers, this.body.toByteArray()));
+                        }
+                    }));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            this.body = null;
+            return super.writeAndFlushWith(body);
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (body == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (body.size() + length > maxBodySize) {
+                body = null;
+                return;
+            }
+            // Copia sin mover la posicion de lectura: el buffer se sigue escribiendo al cliente
+            byte[] bytes = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+            body.write(bytes, 0, length);
+        }
+
+        /**
+         * Obtiene los headers que agrego o cambio el microservicio (o el fallback).
+         */
+        private HttpHeaders upstreamHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!values.equals(gatewayHeaders.get(name))) {
+                    headers.put(name, new ArrayList<>(values));
+                }
+            });
+            return headers;
+        }
+    }
+
+    /**
+     * Request en curso: publica la respuesta a compartir, o termina vacio si no se puede compartir.
+     */
+    private static final class Flight {
+
+        private final Sinks.One<SharedResponse> sink = Sinks.one();
+    }
+
+    /**
+     * Configuracion del filtro en cada ruta.
+     */
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        // Paths de los GET que se agrupan (patrones de Spring, por ejemplo /api/accounts/*); vacio: todos
+        private List<String> paths = new ArrayList<>();
+
+        // Tamano maximo en bytes de una respuesta compartida
+        private int maxBodySize = 64 * 1024;
+
+        // Cantidad maxima de requests distintas en curso que se agrupan
+        private int maxKeys = 10_000;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public int getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(int maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private record RouteFlights(Map<String, Flight> inFlight, Counter shared) {
+
+        /**
+         * Termina una request en curso: las nuevas requests iguales ya no la esperan y las que
+         * esperaban reciben la respuesta (o se enrutan, si shared es null). Solo vale la primera vez.
+         */
+        void complete(String key, Flight flight, SharedResponse shared) {
+            inFlight.remove(key, flight);
+            if (shared != null) {
+                flight.sink.tryEmitValue(shared);
+            } else {
+                flight.sink.tryEmitEmpty();
+            }
+        }
+    }
+}
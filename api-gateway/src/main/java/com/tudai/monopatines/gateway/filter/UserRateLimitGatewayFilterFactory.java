@@ -0,0 +1,232 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de ruta que limita la cantidad de requests por usuario con un token bucket en memoria.
+ * 
+ * Cada usuario tiene un bucket de capacity tokens que se recarga a refillPerSecond tokens por
+ * segundo; cada request consume un token y, si no hay, se responde HTTP 429 con Retry-After
+ * (segundos hasta el proximo token) sin enrutar la request. El usuario se identifica por el ID
+ * del token JWT (atributo que deja JwtAuthenticationFilter); en las rutas publicas, sin token,
+ * se usa la IP del cliente.
+ * 
+ * Los buckets no usan locks: el estado de cada uno es un unico AtomicLong que se actualiza con
+ * compare-and-set. Se guardan en un mapa acotado (maxKeys) que descarta los buckets sin uso
+ * durante el tiempo que tarda un bucket vacio en llenarse; un bucket lleno equivale a uno nuevo,
+ * por lo que descartarlo no cambia el limite.
+ * 
+ * Se configura por ruta en application.yml (filtro UserRateLimit) y se ejecuta antes que el resto
+ * de los filtros de la ruta (ORDER). Cada ruta tiene sus propios buckets y publica la metrica
+ * gateway.ratelimit.rejected con el tag route.
+ */
+@Component
+public class UserRateLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<UserRateLimitGatewayFilterFactory.Config> {
+
+    /**
+     * Orden del filtro: antes de RequestCoalescing, para que tambien se limiten las requests
+     * que se responden con la respuesta de otra.
+     */
+    public static final int ORDER = RequestCoalescingGatewayFilterFactory.ORDER - 1;
+
+    private final MeterRegistry meterRegistry;
+
+    // Buckets de cada ruta (key: id de la ruta)
+    private final Map<String, RouteBuckets> buckets = new ConcurrentHashMap<>();
+
+    public UserRateLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getCapacity() < 1 || config.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("UserRateLimit requires capacity >= 1 and refillPerSecond > 0 (route "
+                    + config.getRouteId() + ")");
+        }
+        RouteBuckets routeBuckets = buckets.computeIfAbsent(config.getRouteId(), routeId -> createBuckets(routeId, config));
+        GatewayFilter filter = (exchange, chain) -> {
+            String key = resolveKey(exchange);
+            if (key == null) {
+                return chain.filter(exchange);
+            }
+            TokenBucket bucket = routeBuckets.buckets.get(key, ignored -> new TokenBucket());
+            long waitNanos = bucket.tryConsume(System.nanoTime(), routeBuckets.refillIntervalNanos, routeBuckets.burstNanos);
+            if (waitNanos > 0) {
+                routeBuckets.rejected.increment();
+                return onRejected(exchange, waitNanos);
+            }
+            return chain.filter(exchange);
+        };
+        return new OrderedGatewayFilter(filter, ORDER);
+    }
+
+    /**
+     * Crea el mapa de buckets de una ruta y registra su metrica.
+     * 
+     * @param routeId ID de la ruta
+     * @param config Configuracion del filtro en la ruta
+     * @return Buckets de la ruta
+     */
+    private RouteBuckets createBuckets(String routeId, Config config) {
+        long refillIntervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / config.getRefillPerSecond()));
+        long burstNanos = refillIntervalNanos * config.getCapacity();
+        Cache<String, TokenBucket> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxKeys())
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+        Counter rejected = Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests rechazadas por superar el limite de requests por usuario de la ruta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteBuckets(cache, refillIntervalNanos, burstNanos, rejected);
+    }
+
+    /**
+     * Obtiene la clave del bucket: el ID del usuario autenticado o, si la ruta es publica, la IP
+     * del cliente. Los headers X-User-Id y X-Forwarded-For no se usan porque los envia el cliente.
+     * 
+     * @param exchange ServerWebExchange
+     * @return Clave del bucket, o null si no se puede identificar al cliente
+     */
+    private String resolveKey(ServerWebExchange exchange) {
+        Long userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return null;
+        }
+        return "ip:" + remoteAddress.getAddress().getHostAddress();
+    }
+
+    /**
+     * Responde HTTP 429 con Retry-After sin enrutar la request.
+     * 
+     * @param exchange ServerWebExchange
+     * @param waitNanos Tiempo hasta que el bucket tenga un token
+     * @return Mono<Void>
+     */
+    private Mono<Void> onRejected(ServerWebExchange exchange, long waitNanos) {
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().add("Retry-After", String.valueOf(retryAfterSeconds));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(
+                ("{\"error\":\"Limite de requests excedido, intente nuevamente en " + retryAfterSeconds + " s\"}")
+                        .getBytes(StandardCharsets.UTF_8)
+        )));
+    }
+
+    /**
+     * Token bucket sin locks, representado como el instante (en nanos) en que el bucket vuelve
+     * a estar lleno. Consumir un token corre ese instante un intervalo de recarga hacia adelante;
+     * si queda mas de capacity intervalos en el futuro, no hay tokens disponibles.
+     */
+    static final class TokenBucket {
+
+        // Instante en que el bucket queda lleno (Long.MIN_VALUE si nunca se uso)
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * Consume un token si hay disponible.
+         * 
+         * @param now Instante actual (System.nanoTime())
+         * @param refillIntervalNanos Tiempo de recarga de un token
+         * @param burstNanos Tiempo que tarda el bucket vacio en llenarse (capacity intervalos)
+         * @return 0 si consumio un token, o los nanos hasta que haya un token disponible
+         */
+        long tryConsume(long now, long refillIntervalNanos, long burstNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + refillIntervalNanos;
+                long waitNanos = next - burstNanos - now;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Configuracion del filtro en cada ruta.
+     */
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        // Requests que se pueden hacer de golpe (tamano del bucket)
+        private int capacity = 50;
+
+        // Requests por segundo sostenidas (recarga del bucket)
+        private double refillPerSecond = 10;
+
+        // Cantidad maxima de usuarios/IPs con bucket en memoria
+        private long maxKeys = 100_000;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(long maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+    }
+
+    private record RouteBuckets(Cache<String, TokenBucket> buckets, long refillIntervalNanos, long burstNanos,
+                                Counter rejected) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.tudai.monopatines.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el filtro AdaptiveConcurrencyLimit.
+ * Usan un limite fijo de 1 request en curso y una cadena de filtros que no termina hasta que
+ * se cancela, para ocupar el unico lugar.
+ * 
+ */
+@DisplayName("Tests de AdaptiveConcurrencyLimitGatewayFilterFactory")
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "accounts-service";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger routed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimitGatewayFilterFactory.Config config = new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setMaxLimit(1);
+        filter = new AdaptiveConcurrencyLimitGatewayFilterFactory(meterRegistry).apply(config);
+        routed = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deberia rechazar con 503 y Retry-After las requests que superan el limite")
+    void deberiaRechazarRequestsQueSuperanElLimite() {
+        // Given: una request en curso ocupa el unico lugar
+        Disposable inFlight = filter.filter(exchange(), pendingChain()).subscribe();
+
+        // When
+        MockServerWebExchange rejected = exchange();
+        filter.filter(rejected, pendingChain()).block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst("Retry-After"));
+        assertTrue(rejected.getResponse().getBodyAsString().block(Duration.ofSeconds(5)).contains(ROUTE_ID));
+        assertEquals(1, routed.get());
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.rejected").tag("route", ROUTE_ID).counter().count());
+        inFlight.dispose();
+    }
+
+    @Test
+    @DisplayName("Deberia liberar el lugar cuando la request en curso se cancela")
+    void deberiaLiberarLugarAlCancelar() {
+        // Given
+        filter.filter(exchange(), pendingChain()).subscribe().dispose();
+
+        // When
+        MockServerWebExchange next = exchange();
+        Disposable inFlight = filter.filter(next, pendingChain()).subscribe();
+
+        // Then
+        assertEquals(2, routed.get());
+        assertNull(next.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.inflight").tag("route", ROUTE_ID).gauge().value());
+        inFlight.dispose();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/accounts/1"));
+    }
+
+    /**
+     * Cadena de filtros que cuenta las requests enrutadas y no termina hasta que se cancela.
+     */
+    private GatewayFilterChain pendingChain() {
+        return exchange -> {
+            routed.incrementAndGet();
+            return Mono.never();
+        };
+    }
+}
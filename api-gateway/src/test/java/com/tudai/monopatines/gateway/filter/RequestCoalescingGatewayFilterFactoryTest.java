@@ -0,0 +1,205 @@
+package com.tudai.monopatines.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el filtro RequestCoalescing.
+ * La cadena de filtros simula el microservicio: cuenta las llamadas y escribe la respuesta
+ * despues de una demora, para que las requests del test esten en curso al mismo tiempo.
+ * 
+ */
+@DisplayName("Tests de RequestCoalescingGatewayFilterFactory")
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "accounts-service";
+    // Los mismos paths que la ruta accounts-service de application.yml
+    private static final List<String> PATHS = List.of("/api/accounts/{id:[0-9]+}", "/api/accounts/{id:[0-9]+}/balance");
+    private static final String BODY = "{\"id\":1,\"currentBalance\":1500.5,\"version\":3}";
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(200);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger upstreamCalls;
+    private GatewayFilterChain upstream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamCalls = new AtomicInteger();
+        upstream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(UPSTREAM_DELAY).then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                response.getHeaders().setETag("\"3\"");
+                // El cuerpo llega en dos buffers, como una respuesta de Netty
+                byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+                int half = bytes.length / 2;
+                Flux<DataBuffer> body = Flux.just(
+                        response.bufferFactory().wrap(Arrays.copyOfRange(bytes, 0, half)),
+                        response.bufferFactory().wrap(Arrays.copyOfRange(bytes, half, bytes.length)));
+                return response.writeWith(body);
+            }));
+        };
+    }
+
+    @Test
+    @DisplayName("Deberia hacer una sola llamada para GET identicos concurrentes y responder a todos")
+    void deberiaCompartirUnaLlamadaEntreGetIdenticos() {
+        // Given
+        GatewayFilter filter = filter(65536);
+        List<MockServerWebExchange> exchanges = List.of(
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE),
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE),
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        runConcurrently(filter, exchanges);
+
+        // Then
+        assertEquals(1, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals("\"3\"", exchange.getResponse().getHeaders().getETag());
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        }
+        assertEquals(2.0, meterRegistry.get("gateway.coalescing.shared").tag("route", ROUTE_ID).counter().count());
+        assertEquals(0.0, meterRegistry.get("gateway.coalescing.inflight").tag("route", ROUTE_ID).gauge().value());
+    }
+
+    @Test
+    @DisplayName("No deberia agrupar GET de distintos usuarios ni con distinto Accept")
+    void noDeberiaAgruparDistintosUsuariosNiAccept() {
+        // Given
+        GatewayFilter filter = filter(65536);
+        List<MockServerWebExchange> exchanges = List.of(
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE),
+                exchange(8L, MediaType.APPLICATION_JSON_VALUE),
+                exchange(7L, "application/x-protobuf"));
+
+        // When
+        runConcurrently(filter, exchanges);
+
+        // Then
+        assertEquals(3, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        }
+        assertEquals(0.0, meterRegistry.get("gateway.coalescing.shared").tag("route", ROUTE_ID).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deberia enrutar cada request por su cuenta si la respuesta supera maxBodySize")
+    void deberiaEnrutarPorSuCuentaSiLaRespuestaEsGrande() {
+        // Given: la respuesta supera el maximo a mitad del cuerpo
+        GatewayFilter filter = filter(BODY.length() - 1);
+        List<MockServerWebExchange> exchanges = List.of(
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE),
+                exchange(7L, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        runConcurrently(filter, exchanges);
+
+        // Then: la segunda espero a la primera y luego hizo su propia llamada
+        assertEquals(2, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        }
+        assertEquals(0.0, meterRegistry.get("gateway.coalescing.shared").tag("route", ROUTE_ID).counter().count());
+    }
+
+    @Test
+    @DisplayName("No deberia agrupar requests sin usuario autenticado")
+    void noDeberiaAgruparRequestsSinUsuario() {
+        // Given
+        GatewayFilter filter = filter(65536);
+        List<MockServerWebExchange> exchanges = List.of(
+                exchange(null, MediaType.APPLICATION_JSON_VALUE),
+                exchange(null, MediaType.APPLICATION_JSON_VALUE));
+
+        // When
+        runConcurrently(filter, exchanges);
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Deberia agrupar solo la cuenta por ID y su saldo, no los demas GET de /api/accounts")
+    void deberiaAgruparSoloCuentaPorIdYSaldo() {
+        // Given
+        GatewayFilter filter = filter(65536);
+        List<MockServerWebExchange> byId = List.of(
+                exchange("/api/accounts/1", 7L), exchange("/api/accounts/1", 7L));
+        List<MockServerWebExchange> others = List.of(
+                exchange("/api/accounts/users", 7L), exchange("/api/accounts/users", 7L),
+                exchange("/api/accounts/aggregates", 7L), exchange("/api/accounts/aggregates", 7L),
+                exchange("/api/accounts/page", 7L), exchange("/api/accounts/page", 7L));
+
+        // When
+        runConcurrently(filter, byId);
+        int byIdCalls = upstreamCalls.getAndSet(0);
+        runConcurrently(filter, others);
+
+        // Then
+        assertEquals(1, byIdCalls);
+        assertEquals(others.size(), upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.shared").tag("route", ROUTE_ID).counter().count());
+    }
+
+    private GatewayFilter filter(int maxBodySize) {
+        RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        config.setPaths(PATHS);
+        config.setMaxBodySize(maxBodySize);
+        return new RequestCoalescingGatewayFilterFactory(meterRegistry).apply(config);
+    }
+
+    /**
+     * Suscribe las requests en orden (la primera queda en curso durante UPSTREAM_DELAY) y espera a que terminen.
+     */
+    private void runConcurrently(GatewayFilter filter, List<MockServerWebExchange> exchanges) {
+        Mono.when(exchanges.stream().map(exchange -> filter.filter(exchange, upstream)).toList())
+                .block(TIMEOUT);
+    }
+
+    private static MockServerWebExchange exchange(Long userId, String accept) {
+        return exchange("/api/accounts/1/balance", userId, accept);
+    }
+
+    private static MockServerWebExchange exchange(String path, Long userId) {
+        return exchange(path, userId, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static MockServerWebExchange exchange(String path, Long userId, String accept) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.ACCEPT, accept));
+        if (userId != null) {
+            exchange.getAttributes().put(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        }
+        return exchange;
+    }
+}
@@ -0,0 +1,149 @@
+package com.tudai.monopatines.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el filtro UserRateLimit.
+ * Los tests del token bucket le pasan el instante actual, por lo que no dependen del reloj.
+ * 
+ */
+@DisplayName("Tests de UserRateLimitGatewayFilterFactory")
+class UserRateLimitGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "accounts-service";
+
+    // Bucket de 3 tokens que recarga uno cada 100 ns
+    private static final long REFILL_INTERVAL = 100;
+    private static final long BURST = 3 * REFILL_INTERVAL;
+    private static final long NOW = 1_000_000;
+
+    @Test
+    @DisplayName("Deberia permitir capacity requests de golpe y luego informar la espera")
+    void deberiaPermitirRafagaDeCapacity() {
+        // Given
+        UserRateLimitGatewayFilterFactory.TokenBucket bucket = new UserRateLimitGatewayFilterFactory.TokenBucket();
+
+        // When / Then
+        assertEquals(0, bucket.tryConsume(NOW, REFILL_INTERVAL, BURST));
+        assertEquals(0, bucket.tryConsume(NOW, REFILL_INTERVAL, BURST));
+        assertEquals(0, bucket.tryConsume(NOW, REFILL_INTERVAL, BURST));
+        assertEquals(REFILL_INTERVAL, bucket.tryConsume(NOW, REFILL_INTERVAL, BURST));
+        assertEquals(REFILL_INTERVAL - 40, bucket.tryConsume(NOW + 40, REFILL_INTERVAL, BURST));
+    }
+
+    @Test
+    @DisplayName("Deberia recargar un token por intervalo sin superar la capacidad")
+    void deberiaRecargarUnTokenPorIntervalo() {
+        // Given: bucket vacio
+        UserRateLimitGatewayFilterFactory.TokenBucket bucket = new UserRateLimitGatewayFilterFactory.TokenBucket();
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(NOW, REFILL_INTERVAL, BURST);
+        }
+
+        // When / Then: un intervalo despues hay un unico token
+        assertEquals(0, bucket.tryConsume(NOW + REFILL_INTERVAL, REFILL_INTERVAL, BURST));
+        assertEquals(REFILL_INTERVAL, bucket.tryConsume(NOW + REFILL_INTERVAL, REFILL_INTERVAL, BURST));
+
+        // When / Then: despues de mucho tiempo sin uso vuelve a estar lleno, pero no mas
+        long later = NOW + 100 * REFILL_INTERVAL;
+        assertEquals(0, bucket.tryConsume(later, REFILL_INTERVAL, BURST));
+        assertEquals(0, bucket.tryConsume(later, REFILL_INTERVAL, BURST));
+        assertEquals(0, bucket.tryConsume(later, REFILL_INTERVAL, BURST));
+        assertTrue(bucket.tryConsume(later, REFILL_INTERVAL, BURST) > 0);
+    }
+
+    @Test
+    @DisplayName("Deberia entregar exactamente capacity tokens entre hilos concurrentes")
+    void deberiaEntregarCapacityTokensEntreHilosConcurrentes() throws Exception {
+        // Given: 8 hilos piden 5000 tokens de un bucket de 1000 en el mismo instante (sin recarga)
+        int capacity = 1000;
+        int threads = 8;
+        int attemptsPerThread = 625;
+        UserRateLimitGatewayFilterFactory.TokenBucket bucket = new UserRateLimitGatewayFilterFactory.TokenBucket();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger consumed = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (bucket.tryConsume(NOW, REFILL_INTERVAL, capacity * REFILL_INTERVAL) == 0) {
+                        consumed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(capacity, consumed.get());
+        assertEquals(REFILL_INTERVAL, bucket.tryConsume(NOW, REFILL_INTERVAL, capacity * REFILL_INTERVAL));
+    }
+
+    @Test
+    @DisplayName("Deberia responder 429 con Retry-After en segundos enteros sin enrutar la request")
+    void deberiaResponder429ConRetryAfter() {
+        // Given: 1 request de golpe y un token cada 2 segundos
+        UserRateLimitGatewayFilterFactory.Config config = new UserRateLimitGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        config.setCapacity(1);
+        config.setRefillPerSecond(0.5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GatewayFilter filter = new UserRateLimitGatewayFilterFactory(meterRegistry).apply(config);
+        AtomicInteger routed = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            routed.incrementAndGet();
+            return Mono.empty();
+        };
+
+        // When
+        MockServerWebExchange allowed = exchange(7L);
+        filter.filter(allowed, chain).block(Duration.ofSeconds(5));
+        MockServerWebExchange rejected = exchange(7L);
+        filter.filter(rejected, chain).block(Duration.ofSeconds(5));
+        MockServerWebExchange otherUser = exchange(8L);
+        filter.filter(otherUser, chain).block(Duration.ofSeconds(5));
+
+        // Then
+        assertNull(allowed.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst("Retry-After"));
+        assertNull(otherUser.getResponse().getStatusCode());
+        assertEquals(2, routed.get());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected").tag("route", ROUTE_ID).counter().count());
+    }
+
+    private static MockServerWebExchange exchange(Long userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/accounts/1"));
+        exchange.getAttributes().put(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return exchange;
+    }
+}